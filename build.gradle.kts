@@ -16,6 +16,18 @@ repositories {
     mavenCentral()
 }
 
+sourceSets {
+    // JFR events, which need a newer API than the library
+    create("jfr")
+}
+
+java {
+    // published as an optional feature, in the jar with the classifier "jfr"
+    registerFeature("jfr") {
+        usingSourceSet(sourceSets["jfr"])
+    }
+}
+
 dependencies {
 
     compileOnly("org.jetbrains:annotations:22.0.0")
@@ -24,6 +36,10 @@ dependencies {
     errorprone("com.google.errorprone:error_prone_core:2.9.0")
     errorproneJavac("com.google.errorprone:javac:9+181-r4173-1")
 
+    "jfrImplementation"(project)
+
+    "jmhImplementation"(sourceSets["jfr"].output)
+
     testImplementation("org.junit.jupiter:junit-jupiter-api:5.7.2")
     testImplementation("org.junit.jupiter:junit-jupiter-params:5.7.2")
     testRuntimeOnly("org.junit.jupiter:junit-jupiter-engine:5.7.2")
@@ -43,6 +59,18 @@ tasks.getByName<JavaCompile>("compileJava") {
     }
 }
 
+tasks.getByName<JavaCompile>("compileJfrJava") {
+    options.release.set(11)
+}
+
 configure<LicenseExtension> {
     header(project.file("HEADER.txt"))
-}
\ No newline at end of file
+}
+
+jmh {
+    // report the allocation per operation of every benchmark
+    profilers.add("gc")
+    // e.g. ./gradlew jmh -Pjmh.threads=8 -Pjmh.includes=CompareBenchmark
+    findProperty("jmh.threads")?.let { threads.set(it.toString().toInt()) }
+    findProperty("jmh.includes")?.let { includes.add(it.toString()) }
+}
@@ -0,0 +1,90 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools.jfr;
+
+import de.eldoria.semvertools.ParseListener;
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * A {@link ParseListener} recording JFR events for slow parses and for bulk operations.
+ * <p>
+ * The library itself is built against the Java 8 API, which has no {@code jdk.jfr}, so this
+ * listener is built against Java 11 and shipped as the optional {@code jfr} feature of the
+ * library, in the jar with the classifier {@code jfr}. Register it with
+ * {@link de.eldoria.semvertools.Instrumentation#register(ParseListener)}; the events are only
+ * recorded while a recording with them enabled is running.
+ * <p>
+ * A listener is only notified once an operation finished, so the events are committed without
+ * being begun: their start time is the end of the operation and their duration is zero. The time
+ * the operation took is in the {@code Parse Time} and {@code Operation Time} fields instead, so
+ * thresholds in a recording's settings don't apply to these events.
+ */
+public final class JfrParseListener implements ParseListener {
+  private final long slowParseNanos;
+
+  /**
+   * Creates a listener recording parses taking at least the given time.
+   *
+   * @param slowParseNanos the threshold for a slow parse in nanoseconds.
+   */
+  public JfrParseListener(long slowParseNanos) {
+    this.slowParseNanos = slowParseNanos;
+  }
+
+  @Override
+  public void parsed(int length, long nanos) {
+    if (nanos < this.slowParseNanos) return;
+    SlowParseEvent event = new SlowParseEvent();
+    if (event.isEnabled()) {
+      event.length = length;
+      event.parseTime = nanos;
+      event.commit();
+    }
+  }
+
+  @Override
+  public void bulkOperation(String operation, int size, long nanos) {
+    BulkOperationEvent event = new BulkOperationEvent();
+    if (event.isEnabled()) {
+      event.operation = operation;
+      event.size = size;
+      event.operationTime = nanos;
+      event.commit();
+    }
+  }
+
+  @Name("de.eldoria.semvertools.SlowParse")
+  @Label("Slow Version Parse")
+  @Category("SemVerTools")
+  static final class SlowParseEvent extends Event {
+    @Label("Input Length")
+    int length;
+
+    @Label("Parse Time")
+    @Timespan
+    long parseTime;
+  }
+
+  @Name("de.eldoria.semvertools.BulkOperation")
+  @Label("Bulk Version Operation")
+  @Category("SemVerTools")
+  static final class BulkOperationEvent extends Event {
+    @Label("Operation")
+    String operation;
+
+    @Label("Versions")
+    int size;
+
+    @Label("Operation Time")
+    @Timespan
+    long operationTime;
+  }
+}
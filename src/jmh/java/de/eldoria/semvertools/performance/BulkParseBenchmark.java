@@ -0,0 +1,70 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools.performance;
+
+import de.eldoria.semvertools.BulkParseResult;
+import de.eldoria.semvertools.SemanticVersion;
+import de.eldoria.semvertools.SemanticVersions;
+import de.eldoria.semvertools.parser.VersionParseException;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scaling of {@link SemanticVersions#parseAll(List, ForkJoinPool)} with the number of cores,
+ * compared to a sequential loop catching an exception per invalid string.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BulkParseBenchmark {
+  private static final int SIZE = 1_000_000;
+
+  @Param(value = {"1", "2", "4", "8", "16"})
+  private int parallelism;
+
+  @Param(value = {"production", "invalid-heavy"})
+  private String corpus;
+
+  private List<String> input;
+  private ForkJoinPool pool;
+
+  @Setup
+  public void setup() throws IOException {
+    this.input = Arrays.asList(VersionCorpus.load(this.corpus, SIZE));
+    this.pool = new ForkJoinPool(this.parallelism);
+  }
+
+  @TearDown
+  public void tearDown() {
+    this.pool.shutdown();
+  }
+
+  @Benchmark
+  public BulkParseResult parseAll() {
+    return SemanticVersions.parseAll(this.input, this.pool);
+  }
+
+  @Benchmark
+  public SemanticVersion[] sequentialWithExceptions() {
+    SemanticVersion[] versions = new SemanticVersion[this.input.size()];
+    for (int i = 0; i < versions.length; i++) {
+      try {
+        versions[i] = SemanticVersion.parse(this.input.get(i));
+      } catch (VersionParseException e) {
+        // skipped
+      }
+    }
+    return versions;
+  }
+}
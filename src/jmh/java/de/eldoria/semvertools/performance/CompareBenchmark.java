@@ -0,0 +1,49 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools.performance;
+
+import de.eldoria.semvertools.SemanticVersion;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Comparing two versions, for every combination of releases (version cores) and versions with
+ * pre-release or build metadata. Both versions are distinct instances, even if they are equal.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Fork(1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CompareBenchmark {
+
+  @Param(value = {"1.2.3", "1.2.3-rc.1", "1.2.3-beta.2.x", "1.2.3+build.1"})
+  private String left;
+
+  @Param(value = {"1.2.3", "1.2.4", "1.2.3-rc.1", "1.2.3-rc.2", "1.2.3-beta.2.y", "1.2.3+build.2"})
+  private String right;
+
+  private SemanticVersion leftVersion;
+  private SemanticVersion rightVersion;
+
+  @Setup
+  public void setup() {
+    this.leftVersion = SemanticVersion.parse(this.left);
+    this.rightVersion = SemanticVersion.parse(this.right);
+  }
+
+  @Benchmark
+  public int compareTo() {
+    return this.leftVersion.compareTo(this.rightVersion);
+  }
+
+  @Benchmark
+  public boolean equals() {
+    return this.leftVersion.equals(this.rightVersion);
+  }
+}
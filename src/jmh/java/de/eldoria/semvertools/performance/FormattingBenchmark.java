@@ -0,0 +1,84 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools.performance;
+
+import de.eldoria.semvertools.SemanticVersion;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Fork(1)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FormattingBenchmark {
+  private static final int SIZE = 1_000_000;
+
+  private String[] strings;
+  private SemanticVersion[] versions;
+  private StringBuilder builder;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(42);
+    this.strings = new String[SIZE];
+    for (int i = 0; i < SIZE; i++) {
+      String version = random.nextInt(3) + "." + random.nextInt(30) + "." + random.nextInt(100);
+      if (random.nextInt(4) == 0) {
+        version += "-rc." + random.nextInt(5);
+      }
+      if (random.nextInt(8) == 0) {
+        version += "+build." + random.nextInt(1000);
+      }
+      this.strings[i] = version;
+    }
+    this.builder = new StringBuilder(SIZE * 16);
+  }
+
+  /**
+   * Parses fresh versions before each iteration, so the first rendering is measured instead of
+   * the memoized string.
+   */
+  @Setup(Level.Iteration)
+  public void parse() {
+    this.versions = new SemanticVersion[SIZE];
+    for (int i = 0; i < SIZE; i++) {
+      this.versions[i] = SemanticVersion.parse(this.strings[i]);
+    }
+  }
+
+  @Benchmark
+  public int appendTo() {
+    StringBuilder builder = this.builder;
+    builder.setLength(0);
+    for (SemanticVersion version : this.versions) {
+      version.appendTo(builder).append('\n');
+    }
+    return builder.length();
+  }
+
+  @Benchmark
+  public int appendToString() {
+    StringBuilder builder = this.builder;
+    builder.setLength(0);
+    for (SemanticVersion version : this.versions) {
+      builder.append(version.toString()).append('\n');
+    }
+    return builder.length();
+  }
+
+  @Benchmark
+  public int hashCodes() {
+    int hash = 0;
+    for (SemanticVersion version : this.versions) {
+      hash += version.hashCode();
+    }
+    return hash;
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools.performance;
+
+import de.eldoria.semvertools.SemanticVersion;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Versions as keys of a {@link HashMap}. Lookups use equal, but distinct instances, so
+ * {@code hashCode} and {@code equals} are both exercised.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Fork(1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HashMapBenchmark {
+  private static final String[] TAGS = {"alpha", "beta", "rc", "SNAPSHOT"};
+
+  @Param(value = {"1000", "100000"})
+  private int size;
+
+  private SemanticVersion[] versions;
+  private SemanticVersion[] lookups;
+  private Map<SemanticVersion, Integer> map;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(42);
+    this.versions = new SemanticVersion[this.size];
+    this.lookups = new SemanticVersion[this.size];
+    this.map = new HashMap<>();
+    for (int i = 0; i < this.size; i++) {
+      String version = random.nextInt(10) + "." + random.nextInt(100) + "." + random.nextInt(1000);
+      if (random.nextInt(4) == 0) {
+        version += "-" + TAGS[random.nextInt(TAGS.length)] + "." + random.nextInt(10);
+      }
+      this.versions[i] = SemanticVersion.parse(version);
+      this.lookups[i] = SemanticVersion.parse(version);
+      this.map.put(this.versions[i], i);
+    }
+  }
+
+  @Benchmark
+  public Map<SemanticVersion, Integer> build() {
+    Map<SemanticVersion, Integer> map = new HashMap<>();
+    for (int i = 0; i < this.versions.length; i++) {
+      map.put(this.versions[i], i);
+    }
+    return map;
+  }
+
+  @Benchmark
+  public int lookup() {
+    int sum = 0;
+    for (SemanticVersion lookup : this.lookups) {
+      Integer value = this.map.get(lookup);
+      if (value != null) sum += value;
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public int hashCodeOfNewVersion() {
+    return SemanticVersion.of(1, 2, this.size).hashCode();
+  }
+}
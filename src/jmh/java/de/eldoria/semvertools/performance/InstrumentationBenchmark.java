@@ -0,0 +1,74 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools.performance;
+
+import de.eldoria.semvertools.Instrumentation;
+import de.eldoria.semvertools.ParseMetrics;
+import de.eldoria.semvertools.SemanticVersion;
+import de.eldoria.semvertools.VersionCache;
+import de.eldoria.semvertools.jfr.JfrParseListener;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The overhead of the instrumentation hooks: parsing and cache lookups without a registered
+ * listener, with {@link ParseMetrics} and with {@link JfrParseListener}. Without a listener,
+ * the results should match the ones of the other parse benchmarks.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Fork(1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InstrumentationBenchmark {
+  private static final int SIZE = 4096;
+
+  @Param(value = {"none", "metrics", "jfr"})
+  private String listener;
+
+  private String[] versions;
+  private VersionCache cache;
+  private int next;
+
+  @Setup
+  public void setup() throws IOException {
+    this.versions = VersionCorpus.load("invalid-heavy", SIZE);
+    this.cache = VersionCache.create(SIZE);
+    switch (this.listener) {
+      case "metrics":
+        Instrumentation.register(new ParseMetrics());
+        break;
+      case "jfr":
+        Instrumentation.register(new JfrParseListener(TimeUnit.MICROSECONDS.toNanos(20)));
+        break;
+      default:
+        Instrumentation.unregister();
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    Instrumentation.unregister();
+  }
+
+  @Benchmark
+  public Optional<SemanticVersion> tryParse() {
+    return SemanticVersion.tryParse(this.versions[this.next++ & (SIZE - 1)]);
+  }
+
+  @Benchmark
+  public Object cached() {
+    try {
+      return this.cache.parse(this.versions[this.next++ & (SIZE - 1)]);
+    } catch (RuntimeException e) {
+      return e;
+    }
+  }
+}
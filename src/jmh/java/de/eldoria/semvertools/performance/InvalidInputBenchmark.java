@@ -0,0 +1,75 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools.performance;
+
+import de.eldoria.semvertools.SemanticVersion;
+import de.eldoria.semvertools.parser.SemVerLexer;
+import de.eldoria.semvertools.parser.SemVerParser;
+import de.eldoria.semvertools.parser.VersionParseException;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checking a production-like workload of which 10% of the strings are invalid, comparing the
+ * exception based parsers with {@link SemanticVersion#tryParse(CharSequence)} and
+ * {@link SemanticVersion#isValid(CharSequence)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Fork(1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InvalidInputBenchmark {
+  private static final int SIZE = 10_000;
+
+  private String[] input;
+
+  @Setup
+  public void setup() {
+    this.input = VersionCorpus.builder().invalidRate(0.1).build().generate(SIZE);
+  }
+
+  @Benchmark
+  public void referenceParser(Blackhole blackhole) {
+    for (String version : this.input) {
+      try {
+        blackhole.consume(new SemVerParser(version, new SemVerLexer().lex(version)).parse());
+      } catch (VersionParseException e) {
+        blackhole.consume(e);
+      }
+    }
+  }
+
+  @Benchmark
+  public void parse(Blackhole blackhole) {
+    for (String version : this.input) {
+      try {
+        blackhole.consume(SemanticVersion.parse(version));
+      } catch (VersionParseException e) {
+        blackhole.consume(e);
+      }
+    }
+  }
+
+  @Benchmark
+  public void tryParse(Blackhole blackhole) {
+    for (String version : this.input) {
+      blackhole.consume(SemanticVersion.tryParse(version));
+    }
+  }
+
+  @Benchmark
+  public int isValid() {
+    int valid = 0;
+    for (String version : this.input) {
+      if (SemanticVersion.isValid(version)) valid++;
+    }
+    return valid;
+  }
+}
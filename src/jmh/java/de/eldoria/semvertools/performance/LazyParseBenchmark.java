@@ -0,0 +1,109 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools.performance;
+
+import de.eldoria.semvertools.SemanticVersion;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses version strings with {@link SemanticVersion#parseLazy(CharSequence)}, compared to
+ * parsing them eagerly, when only the cores are read or the versions are sorted. The heap
+ * retained by the parsed versions is printed during setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Fork(1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LazyParseBenchmark {
+  private static final int SIZE = 10_000;
+
+  @Param(value = {"production", "prerelease-heavy", "long-build"})
+  private String corpus;
+
+  private String[] versions;
+
+  @Setup
+  public void setup() throws IOException {
+    SemanticVersion[] parsed = VersionCorpus.parseValid(VersionCorpus.load(this.corpus, SIZE));
+    this.versions = new String[parsed.length];
+    for (int i = 0; i < parsed.length; i++) {
+      this.versions[i] = parsed[i].toString();
+    }
+    parsed = null;
+    long heap = usedHeap();
+    SemanticVersion[] eager = parseEager();
+    long eagerHeap = usedHeap() - heap;
+    heap = usedHeap();
+    SemanticVersion[] lazy = parseLazy();
+    long lazyHeap = usedHeap() - heap;
+    System.out.printf("%nretained bytes per version: eager %.1f, lazy %.1f (%d and %d versions)%n",
+        (double) eagerHeap / eager.length, (double) lazyHeap / lazy.length, eager.length, lazy.length);
+  }
+
+  @Benchmark
+  public SemanticVersion[] parseEager() {
+    SemanticVersion[] versions = new SemanticVersion[this.versions.length];
+    for (int i = 0; i < versions.length; i++) {
+      versions[i] = SemanticVersion.parse(this.versions[i]);
+    }
+    return versions;
+  }
+
+  @Benchmark
+  public SemanticVersion[] parseLazy() {
+    SemanticVersion[] versions = new SemanticVersion[this.versions.length];
+    for (int i = 0; i < versions.length; i++) {
+      versions[i] = SemanticVersion.parseLazy(this.versions[i]);
+    }
+    return versions;
+  }
+
+  @Benchmark
+  public int majorsEager() {
+    int sum = 0;
+    for (String version : this.versions) {
+      sum += SemanticVersion.parse(version).major();
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public int majorsLazy() {
+    int sum = 0;
+    for (String version : this.versions) {
+      sum += SemanticVersion.parseLazy(version).major();
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public SemanticVersion[] sortEager() {
+    SemanticVersion[] versions = parseEager();
+    Arrays.sort(versions);
+    return versions;
+  }
+
+  @Benchmark
+  public SemanticVersion[] sortLazy() {
+    SemanticVersion[] versions = parseLazy();
+    Arrays.sort(versions);
+    return versions;
+  }
+
+  private static long usedHeap() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
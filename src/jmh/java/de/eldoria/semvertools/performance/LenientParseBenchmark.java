@@ -0,0 +1,70 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools.performance;
+
+import de.eldoria.semvertools.SemanticVersion;
+import de.eldoria.semvertools.parser.LenientSemVerParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Coercing non-strict version strings with {@link LenientSemVerParser}, compared to normalizing
+ * them with a regex first and parsing the result strictly.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Fork(1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LenientParseBenchmark {
+  private static final Pattern NON_STRICT = Pattern.compile(
+      "^[vV]?(\\d+)(?:\\.(\\d+))?(?:\\.(\\d+))?((?:\\.\\d+)*)(-[0-9A-Za-z.-]+)?(?:\\+([0-9A-Za-z.-]+))?$");
+  private static final LenientSemVerParser LENIENT = LenientSemVerParser.create();
+
+  @Param(value = {
+      "1.2.3",
+      "v1.2",
+      "1.2.3.4",
+      "1.02.0",
+      "1.0.0-SNAPSHOT-b42",
+  })
+  private String input;
+
+  @Benchmark
+  public SemanticVersion lenient() {
+    return LENIENT.parse(this.input).version();
+  }
+
+  @Benchmark
+  public SemanticVersion regexThenStrict() {
+    Matcher matcher = NON_STRICT.matcher(this.input);
+    if (!matcher.matches()) {
+      throw new IllegalArgumentException(this.input);
+    }
+    StringBuilder builder = new StringBuilder()
+        .append(Integer.parseInt(matcher.group(1))).append('.')
+        .append(matcher.group(2) == null ? 0 : Integer.parseInt(matcher.group(2))).append('.')
+        .append(matcher.group(3) == null ? 0 : Integer.parseInt(matcher.group(3)));
+    if (matcher.group(5) != null) {
+      builder.append(matcher.group(5));
+    }
+    String extra = matcher.group(4);
+    if (!extra.isEmpty() || matcher.group(6) != null) {
+      builder.append('+');
+      if (!extra.isEmpty()) {
+        builder.append(extra, 1, extra.length());
+      }
+      if (matcher.group(6) != null) {
+        builder.append(extra.isEmpty() ? "" : ".").append(matcher.group(6));
+      }
+    }
+    return SemanticVersion.parse(builder.toString());
+  }
+}
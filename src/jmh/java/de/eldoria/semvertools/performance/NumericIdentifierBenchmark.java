@@ -0,0 +1,50 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools.performance;
+
+import de.eldoria.semvertools.SemanticVersion;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing and comparing pre-releases with numerical identifiers of increasing size: small
+ * numbers, timestamps that need a {@code long}, and numbers that need a {@code BigInteger}.
+ * The first two should perform alike.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Fork(1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NumericIdentifierBenchmark {
+
+  @Param(value = {"7", "20231015123045", "99999999999999999999999"})
+  private String number;
+
+  private String version;
+  private SemanticVersion left;
+  private SemanticVersion right;
+
+  @Setup
+  public void setup() {
+    this.version = "1.0.0-rc." + this.number;
+    // equal keys and first identifiers, so the numbers decide
+    this.left = SemanticVersion.parse(this.version);
+    this.right = SemanticVersion.parse("1.0.0-rc." + this.number.substring(0, this.number.length() - 1) + "8");
+  }
+
+  @Benchmark
+  public SemanticVersion parse() {
+    return SemanticVersion.parse(this.version);
+  }
+
+  @Benchmark
+  public int compareTo() {
+    return this.left.compareTo(this.right);
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools.performance;
+
+import de.eldoria.semvertools.PackedVersion;
+import de.eldoria.semvertools.SemanticVersion;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Fork(1)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PackedVersionBenchmark {
+
+  @Param(value = {"100000", "1000000"})
+  private int size;
+
+  private SemanticVersion[] versions;
+  private long[] packed;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(42);
+    this.versions = new SemanticVersion[this.size];
+    this.packed = new long[this.size];
+    for (int i = 0; i < this.size; i++) {
+      this.versions[i] = SemanticVersion.of(random.nextInt(10), random.nextInt(50), random.nextInt(200));
+      this.packed[i] = this.versions[i].packedCore();
+    }
+  }
+
+  @Benchmark
+  public int compareObjects() {
+    int sum = 0;
+    for (int i = 1; i < this.versions.length; i++) {
+      sum += this.versions[i - 1].compareTo(this.versions[i]);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public int comparePacked() {
+    int sum = 0;
+    for (int i = 1; i < this.packed.length; i++) {
+      sum += PackedVersion.compare(this.packed[i - 1], this.packed[i]);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public SemanticVersion[] sortObjects() {
+    SemanticVersion[] copy = this.versions.clone();
+    Arrays.sort(copy);
+    return copy;
+  }
+
+  @Benchmark
+  public long[] sortPacked() {
+    long[] copy = this.packed.clone();
+    Arrays.sort(copy);
+    return copy;
+  }
+}
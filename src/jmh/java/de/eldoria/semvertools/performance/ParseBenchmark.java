@@ -0,0 +1,55 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools.performance;
+
+import de.eldoria.semvertools.SemanticVersion;
+import de.eldoria.semvertools.parser.SinglePassSemVerParser;
+import de.eldoria.semvertools.parser.VersionParseException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing single version strings, valid and invalid, short and long. Invalid inputs fail early
+ * in the core, or late in the pre-release and build sections.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Fork(1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ParseBenchmark {
+
+  @Param(value = {
+      "1.2.3",
+      "10.20.30-rc.1+build.5",
+      "1.0.0-alpha-a.b-c-somethinglong+build.1-aef.1-its-okay",
+      "1.2",
+      "01.2.3",
+      "1.0.0-alpha-a.b-c-somethinglong+build.1-aef.1-its-okay..",
+  })
+  private String input;
+
+  @Benchmark
+  public Object parse() {
+    try {
+      return SemanticVersion.parse(this.input);
+    } catch (VersionParseException e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Object tryParse() {
+    return new SinglePassSemVerParser(this.input).tryParse();
+  }
+
+  @Benchmark
+  public boolean isValid() {
+    return SemanticVersion.isValid(this.input);
+  }
+}
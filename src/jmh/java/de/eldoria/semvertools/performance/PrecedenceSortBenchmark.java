@@ -0,0 +1,61 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools.performance;
+
+import de.eldoria.semvertools.SemanticVersion;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PrecedenceSortBenchmark {
+  private static final String[] TAGS = {"alpha", "beta", "rc", "SNAPSHOT", "pre", "nightly"};
+
+  @Param(value = {"1000000", "5000000"})
+  private int size;
+
+  private SemanticVersion[] versions;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(42);
+    this.versions = new SemanticVersion[this.size];
+    for (int i = 0; i < this.size; i++) {
+      String version = random.nextInt(3) + "." + random.nextInt(20) + "." + random.nextInt(20);
+      int kind = random.nextInt(10);
+      if (kind >= 7) {
+        version += "-" + TAGS[random.nextInt(TAGS.length)];
+      }
+      if (kind >= 8) {
+        version += "." + random.nextInt(15);
+      }
+      this.versions[i] = SemanticVersion.parse(version);
+    }
+  }
+
+  @Benchmark
+  public SemanticVersion[] sort() {
+    SemanticVersion[] copy = this.versions.clone();
+    Arrays.sort(copy);
+    return copy;
+  }
+
+  @Benchmark
+  public int compareAdjacent() {
+    int sum = 0;
+    for (int i = 1; i < this.versions.length; i++) {
+      sum += this.versions[i - 1].compareTo(this.versions[i]);
+    }
+    return sum;
+  }
+}
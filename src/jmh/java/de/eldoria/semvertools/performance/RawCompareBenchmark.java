@@ -0,0 +1,80 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools.performance;
+
+import de.eldoria.semvertools.SemanticVersion;
+import de.eldoria.semvertools.parser.RawVersionComparator;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares version strings with {@link RawVersionComparator}, compared to parsing both strings
+ * and comparing the versions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Fork(1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RawCompareBenchmark {
+  private static final int SIZE = 10_000;
+  private static final Comparator<String> PARSE_THEN_COMPARE =
+      (left, right) -> SemanticVersion.parse(left).compareTo(SemanticVersion.parse(right));
+
+  @Param(value = {"production", "prerelease-heavy", "long-build"})
+  private String corpus;
+
+  private String[] versions;
+
+  @Setup
+  public void setup() throws IOException {
+    SemanticVersion[] parsed = VersionCorpus.parseValid(VersionCorpus.load(this.corpus, SIZE));
+    this.versions = new String[parsed.length];
+    for (int i = 0; i < parsed.length; i++) {
+      this.versions[i] = parsed[i].toString();
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public int compareRaw() {
+    RawVersionComparator comparator = RawVersionComparator.instance();
+    int sum = 0;
+    for (int i = 1; i < this.versions.length; i++) {
+      sum += comparator.compare(this.versions[i - 1], this.versions[i]);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public int compareParsed() {
+    int sum = 0;
+    for (int i = 1; i < this.versions.length; i++) {
+      sum += PARSE_THEN_COMPARE.compare(this.versions[i - 1], this.versions[i]);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public String[] sortRaw() {
+    String[] versions = this.versions.clone();
+    Arrays.sort(versions, RawVersionComparator.instance());
+    return versions;
+  }
+
+  @Benchmark
+  public String[] sortParsed() {
+    String[] versions = this.versions.clone();
+    Arrays.sort(versions, PARSE_THEN_COMPARE);
+    return versions;
+  }
+}
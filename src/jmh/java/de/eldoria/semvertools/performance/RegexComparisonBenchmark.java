@@ -10,6 +10,9 @@ import de.eldoria.semvertools.Build;
 import de.eldoria.semvertools.Identifier;
 import de.eldoria.semvertools.PreRelease;
 import de.eldoria.semvertools.SemanticVersion;
+import de.eldoria.semvertools.parser.SemVerLexer;
+import de.eldoria.semvertools.parser.SemVerParser;
+import de.eldoria.semvertools.parser.SinglePassSemVerParser;
 import org.openjdk.jmh.annotations.*;
 
 import java.util.Collections;
@@ -52,4 +55,14 @@ public class RegexComparisonBenchmark {
   public SemanticVersion semanticVersionParser() {
     return SemanticVersion.parse(input);
   }
+
+  @Benchmark
+  public SemanticVersion lexerAndParser() {
+    return new SemVerParser(input, new SemVerLexer().lex(input)).parse();
+  }
+
+  @Benchmark
+  public SemanticVersion singlePassParser() {
+    return new SinglePassSemVerParser(input).parse();
+  }
 }
@@ -0,0 +1,84 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools.performance;
+
+import de.eldoria.semvertools.Build;
+import de.eldoria.semvertools.Identifier;
+import de.eldoria.semvertools.PreRelease;
+import de.eldoria.semvertools.SemanticVersion;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deriving versions with the {@code with*} and {@code increase*} methods, and rendering them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Fork(1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TransformBenchmark {
+  private static final PreRelease PRE_RELEASE = PreRelease.of(Arrays.asList(Identifier.of("rc"), Identifier.of(2)));
+  private static final Build BUILD = Build.of(Arrays.asList(Identifier.of("build"), Identifier.of(7)));
+
+  @Param(value = {"1.2.3", "1.2.3-rc.1+build.5"})
+  private String input;
+
+  private SemanticVersion version;
+
+  @Setup
+  public void setup() {
+    this.version = SemanticVersion.parse(this.input);
+  }
+
+  @Benchmark
+  public SemanticVersion withMajor() {
+    return this.version.withMajor(5);
+  }
+
+  @Benchmark
+  public SemanticVersion increaseMinor() {
+    return this.version.increaseMinor();
+  }
+
+  @Benchmark
+  public SemanticVersion increasePatch() {
+    return this.version.increasePatch();
+  }
+
+  @Benchmark
+  public SemanticVersion withPreRelease() {
+    return this.version.withPreRelease(PRE_RELEASE);
+  }
+
+  @Benchmark
+  public SemanticVersion withBuild() {
+    return this.version.withBuild(BUILD);
+  }
+
+  @Benchmark
+  public SemanticVersion withoutPreReleaseAndBuild() {
+    return this.version.withPreRelease(null).withBuild(null);
+  }
+
+  @Benchmark
+  public String toStringOfNewVersion() {
+    return this.version.increasePatch().toString();
+  }
+
+  @Benchmark
+  public String toStringMemoized() {
+    return this.version.toString();
+  }
+
+  @Benchmark
+  public String preReleaseAsString() {
+    return PRE_RELEASE.asString();
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools.performance;
+
+import de.eldoria.semvertools.SemanticVersion;
+import de.eldoria.semvertools.VersionCache;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Fork(1)
+@Threads(6)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class VersionCacheBenchmark {
+
+  @Param(value = {"1000", "10000"})
+  private int distinctVersions;
+
+  @Param(value = {"0.8", "1.2"})
+  private double skew;
+
+  @Param(value = {"512", "4096"})
+  private int cacheSize;
+
+  private String[] versions;
+  private ZipfianDistribution distribution;
+  private VersionCache cache;
+
+  @Setup
+  public void setup() {
+    this.versions = new String[this.distinctVersions];
+    for (int i = 0; i < this.distinctVersions; i++) {
+      String version = (i % 5) + "." + (i / 5 % 30) + "." + (i / 150);
+      if (i % 4 == 1) {
+        version += "-SNAPSHOT";
+      } else if (i % 7 == 2) {
+        version += "-rc." + (i % 5);
+      }
+      this.versions[i] = version;
+    }
+    this.distribution = new ZipfianDistribution(this.distinctVersions, this.skew);
+    this.cache = VersionCache.create(this.cacheSize);
+  }
+
+  @State(Scope.Thread)
+  public static class Keys {
+    private int[] ranks;
+    private int next;
+
+    @Setup
+    public void setup(VersionCacheBenchmark benchmark, ThreadParams threadParams) {
+      Random random = new Random(threadParams.getThreadIndex());
+      this.ranks = benchmark.distribution.samples(random, 1 << 16);
+    }
+
+    String next(String[] versions) {
+      return versions[this.ranks[this.next++ & (this.ranks.length - 1)]];
+    }
+  }
+
+  @Benchmark
+  public SemanticVersion cached(Keys keys) {
+    return this.cache.parse(keys.next(this.versions));
+  }
+
+  @Benchmark
+  public SemanticVersion uncached(Keys keys) {
+    return SemanticVersion.parse(keys.next(this.versions));
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools.performance;
+
+import de.eldoria.semvertools.SemanticVersion;
+import de.eldoria.semvertools.VersionCodec;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round trips of a batch of versions through {@link VersionCodec}, compared to writing them as
+ * text and parsing them again. The encoded sizes are printed during setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Fork(1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class VersionCodecBenchmark {
+  private static final int SIZE = 10_000;
+
+  @Param(value = {"production", "releases", "long-build"})
+  private String corpus;
+
+  private SemanticVersion[] versions;
+  private byte[] binary;
+  private byte[] text;
+  private ByteBuffer buffer;
+
+  @Setup
+  public void setup() throws IOException {
+    this.versions = VersionCorpus.parseValid(VersionCorpus.load(this.corpus, SIZE));
+    this.binary = VersionCodec.encodeAll(this.versions);
+    this.text = encodeText();
+    this.buffer = ByteBuffer.allocate(this.binary.length);
+    System.out.printf("%nbytes per version: binary %.2f, text %.2f%n",
+        (double) this.binary.length / this.versions.length, (double) this.text.length / this.versions.length);
+  }
+
+  @Benchmark
+  public ByteBuffer encodeBinary() {
+    this.buffer.clear();
+    VersionCodec.encodeAll(this.versions, this.buffer);
+    return this.buffer;
+  }
+
+  @Benchmark
+  public SemanticVersion[] decodeBinary() {
+    return VersionCodec.decodeAll(this.binary);
+  }
+
+  @Benchmark
+  public byte[] encodeText() {
+    StringBuilder builder = new StringBuilder(this.versions.length * 16);
+    for (SemanticVersion version : this.versions) {
+      version.appendTo(builder).append('\n');
+    }
+    return builder.toString().getBytes(StandardCharsets.US_ASCII);
+  }
+
+  @Benchmark
+  public SemanticVersion[] decodeText() {
+    SemanticVersion[] versions = new SemanticVersion[this.versions.length];
+    int start = 0;
+    for (int i = 0; i < versions.length; i++) {
+      int end = start;
+      while (this.text[end] != '\n') end++;
+      versions[i] = SemanticVersion.parse(this.text, start, end - start);
+      start = end + 1;
+    }
+    return versions;
+  }
+}
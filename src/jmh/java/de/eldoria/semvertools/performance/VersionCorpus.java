@@ -0,0 +1,344 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools.performance;
+
+import de.eldoria.semvertools.SemanticVersion;
+import de.eldoria.semvertools.parser.SinglePassSemVerParser;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates reproducible corpora of version strings that resemble production data.
+ * <p>
+ * Versions are drawn from configurable distributions: core components follow a Zipfian
+ * distribution (small numbers are much more likely), pre-releases are built from a weighted tag
+ * vocabulary, optionally followed by a number ({@code -rc.3}), and build metadata mixes words,
+ * numbers and commit hashes. A share of the strings is made invalid by one of several typical
+ * mistakes, all other strings are checked to be valid. The same seed and settings always produce
+ * the same corpus.
+ * <p>
+ * Benchmarks refer to a corpus by a single {@code @Param} string, see {@link #load(String, int)}.
+ * Corpora can be written to disk with {@link #main(String[])}:
+ * <pre>
+ *   VersionCorpus &lt;preset&gt; &lt;size&gt; &lt;seed&gt; &lt;file&gt;
+ * </pre>
+ */
+public final class VersionCorpus {
+  private static final String[] BUILD_WORDS = {"build", "exp", "sha", "ci", "nightly", "linux", "x86-64"};
+  private static final String HEX = "0123456789abcdef";
+
+  private final long seed;
+  private final int[] componentBounds;
+  private final double[] componentSkews;
+  private final double releaseRate;
+  private final Map<String, Double> tags;
+  private final double numberedTagRate;
+  private final int maxPreReleaseIdentifiers;
+  private final double buildRate;
+  private final int maxBuildIdentifiers;
+  private final double invalidRate;
+
+  private VersionCorpus(Builder builder) {
+    this.seed = builder.seed;
+    this.componentBounds = builder.componentBounds.clone();
+    this.componentSkews = builder.componentSkews.clone();
+    this.releaseRate = builder.releaseRate;
+    this.tags = new LinkedHashMap<>(builder.tags);
+    this.numberedTagRate = builder.numberedTagRate;
+    this.maxPreReleaseIdentifiers = builder.maxPreReleaseIdentifiers;
+    this.buildRate = builder.buildRate;
+    this.maxBuildIdentifiers = builder.maxBuildIdentifiers;
+    this.invalidRate = builder.invalidRate;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Returns a builder preconfigured with one of the presets:
+   * <ul>
+   *   <li>{@code production}: 70% releases, mostly {@code SNAPSHOT} and {@code rc.N} pre-releases,
+   *   5% build metadata and 3% invalid strings</li>
+   *   <li>{@code releases}: valid releases only</li>
+   *   <li>{@code prerelease-heavy}: 80% pre-releases with up to four identifiers</li>
+   *   <li>{@code long-build}: half of the versions carry long build metadata</li>
+   *   <li>{@code invalid-heavy}: like production, but 30% invalid strings</li>
+   * </ul>
+   *
+   * @param name the name of the preset.
+   * @return the builder.
+   * @throws IllegalArgumentException if there is no such preset.
+   */
+  public static Builder preset(String name) {
+    switch (name) {
+      case "production":
+        return builder();
+      case "releases":
+        return builder().releaseRate(1).buildRate(0).invalidRate(0);
+      case "prerelease-heavy":
+        return builder().releaseRate(0.2).maxPreReleaseIdentifiers(4).numberedTagRate(0.8);
+      case "long-build":
+        return builder().buildRate(0.5).maxBuildIdentifiers(8);
+      case "invalid-heavy":
+        return builder().invalidRate(0.3);
+      default:
+        throw new IllegalArgumentException("Unknown corpus preset " + name);
+    }
+  }
+
+  /**
+   * Loads a corpus for a benchmark parameter: either {@code file:<path>} to read the lines of a
+   * file written before, or the name of a {@link #preset(String) preset}, generated with seed 42.
+   *
+   * @param spec the file or preset.
+   * @param size the number of versions to generate, ignored for files.
+   * @return the version strings.
+   * @throws IOException if the file can't be read.
+   */
+  public static String[] load(String spec, int size) throws IOException {
+    if (spec.startsWith("file:")) {
+      return Files.readAllLines(Paths.get(spec.substring(5)), StandardCharsets.US_ASCII).toArray(new String[0]);
+    }
+    return preset(spec).seed(42).build().generate(size);
+  }
+
+  /**
+   * Parses all valid strings of a corpus, skipping the invalid ones.
+   *
+   * @param corpus the version strings.
+   * @return the parsed versions.
+   */
+  public static SemanticVersion[] parseValid(String[] corpus) {
+    List<SemanticVersion> versions = new ArrayList<>(corpus.length);
+    for (String string : corpus) {
+      SemanticVersion version = new SinglePassSemVerParser(string).tryParse();
+      if (version != null) {
+        versions.add(version);
+      }
+    }
+    return versions.toArray(new SemanticVersion[0]);
+  }
+
+  /**
+   * Generates the given number of version strings.
+   *
+   * @param size the number of version strings.
+   * @return the version strings.
+   * @throws IllegalStateException if the settings produce an invalid version, e.g. by an invalid tag.
+   */
+  public String[] generate(int size) {
+    Random random = new Random(this.seed);
+    ZipfianDistribution[] components = new ZipfianDistribution[3];
+    for (int i = 0; i < components.length; i++) {
+      components[i] = new ZipfianDistribution(this.componentBounds[i], this.componentSkews[i]);
+    }
+    String[] tagNames = this.tags.keySet().toArray(new String[0]);
+    double[] tagWeights = new double[tagNames.length];
+    double total = 0;
+    for (int i = 0; i < tagNames.length; i++) {
+      total += this.tags.get(tagNames[i]);
+      tagWeights[i] = total;
+    }
+    String[] corpus = new String[size];
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < size; i++) {
+      builder.setLength(0);
+      builder.append(components[0].sample(random)).append('.')
+          .append(components[1].sample(random)).append('.')
+          .append(components[2].sample(random));
+      if (tagNames.length > 0 && random.nextDouble() >= this.releaseRate) {
+        appendPreRelease(builder, random, tagNames, tagWeights, total);
+      }
+      if (random.nextDouble() < this.buildRate) {
+        appendBuild(builder, random, builder.indexOf("-") >= 0);
+      }
+      String version = builder.toString();
+      if (!SemanticVersion.isValid(version)) {
+        // the invalid share must only come from invalidate
+        throw new IllegalStateException("Generated invalid version " + version + ", check the tags");
+      }
+      corpus[i] = random.nextDouble() < this.invalidRate ? invalidate(version, random) : version;
+    }
+    return corpus;
+  }
+
+  /**
+   * Generates the given number of version strings and writes them to a file, one per line.
+   *
+   * @param size the number of version strings.
+   * @param file the file to write.
+   * @throws IOException if the file can't be written.
+   */
+  public void write(int size, Path file) throws IOException {
+    try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)) {
+      for (String version : generate(size)) {
+        writer.write(version);
+        writer.newLine();
+      }
+    }
+  }
+
+  private void appendPreRelease(StringBuilder builder, Random random, String[] tags, double[] weights, double total) {
+    double pick = random.nextDouble() * total;
+    int tag = 0;
+    while (tag < tags.length - 1 && weights[tag] <= pick) tag++;
+    builder.append('-').append(tags[tag]);
+    if (tags[tag].equals("SNAPSHOT")) return; // never numbered in practice
+    int identifiers = 1 + random.nextInt(this.maxPreReleaseIdentifiers);
+    for (int i = 1; i < identifiers || (i == 1 && random.nextDouble() < this.numberedTagRate); i++) {
+      builder.append('.');
+      if (i > 1 && random.nextInt(3) == 0) {
+        builder.append(tags[random.nextInt(tags.length)]);
+      } else {
+        builder.append(random.nextInt(10));
+      }
+    }
+  }
+
+  private void appendBuild(StringBuilder builder, Random random, boolean preRelease) {
+    int identifiers = 1 + random.nextInt(this.maxBuildIdentifiers);
+    for (int i = 0; i < identifiers; i++) {
+      builder.append(i == 0 ? '+' : '.');
+      switch (random.nextInt(3)) {
+        case 0:
+          // the last word has a hyphen, which is only valid in the build of a pre-release
+          builder.append(BUILD_WORDS[random.nextInt(BUILD_WORDS.length - (preRelease ? 0 : 1))]);
+          break;
+        case 1:
+          builder.append(random.nextInt(100_000));
+          break;
+        default:
+          for (int c = 0; c < 7; c++) {
+            builder.append(HEX.charAt(random.nextInt(HEX.length())));
+          }
+      }
+    }
+  }
+
+  // typical mistakes found in the wild
+  private static String invalidate(String version, Random random) {
+    switch (random.nextInt(6)) {
+      case 0:
+        return "v" + version;
+      case 1:
+        return version.substring(0, version.indexOf('.', version.indexOf('.') + 1));
+      case 2:
+        return "0" + version;
+      case 3:
+        return version + (version.indexOf('-') < 0 ? "-" : "..1");
+      case 4:
+        return version.replaceFirst("\\.", "_");
+      default:
+        return " " + version;
+    }
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length != 4) {
+      System.err.println("Usage: VersionCorpus <preset> <size> <seed> <file>");
+      System.exit(1);
+    }
+    preset(args[0]).seed(Long.parseLong(args[2])).build().write(Integer.parseInt(args[1]), Paths.get(args[3]));
+  }
+
+  public static final class Builder {
+    private long seed = 42;
+    private final int[] componentBounds = {30, 100, 300};
+    private final double[] componentSkews = {1.2, 1.0, 0.8};
+    private double releaseRate = 0.7;
+    private final Map<String, Double> tags = new LinkedHashMap<>();
+    private double numberedTagRate = 0.6;
+    private int maxPreReleaseIdentifiers = 2;
+    private double buildRate = 0.05;
+    private int maxBuildIdentifiers = 4;
+    private double invalidRate = 0.03;
+
+    private Builder() {
+      this.tags.put("SNAPSHOT", 0.4);
+      this.tags.put("rc", 0.3);
+      this.tags.put("beta", 0.15);
+      this.tags.put("alpha", 0.1);
+      this.tags.put("M", 0.05);
+    }
+
+    public Builder seed(long seed) {
+      this.seed = seed;
+      return this;
+    }
+
+    /**
+     * Sets the distribution of a core component.
+     *
+     * @param component 0 for major, 1 for minor and 2 for patch.
+     * @param bound     the exclusive upper bound of the values.
+     * @param skew      the skew of the Zipfian distribution, 0 is uniform.
+     * @return this builder.
+     */
+    public Builder component(int component, int bound, double skew) {
+      this.componentBounds[component] = bound;
+      this.componentSkews[component] = skew;
+      return this;
+    }
+
+    public Builder releaseRate(double releaseRate) {
+      this.releaseRate = releaseRate;
+      return this;
+    }
+
+    /**
+     * Replaces the tag vocabulary of pre-releases.
+     *
+     * @param tags the tags and their relative weights.
+     * @return this builder.
+     */
+    public Builder tags(Map<String, Double> tags) {
+      this.tags.clear();
+      this.tags.putAll(tags);
+      return this;
+    }
+
+    public Builder numberedTagRate(double numberedTagRate) {
+      this.numberedTagRate = numberedTagRate;
+      return this;
+    }
+
+    public Builder maxPreReleaseIdentifiers(int maxPreReleaseIdentifiers) {
+      this.maxPreReleaseIdentifiers = maxPreReleaseIdentifiers;
+      return this;
+    }
+
+    public Builder buildRate(double buildRate) {
+      this.buildRate = buildRate;
+      return this;
+    }
+
+    public Builder maxBuildIdentifiers(int maxBuildIdentifiers) {
+      this.maxBuildIdentifiers = maxBuildIdentifiers;
+      return this;
+    }
+
+    public Builder invalidRate(double invalidRate) {
+      this.invalidRate = invalidRate;
+      return this;
+    }
+
+    public VersionCorpus build() {
+      return new VersionCorpus(this);
+    }
+  }
+}
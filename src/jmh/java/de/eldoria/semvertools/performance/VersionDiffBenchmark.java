@@ -0,0 +1,103 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools.performance;
+
+import de.eldoria.semvertools.SemanticVersion;
+import de.eldoria.semvertools.VersionDiff;
+import de.eldoria.semvertools.VersionTable;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Classifies pairs of installed and available versions with {@link VersionDiff}, compared to
+ * classifying them with the accessors of {@link SemanticVersion}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class VersionDiffBenchmark {
+
+  @Param(value = {"1000000"})
+  private int size;
+
+  @Param(value = {"production", "prerelease-heavy"})
+  private String corpus;
+
+  private SemanticVersion[] installed;
+  private SemanticVersion[] available;
+  private VersionTable installedTable;
+  private VersionTable availableTable;
+  private byte[] results;
+
+  @Setup
+  public void setup() throws IOException {
+    SemanticVersion[] versions = VersionCorpus.parseValid(VersionCorpus.load(this.corpus, this.size));
+    Random random = new Random(42);
+    this.installed = new SemanticVersion[versions.length];
+    this.available = new SemanticVersion[versions.length];
+    this.installedTable = new VersionTable(versions.length);
+    this.availableTable = new VersionTable(versions.length);
+    for (int i = 0; i < versions.length; i++) {
+      this.installed[i] = versions[i];
+      this.available[i] = versions[random.nextInt(versions.length)];
+      this.installedTable.append(this.installed[i]);
+      this.availableTable.append(this.available[i]);
+    }
+    this.results = new byte[versions.length];
+  }
+
+  @Benchmark
+  public byte[] accessors() {
+    for (int i = 0; i < this.results.length; i++) {
+      SemanticVersion from = this.installed[i];
+      SemanticVersion to = this.available[i];
+      int change;
+      if (from.major() != to.major()) {
+        change = VersionDiff.MAJOR;
+      } else if (from.minor() != to.minor()) {
+        change = VersionDiff.MINOR;
+      } else if (from.patch() != to.patch()) {
+        change = VersionDiff.PATCH;
+      } else if (!from.preRelease().equals(to.preRelease())) {
+        change = VersionDiff.PRE_RELEASE;
+      } else {
+        change = from.build().equals(to.build()) ? VersionDiff.NONE : VersionDiff.BUILD;
+      }
+      this.results[i] = (byte) (from.compareTo(to) > 0 ? -change : change);
+    }
+    return this.results;
+  }
+
+  @Benchmark
+  public byte[] diffAll() {
+    VersionDiff.diffAll(this.installed, this.available, this.results);
+    return this.results;
+  }
+
+  @Benchmark
+  public byte[] parallelDiffAll() {
+    VersionDiff.parallelDiffAll(this.installed, this.available, this.results);
+    return this.results;
+  }
+
+  @Benchmark
+  public byte[] diffAllTables() {
+    VersionDiff.diffAll(this.installedTable, this.availableTable, this.results);
+    return this.results;
+  }
+
+  @Benchmark
+  public byte[] parallelDiffAllTables() {
+    VersionDiff.parallelDiffAll(this.installedTable, this.availableTable, this.results);
+    return this.results;
+  }
+}
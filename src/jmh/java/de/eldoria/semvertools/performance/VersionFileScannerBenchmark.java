@@ -0,0 +1,91 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools.performance;
+
+import de.eldoria.semvertools.SemanticVersion;
+import de.eldoria.semvertools.VersionFileScanner;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scanning a file of version strings, one per line. The {@code bytes} counter reports the
+ * throughput in bytes per second, next to the time per scan of the whole file.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class VersionFileScannerBenchmark {
+  private static final int LINES = 5_000_000;
+
+  private Path file;
+  private long size;
+
+  @Setup
+  public void setup() throws IOException {
+    Random random = new Random(42);
+    this.file = Files.createTempFile("versions", ".txt");
+    try (BufferedWriter writer = Files.newBufferedWriter(this.file, StandardCharsets.US_ASCII)) {
+      for (int i = 0; i < LINES; i++) {
+        writer.write(random.nextInt(20) + "." + random.nextInt(100) + "." + random.nextInt(1000));
+        if (random.nextInt(10) == 0) {
+          writer.write("-rc." + random.nextInt(5));
+        }
+        writer.newLine();
+      }
+    }
+    this.size = Files.size(this.file);
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(this.file);
+  }
+
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  @State(Scope.Thread)
+  public static class Throughput {
+    public long bytes;
+  }
+
+  @Benchmark
+  public void bufferedReader(Throughput throughput, Blackhole blackhole) throws IOException {
+    try (BufferedReader reader = Files.newBufferedReader(this.file, StandardCharsets.US_ASCII)) {
+      for (String line; (line = reader.readLine()) != null; ) {
+        blackhole.consume(SemanticVersion.parse(line));
+      }
+    }
+    throughput.bytes += this.size;
+  }
+
+  @Benchmark
+  public void mappedScan(Throughput throughput, Blackhole blackhole) throws IOException {
+    try (VersionFileScanner scanner = VersionFileScanner.open(this.file)) {
+      scanner.scan((line, version) -> blackhole.consume(version));
+    }
+    throughput.bytes += this.size;
+  }
+
+  @Benchmark
+  public long mappedParallelStream(Throughput throughput) throws IOException {
+    try (VersionFileScanner scanner = VersionFileScanner.open(this.file)) {
+      long count = scanner.stream(true).count();
+      throughput.bytes += this.size;
+      return count;
+    }
+  }
+}
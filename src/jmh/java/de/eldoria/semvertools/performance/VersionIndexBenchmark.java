@@ -0,0 +1,71 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools.performance;
+
+import de.eldoria.semvertools.SemanticVersion;
+import de.eldoria.semvertools.range.VersionIndex;
+import de.eldoria.semvertools.range.VersionRange;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class VersionIndexBenchmark {
+  private static final int VERSIONS_PER_KEY = 500;
+
+  @Param(value = {"10000", "100000", "1000000", "10000000"})
+  private int totalVersions;
+
+  @Param(value = {"production", "prerelease-heavy"})
+  private String corpus;
+
+  private VersionIndex<Integer> index;
+  private VersionIndex.Builder<Integer> builder;
+  private VersionRange range;
+  private int keys;
+
+  @Setup
+  public void setup() throws IOException {
+    SemanticVersion[] versions = VersionCorpus.parseValid(VersionCorpus.load(this.corpus, this.totalVersions));
+    this.keys = Math.max(1, versions.length / VERSIONS_PER_KEY);
+    this.builder = VersionIndex.builder();
+    for (int i = 0; i < versions.length; i++) {
+      this.builder.add(i % this.keys, versions[i]);
+    }
+    this.index = this.builder.build();
+    this.range = VersionRange.parse("^2.4 || ~3.1");
+  }
+
+  @Benchmark
+  public Optional<SemanticVersion> maxSatisfying() {
+    return this.index.maxSatisfying(ThreadLocalRandom.current().nextInt(this.keys), this.range);
+  }
+
+  @Benchmark
+  public Optional<SemanticVersion> latestStable() {
+    return this.index.latestStable(ThreadLocalRandom.current().nextInt(this.keys));
+  }
+
+  @Benchmark
+  public Optional<SemanticVersion> floor() {
+    return this.index.floor(ThreadLocalRandom.current().nextInt(this.keys), SemanticVersion.of(2, 15, 0));
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public VersionIndex<Integer> build() {
+    return this.builder.build();
+  }
+}
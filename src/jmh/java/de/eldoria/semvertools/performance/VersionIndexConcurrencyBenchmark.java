@@ -0,0 +1,82 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools.performance;
+
+import de.eldoria.semvertools.SemanticVersion;
+import de.eldoria.semvertools.range.VersionIndex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An update checker on a {@link VersionIndex}: a release feed adds versions while request threads
+ * look up the latest release and the versions newer than an installed one. Every operation is a
+ * write with the given probability.
+ */
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Threads(8)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class VersionIndexConcurrencyBenchmark {
+  private static final int VERSIONS_PER_KEY = 200;
+
+  @Param(value = {"100000"})
+  private int totalVersions;
+
+  @Param(value = {"production", "prerelease-heavy"})
+  private String corpus;
+
+  @Param(value = {"1", "10", "50"})
+  private int writePercent;
+
+  private SemanticVersion[] versions;
+  private VersionIndex<Integer> index;
+  private int keys;
+
+  @Setup(Level.Iteration)
+  public void setup() throws IOException {
+    if (this.versions == null) {
+      this.versions = VersionCorpus.parseValid(VersionCorpus.load(this.corpus, this.totalVersions));
+      this.keys = Math.max(1, this.versions.length / VERSIONS_PER_KEY);
+    }
+    // start with half of the versions, the feed publishes the others
+    VersionIndex.Builder<Integer> builder = VersionIndex.builder();
+    for (int i = 0; i < this.versions.length; i += 2) {
+      builder.add(i % this.keys, this.versions[i]);
+    }
+    this.index = builder.build();
+  }
+
+  @State(Scope.Thread)
+  public static class Operations {
+    private SplittableRandom random;
+
+    @Setup
+    public void setup(ThreadParams threadParams) {
+      this.random = new SplittableRandom(threadParams.getThreadIndex());
+    }
+  }
+
+  @Benchmark
+  public Object mixed(Operations operations) {
+    SplittableRandom random = operations.random;
+    int i = random.nextInt(this.versions.length);
+    SemanticVersion version = this.versions[i];
+    if (random.nextInt(100) < this.writePercent) {
+      return this.index.add(i % this.keys, version);
+    }
+    if (random.nextBoolean()) {
+      return this.index.latestStable(i % this.keys);
+    }
+    return this.index.newerThan(i % this.keys, version);
+  }
+}
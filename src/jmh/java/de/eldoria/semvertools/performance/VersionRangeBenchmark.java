@@ -0,0 +1,58 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools.performance;
+
+import de.eldoria.semvertools.SemanticVersion;
+import de.eldoria.semvertools.range.VersionRange;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class VersionRangeBenchmark {
+  private static final String[] TAGS = {"alpha", "beta", "rc"};
+  private static final int SIZE = 1_000_000;
+
+  @Param(value = {"^1.4.2", "~1.4", "1.x", ">=1.2.0 <2.0.0", "^1.2 || ^3.0 || 5.1.x"})
+  private String expression;
+
+  private VersionRange range;
+  private SemanticVersion[] versions;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(42);
+    this.range = VersionRange.parse(this.expression);
+    this.versions = new SemanticVersion[SIZE];
+    for (int i = 0; i < SIZE; i++) {
+      String version = random.nextInt(6) + "." + random.nextInt(10) + "." + random.nextInt(10);
+      if (random.nextInt(10) == 0) {
+        version += "-" + TAGS[random.nextInt(TAGS.length)] + "." + random.nextInt(5);
+      }
+      this.versions[i] = SemanticVersion.parse(version);
+    }
+  }
+
+  @Benchmark
+  public int match() {
+    int matches = 0;
+    for (SemanticVersion version : this.versions) {
+      if (this.range.test(version)) matches++;
+    }
+    return matches;
+  }
+
+  @Benchmark
+  public VersionRange parse() {
+    return VersionRange.parse(this.expression);
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools.performance;
+
+import de.eldoria.semvertools.SemanticVersion;
+import de.eldoria.semvertools.VersionSorter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx24g")
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class VersionSorterBenchmark {
+  @Param(value = {"1000000", "10000000", "50000000"})
+  private int size;
+
+  @Param(value = {"production", "releases", "prerelease-heavy"})
+  private String corpus;
+
+  private SemanticVersion[] versions;
+
+  @Setup
+  public void setup() throws IOException {
+    this.versions = VersionCorpus.parseValid(VersionCorpus.load(this.corpus, this.size));
+  }
+
+  @Benchmark
+  public SemanticVersion[] arraysSort() {
+    SemanticVersion[] copy = this.versions.clone();
+    Arrays.sort(copy);
+    return copy;
+  }
+
+  @Benchmark
+  public SemanticVersion[] arraysParallelSort() {
+    SemanticVersion[] copy = this.versions.clone();
+    Arrays.parallelSort(copy);
+    return copy;
+  }
+
+  @Benchmark
+  public SemanticVersion[] versionSorter() {
+    SemanticVersion[] copy = this.versions.clone();
+    VersionSorter.sort(copy);
+    return copy;
+  }
+
+  @Benchmark
+  public SemanticVersion[] versionSorterParallel() {
+    SemanticVersion[] copy = this.versions.clone();
+    VersionSorter.parallelSort(copy);
+    return copy;
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools.performance;
+
+import de.eldoria.semvertools.SemanticVersion;
+import de.eldoria.semvertools.VersionStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Random lookups and precedence comparisons on a {@link VersionStore}, compared to an
+ * {@code ArrayList<SemanticVersion>}. The heap retained by both and the time spent in full
+ * collections are printed during setup; run with {@code -prof gc} for the allocation rates.
+ */
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class VersionStoreBenchmark {
+  private static final int LOOKUPS = 1 << 10;
+
+  @Param(value = {"100000", "1000000"})
+  private int size;
+
+  @Param(value = {"production", "prerelease-heavy"})
+  private String corpus;
+
+  private List<SemanticVersion> list;
+  private VersionStore store;
+  private long[] handles;
+  private int[] indices;
+
+  @Setup
+  public void setup() throws IOException {
+    long heap = usedHeap();
+    long gcTime = gcTime();
+    SemanticVersion[] versions = VersionCorpus.parseValid(VersionCorpus.load(this.corpus, this.size));
+    this.store = VersionStore.create();
+    this.handles = new long[versions.length];
+    for (int i = 0; i < versions.length; i++) {
+      this.handles[i] = this.store.add(versions[i]);
+    }
+    versions = null;
+    long storeHeap = usedHeap() - heap;
+    long storeGcTime = gcTime() - gcTime;
+    heap = usedHeap();
+    gcTime = gcTime();
+    this.list = new ArrayList<>(Arrays.asList(VersionCorpus.parseValid(VersionCorpus.load(this.corpus, this.size))));
+    System.out.printf("%nlist: %d bytes heap, %d ms gc; store: %d bytes heap, %d bytes direct, %d ms gc%n",
+        usedHeap() - heap, gcTime() - gcTime, storeHeap, this.store.usedBytes(), storeGcTime);
+    this.indices = new SplittableRandom(42).ints(LOOKUPS * 2L, 0, this.handles.length).toArray();
+  }
+
+  @TearDown
+  public void tearDown() {
+    this.store.close();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(LOOKUPS)
+  public int compareList() {
+    int sum = 0;
+    for (int i = 0; i < LOOKUPS; i++) {
+      sum += this.list.get(this.indices[i * 2]).compareTo(this.list.get(this.indices[i * 2 + 1]));
+    }
+    return sum;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(LOOKUPS)
+  public int compareStore() {
+    int sum = 0;
+    for (int i = 0; i < LOOKUPS; i++) {
+      sum += this.store.compare(this.handles[this.indices[i * 2]], this.handles[this.indices[i * 2 + 1]]);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(LOOKUPS)
+  public int majorList() {
+    int sum = 0;
+    for (int i = 0; i < LOOKUPS; i++) {
+      sum += this.list.get(this.indices[i]).major();
+    }
+    return sum;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(LOOKUPS)
+  public int majorStore() {
+    int sum = 0;
+    for (int i = 0; i < LOOKUPS; i++) {
+      sum += this.store.major(this.handles[this.indices[i]]);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(LOOKUPS)
+  public int getStore() {
+    int sum = 0;
+    for (int i = 0; i < LOOKUPS; i++) {
+      sum += this.store.get(this.handles[this.indices[i]]).patch();
+    }
+    return sum;
+  }
+
+  private static long usedHeap() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  private static long gcTime() {
+    long time = 0;
+    for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+      time += Math.max(0, bean.getCollectionTime());
+    }
+    return time;
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools.performance;
+
+import de.eldoria.semvertools.SemanticVersion;
+import de.eldoria.semvertools.VersionTable;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sorting a {@link VersionTable} by row index compared to sorting version objects. The setup
+ * prints the bytes retained per version by both representations, measured by forcing garbage
+ * collections around building them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class VersionTableBenchmark {
+  private static final String[] TAGS = {"alpha", "beta", "rc", "SNAPSHOT"};
+
+  @Param(value = {"1000000", "5000000"})
+  private int size;
+
+  @Param(value = {"0", "30"})
+  private int preReleasePercent;
+
+  private String[] input;
+  private SemanticVersion[] versions;
+  private VersionTable table;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(42);
+    this.input = new String[this.size];
+    for (int i = 0; i < this.size; i++) {
+      String version = random.nextInt(10) + "." + random.nextInt(100) + "." + random.nextInt(1000);
+      if (random.nextInt(100) < this.preReleasePercent) {
+        version += "-" + TAGS[random.nextInt(TAGS.length)] + "." + random.nextInt(10);
+      }
+      this.input[i] = version;
+    }
+    long before = usedHeap();
+    this.versions = new SemanticVersion[this.size];
+    for (int i = 0; i < this.size; i++) {
+      this.versions[i] = SemanticVersion.parse(this.input[i]);
+    }
+    long objects = usedHeap() - before;
+    before = usedHeap();
+    this.table = new VersionTable(this.size);
+    for (SemanticVersion version : this.versions) {
+      this.table.append(version);
+    }
+    long table = usedHeap() - before;
+    System.out.printf("%nbytes per version: objects %.1f, table %.1f (estimated %.1f)%n",
+        (double) objects / this.size, (double) table / this.size,
+        (double) this.table.estimatedSizeInBytes() / this.size);
+  }
+
+  @Benchmark
+  public SemanticVersion[] sortObjects() {
+    SemanticVersion[] copy = this.versions.clone();
+    Arrays.sort(copy);
+    return copy;
+  }
+
+  @Benchmark
+  public int[] sortTable() {
+    return this.table.sortedRows();
+  }
+
+  private static long usedHeap() {
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+  }
+}
@@ -0,0 +1,44 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools.performance;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Samples ranks {@code 0..n-1} where rank {@code k} is drawn with a probability proportional to
+ * {@code 1 / (k + 1)^skew}. A skew of 0 is uniform, higher skews concentrate on the first ranks.
+ */
+final class ZipfianDistribution {
+  private final double[] cumulative;
+
+  ZipfianDistribution(int n, double skew) {
+    this.cumulative = new double[n];
+    double sum = 0;
+    for (int k = 0; k < n; k++) {
+      sum += 1 / Math.pow(k + 1, skew);
+      this.cumulative[k] = sum;
+    }
+    for (int k = 0; k < n; k++) {
+      this.cumulative[k] /= sum;
+    }
+  }
+
+  int sample(Random random) {
+    int index = Arrays.binarySearch(this.cumulative, random.nextDouble());
+    int rank = index < 0 ? -index - 1 : index;
+    return Math.min(rank, this.cumulative.length - 1);
+  }
+
+  int[] samples(Random random, int count) {
+    int[] samples = new int[count];
+    for (int i = 0; i < count; i++) {
+      samples[i] = sample(random);
+    }
+    return samples;
+  }
+}
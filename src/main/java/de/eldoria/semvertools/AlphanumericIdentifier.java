@@ -6,13 +6,18 @@
 
 package de.eldoria.semvertools;
 
-import java.util.Objects;
-
 final class AlphanumericIdentifier implements Identifier {
+  private static final int NOT_INTERNED = -1;
   private final String identifier;
+  private final int rank; // position among the well-known tags, if this is a shared instance
 
   AlphanumericIdentifier(String identifier) {
+    this(identifier, NOT_INTERNED);
+  }
+
+  AlphanumericIdentifier(String identifier, int rank) {
     this.identifier = identifier;
+    this.rank = rank;
   }
 
   @Override
@@ -20,8 +25,26 @@ final class AlphanumericIdentifier implements Identifier {
     return this.identifier;
   }
 
+  boolean matches(CharSequence chars, int start, int end) {
+    if (this.identifier.length() != end - start) return false;
+    for (int i = start; i < end; i++) {
+      if (this.identifier.charAt(i - start) != chars.charAt(i)) return false;
+    }
+    return true;
+  }
+
   @Override
   public int compareTo(Identifier o) {
+    if (o instanceof AlphanumericIdentifier) {
+      AlphanumericIdentifier that = (AlphanumericIdentifier) o;
+      if (this.rank != NOT_INTERNED && that.rank != NOT_INTERNED) {
+        return Integer.compare(this.rank, that.rank);
+      }
+      return this.identifier.compareTo(that.identifier);
+    }
+    if (o instanceof NumericalIdentifier) {
+      return 1; // numerical identifiers always have lower precedence
+    }
     return asString().compareTo(o.asString());
   }
 
@@ -33,8 +56,13 @@ final class AlphanumericIdentifier implements Identifier {
     return identifier.equals(that.identifier);
   }
 
+  @Override
+  public StringBuilder appendTo(StringBuilder builder) {
+    return builder.append(this.identifier);
+  }
+
   @Override
   public int hashCode() {
-    return Objects.hash(identifier);
+    return 31 + this.identifier.hashCode();
   }
 }
@@ -0,0 +1,49 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * A per-thread buffer that versions are rendered into before they are handed to an
+ * {@link Appendable}, so writing a version neither memoizes nor allocates a string.
+ */
+final class AppendBuffer {
+  private static final int MAX_RETAINED = 1024;
+  private static final ThreadLocal<AppendBuffer> BUFFERS = ThreadLocal.withInitial(AppendBuffer::new);
+  private final StringBuilder builder = new StringBuilder(64);
+  private char[] chars = new char[64];
+
+  private AppendBuffer() {
+  }
+
+  static <A extends Appendable> A append(SemanticVersion version, A appendable) throws IOException {
+    AppendBuffer buffer = BUFFERS.get();
+    StringBuilder builder = buffer.builder;
+    builder.setLength(0);
+    version.appendTo(builder);
+    int length = builder.length();
+    if (appendable instanceof Writer) {
+      // Writer.append(CharSequence) would create a string
+      if (buffer.chars.length < length) {
+        buffer.chars = new char[Math.max(length, buffer.chars.length * 2)];
+      }
+      builder.getChars(0, length, buffer.chars, 0);
+      ((Writer) appendable).write(buffer.chars, 0, length);
+    } else {
+      appendable.append(builder, 0, length);
+    }
+    if (length > MAX_RETAINED) {
+      // don't keep the memory of an unusually long version for the lifetime of the thread
+      builder.setLength(0);
+      builder.trimToSize();
+      buffer.chars = new char[64];
+    }
+    return appendable;
+  }
+}
@@ -6,22 +6,35 @@
 
 package de.eldoria.semvertools;
 
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
 
 final class BuildImpl implements Build {
   private final List<Identifier> identifiers;
+  private @Nullable String string;
+  private int hash;
 
   BuildImpl(List<Identifier> identifiers) {
-    this.identifiers = identifiers;
+    this.identifiers = new ArrayList<>(identifiers);
   }
 
   @Override
   public String asString() {
-    return this.identifiers.stream().map(Identifier::asString).collect(Collectors.joining("."));
+    String string = this.string;
+    if (string == null) {
+      string = appendTo(new StringBuilder()).toString();
+      this.string = string;
+    }
+    return string;
+  }
+
+  @Override
+  public StringBuilder appendTo(StringBuilder builder) {
+    return Identifiers.appendTo(builder, this.identifiers);
   }
 
   @Override
@@ -45,6 +58,11 @@ final class BuildImpl implements Build {
 
   @Override
   public int hashCode() {
-    return Objects.hash(identifiers);
+    int hash = this.hash;
+    if (hash == 0) {
+      hash = 31 + this.identifiers.hashCode();
+      this.hash = hash;
+    }
+    return hash;
   }
 }
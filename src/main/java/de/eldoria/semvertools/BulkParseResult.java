@@ -0,0 +1,108 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools;
+
+import de.eldoria.semvertools.parser.SinglePassSemVerParser;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The result of {@link SemanticVersions#parseAll(java.util.List)}: the parsed versions, and the
+ * indexes and reasons of all version strings that could not be parsed.
+ * <p>
+ * The reasons are kept as codes, positions and chars in primitive arrays, the messages are only
+ * built by {@link #failureReason(int)}.
+ */
+public final class BulkParseResult {
+  static final byte NULL_INPUT = -1;
+  private final @Nullable SemanticVersion[] versions;
+  private final int[] failedIndexes;
+  private final byte[] failureCodes;
+  private final int[] failurePositions;
+  private final char[] failureCharacters;
+
+  BulkParseResult(
+      @Nullable SemanticVersion[] versions,
+      int[] failedIndexes,
+      byte[] failureCodes,
+      int[] failurePositions,
+      char[] failureCharacters
+  ) {
+    this.versions = versions;
+    this.failedIndexes = failedIndexes;
+    this.failureCodes = failureCodes;
+    this.failurePositions = failurePositions;
+    this.failureCharacters = failureCharacters;
+  }
+
+  /**
+   * Returns the parsed versions, at the index of their version string. The indexes of invalid
+   * version strings are {@code null}.
+   * <p>
+   * The array is not copied, so it can be handed on without another allocation of its size.
+   *
+   * @return the parsed versions.
+   */
+  public @Nullable SemanticVersion[] versions() {
+    return this.versions;
+  }
+
+  public int size() {
+    return this.versions.length;
+  }
+
+  public boolean hasFailures() {
+    return this.failedIndexes.length > 0;
+  }
+
+  public int failureCount() {
+    return this.failedIndexes.length;
+  }
+
+  /**
+   * Returns the index of the {@code n}-th invalid version string. Failures are sorted by index.
+   *
+   * @param n the number of the failure, starting at 0.
+   * @return the index of the version string.
+   */
+  public int failedIndex(int n) {
+    return this.failedIndexes[n];
+  }
+
+  /**
+   * Returns why the {@code n}-th invalid version string could not be parsed, e.g.
+   * {@code expected '.' at position 1}.
+   *
+   * @param n the number of the failure, starting at 0.
+   * @return the reason.
+   */
+  public String failureReason(int n) {
+    if (this.failureCodes[n] == NULL_INPUT) {
+      return "version string must not be null";
+    }
+    return SinglePassSemVerParser.failureReason(this.failureCodes[n], this.failureCharacters[n])
+        + " at position " + this.failurePositions[n];
+  }
+
+  public int[] failedIndexes() {
+    return this.failedIndexes.clone();
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder("BulkParseResult{size=").append(this.versions.length)
+        .append(", failures=").append(this.failedIndexes.length);
+    int shown = Math.min(this.failedIndexes.length, 10);
+    for (int i = 0; i < shown; i++) {
+      builder.append(i == 0 ? ": " : ", ").append('[').append(this.failedIndexes[i]).append("] ")
+          .append(failureReason(i));
+    }
+    if (shown < this.failedIndexes.length) {
+      builder.append(", ...");
+    }
+    return builder.append('}').toString();
+  }
+}
@@ -6,15 +6,30 @@
 
 package de.eldoria.semvertools;
 
+import de.eldoria.semvertools.parser.SinglePassSemVerParser;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Objects;
 import java.util.Optional;
 
+/**
+ * A version with a pre-release or build metadata.
+ * <p>
+ * A version parsed {@link SemanticVersion#parseLazy(CharSequence) lazily} keeps both sections as
+ * the validated tail of the version string, and only parses their identifiers once they
+ * are needed. The identifiers may be parsed more than once if several threads race for them,
+ * which is harmless as the results are equal and immutable.
+ */
 final class FullVersion implements SemanticVersion {
   private final VersionCore versionCore;
-  private final @Nullable PreRelease preRelease;
-  private final @Nullable Build build;
+  private @Nullable PreRelease preRelease;
+  private @Nullable Build build;
+  private final int precedenceKey;
+  // the pre-release and build sections including their leading '-' and '+', if parsed lazily
+  private final @Nullable String tail;
+  private final int buildStart;
+  private @Nullable String string;
+  private int hash;
 
   FullVersion(
       VersionCore versionCore,
@@ -27,6 +42,89 @@ final class FullVersion implements SemanticVersion {
     }
     this.preRelease = preRelease;
     this.build = build;
+    this.precedenceKey = Precedence.key(preRelease);
+    this.tail = null;
+    this.buildStart = -1;
+  }
+
+  private FullVersion(VersionCore versionCore, String tail, int buildStart, int precedenceKey) {
+    this.versionCore = versionCore;
+    this.tail = tail;
+    this.buildStart = buildStart;
+    this.precedenceKey = precedenceKey;
+  }
+
+  /**
+   * Parses the version string, keeping the pre-release and build sections unparsed until they
+   * are needed. The whole string is validated up front.
+   */
+  static SemanticVersion parseLazy(CharSequence version) {
+    int length = version.length();
+    if (!SinglePassSemVerParser.isValid(version, 0, length)) {
+      return new SinglePassSemVerParser(version).parse(); // throws the same exception as parsing
+    }
+    ParseListener listener = Instrumentation.listener();
+    if (listener == null) {
+      return parseValid(version, length);
+    }
+    long start = System.nanoTime();
+    SemanticVersion parsed = parseValid(version, length);
+    listener.parsed(length, System.nanoTime() - start);
+    return parsed;
+  }
+
+  private static SemanticVersion parseValid(CharSequence version, int length) {
+    // the string is valid, so the components are digit runs separated by dots
+    int head = 0;
+    int major = 0;
+    while (version.charAt(head) != '.') major = 10 * major + version.charAt(head++) - '0';
+    int minor = 0;
+    while (version.charAt(++head) != '.') minor = 10 * minor + version.charAt(head) - '0';
+    int patch = 0;
+    char c;
+    while (++head < length && (c = version.charAt(head)) != '-' && c != '+') patch = 10 * patch + c - '0';
+    VersionCore versionCore = new VersionCore(major, minor, patch);
+    if (head == length) {
+      return versionCore;
+    }
+    String tail = version.subSequence(head, length).toString();
+    int buildStart = tail.indexOf('+');
+    if (buildStart < 0) {
+      buildStart = tail.length();
+    }
+    int precedenceKey = Precedence.RELEASE;
+    if (tail.charAt(0) == '-') {
+      int end = 1;
+      while (end < buildStart && tail.charAt(end) != '.') end++;
+      precedenceKey = Precedence.key(tail, 1, end);
+    }
+    return new FullVersion(versionCore, tail, buildStart, precedenceKey);
+  }
+
+  VersionCore core() {
+    return this.versionCore;
+  }
+
+  @Nullable PreRelease preReleaseOrNull() {
+    PreRelease preRelease = this.preRelease;
+    if (preRelease == null && this.tail != null && this.buildStart > 0) {
+      preRelease = PreRelease.of(SinglePassSemVerParser.parseIdentifiers(this.tail, 1, this.buildStart, false));
+      this.preRelease = preRelease;
+    }
+    return preRelease;
+  }
+
+  @Nullable Build buildOrNull() {
+    Build build = this.build;
+    if (build == null && this.tail != null && this.buildStart < this.tail.length()) {
+      build = Build.of(SinglePassSemVerParser.parseIdentifiers(this.tail, this.buildStart + 1, this.tail.length(), true));
+      this.build = build;
+    }
+    return build;
+  }
+
+  int precedenceKey() {
+    return this.precedenceKey;
   }
 
   @Override
@@ -46,63 +144,57 @@ final class FullVersion implements SemanticVersion {
 
   @Override
   public Optional<PreRelease> preRelease() {
-    return Optional.ofNullable(this.preRelease);
+    return Optional.ofNullable(preReleaseOrNull());
   }
 
   @Override
   public Optional<Build> build() {
-    return Optional.ofNullable(this.build);
+    return Optional.ofNullable(buildOrNull());
   }
 
   @Override
   public SemanticVersion withMajor(int major) {
-    return new FullVersion(new VersionCore(major, minor(), patch()), this.preRelease, this.build);
+    return withCore(new VersionCore(major, minor(), patch()));
   }
 
   @Override
   public SemanticVersion withMinor(int minor) {
-    return new FullVersion(new VersionCore(major(), minor, patch()), this.preRelease, this.build);
+    return withCore(new VersionCore(major(), minor, patch()));
   }
 
   @Override
   public SemanticVersion withPatch(int patch) {
-    return new FullVersion(new VersionCore(major(), minor(), patch), this.preRelease, this.build);
+    return withCore(new VersionCore(major(), minor(), patch));
   }
 
   @Override
   public SemanticVersion withPreRelease(@Nullable PreRelease preRelease) {
-    if (preRelease == null && this.build == null) {
+    Build build = buildOrNull();
+    if (preRelease == null && build == null) {
       return this.versionCore;
     }
-    return new FullVersion(this.versionCore, preRelease, this.build);
+    return new FullVersion(this.versionCore, preRelease, build);
   }
 
   @Override
   public SemanticVersion withBuild(@Nullable Build build) {
-    if (build == null && this.preRelease == null) {
+    PreRelease preRelease = preReleaseOrNull();
+    if (build == null && preRelease == null) {
       return this.versionCore;
     }
-    return new FullVersion(this.versionCore, this.preRelease, build);
+    return new FullVersion(this.versionCore, preRelease, build);
+  }
+
+  private SemanticVersion withCore(VersionCore versionCore) {
+    if (this.tail != null) {
+      return new FullVersion(versionCore, this.tail, this.buildStart, this.precedenceKey);
+    }
+    return new FullVersion(versionCore, this.preRelease, this.build);
   }
 
   @Override
   public int compareTo(SemanticVersion o) {
-    int cmp = versionCore.compareTo(o.withBuild(null).withPreRelease(null)); // produce a VersionCore
-    if (cmp == 0 && o instanceof VersionCore) {
-      return -1; // this is definitely smaller if version-core is equal but only this is a pre-release
-    }
-    if (cmp != 0) return cmp; // version-core already differs
-    FullVersion fullVersion = (FullVersion) o;
-    if (this.preRelease == null && fullVersion.preRelease != null) {
-      return 1;
-    }
-    if (this.preRelease != null && fullVersion.preRelease == null) {
-      return -1;
-    }
-    if (this.preRelease == null) { // both are null, but build not part of the comparison
-      return 0;
-    }
-    return this.preRelease.compareTo(fullVersion.preRelease);
+    return Precedence.compare(this, o);
   }
 
   @Override
@@ -110,25 +202,55 @@ final class FullVersion implements SemanticVersion {
     if (this == o) return true;
     if (o == null || getClass() != o.getClass()) return false;
     FullVersion that = (FullVersion) o;
-    return this.versionCore.equals(that.versionCore)
-        && Objects.equals(this.preRelease, that.preRelease)
-        && Objects.equals(this.build, that.build);
+    if (!this.versionCore.equals(that.versionCore)) return false;
+    if (this.tail != null && that.tail != null) {
+      // valid identifiers are equal if and only if they are spelled the same
+      return this.tail.equals(that.tail);
+    }
+    return Objects.equals(preReleaseOrNull(), that.preReleaseOrNull())
+        && Objects.equals(buildOrNull(), that.buildOrNull());
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(versionCore, preRelease, build);
+    int hash = this.hash;
+    if (hash == 0) {
+      hash = 31 + this.versionCore.hashCode();
+      PreRelease preRelease = preReleaseOrNull();
+      Build build = buildOrNull();
+      hash = 31 * hash + (preRelease == null ? 0 : preRelease.hashCode());
+      hash = 31 * hash + (build == null ? 0 : build.hashCode());
+      this.hash = hash;
+    }
+    return hash;
   }
 
   @Override
-  public String toString() {
-    String version = this.versionCore.toString();
+  public StringBuilder appendTo(StringBuilder builder) {
+    String string = this.string;
+    if (string != null) {
+      return builder.append(string);
+    }
+    this.versionCore.appendTo(builder);
+    if (this.tail != null) {
+      return builder.append(this.tail);
+    }
     if (this.preRelease != null) {
-      version += "-" + this.preRelease.asString();
+      this.preRelease.appendTo(builder.append('-'));
     }
     if (this.build != null) {
-      version += "+" + this.build.asString();
+      this.build.appendTo(builder.append('+'));
+    }
+    return builder;
+  }
+
+  @Override
+  public String toString() {
+    String string = this.string;
+    if (string == null) {
+      string = appendTo(new StringBuilder(32)).toString();
+      this.string = string;
     }
-    return version;
+    return string;
   }
 }
@@ -8,16 +8,82 @@ package de.eldoria.semvertools;
 
 import org.jetbrains.annotations.ApiStatus;
 
+import java.math.BigInteger;
+
 @ApiStatus.NonExtendable
 public interface Identifier extends Comparable<Identifier> {
 
+  /**
+   * Returns a numerical identifier. Small non-negative numbers share a cached instance.
+   *
+   * @param num the number.
+   * @return the identifier.
+   */
   static Identifier of(int num) {
-    return new NumericalIdentifier(num);
+    return NumericalIdentifier.valueOf(num);
+  }
+
+  /**
+   * Returns a numerical identifier.
+   *
+   * @param num the number.
+   * @return the identifier.
+   */
+  static Identifier of(long num) {
+    return NumericalIdentifier.valueOf(num);
+  }
+
+  /**
+   * Returns a numerical identifier for a number of any size. Numbers that fit into a
+   * {@code long} are stored as such.
+   *
+   * @param num the number.
+   * @return the identifier.
+   */
+  static Identifier of(BigInteger num) {
+    return NumericalIdentifier.valueOf(num);
   }
 
+  /**
+   * Returns an alphanumeric identifier. Well-known tags like {@code alpha}, {@code beta},
+   * {@code rc} or {@code SNAPSHOT} share a cached instance. The set of well-known tags can be
+   * replaced by a comma separated list in the system property
+   * {@code de.eldoria.semvertools.wellKnownTags}.
+   *
+   * @param alphanumeric the identifier string.
+   * @return the identifier.
+   */
   static Identifier of(String alphanumeric) {
-    return new AlphanumericIdentifier(alphanumeric);
+    return WellKnownTags.intern(alphanumeric);
+  }
+
+  /**
+   * Returns an alphanumeric identifier for the chars in the given range. The chars are only
+   * copied into a new string if they do not form a well-known tag.
+   *
+   * @param chars the chars containing the identifier.
+   * @param start the index of the first char of the identifier.
+   * @param end   the index after the last char of the identifier.
+   * @return the identifier.
+   * @see #of(String)
+   */
+  static Identifier of(CharSequence chars, int start, int end) {
+    AlphanumericIdentifier shared = WellKnownTags.lookup(chars, start, end);
+    if (shared != null) {
+      return shared;
+    }
+    return new AlphanumericIdentifier(chars.subSequence(start, end).toString());
   }
 
   String asString();
+
+  /**
+   * Appends the string representation of this identifier to the given builder.
+   *
+   * @param builder the builder to append to.
+   * @return the given builder.
+   */
+  default StringBuilder appendTo(StringBuilder builder) {
+    return builder.append(asString());
+  }
 }
@@ -0,0 +1,25 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools;
+
+import java.util.List;
+
+final class Identifiers {
+
+  private Identifiers() {
+  }
+
+  static StringBuilder appendTo(StringBuilder builder, List<Identifier> identifiers) {
+    for (int i = 0; i < identifiers.size(); i++) {
+      if (i > 0) {
+        builder.append('.');
+      }
+      identifiers.get(i).appendTo(builder);
+    }
+    return builder;
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+
+/**
+ * The registry of the {@link ParseListener} notified by this library.
+ * <p>
+ * At most one listener is registered at a time. While none is registered, the instrumented code
+ * only reads a field and skips all timing, so the overhead is a single well-predicted branch.
+ */
+public final class Instrumentation {
+  private static volatile @Nullable ParseListener listener;
+
+  private Instrumentation() {
+  }
+
+  /**
+   * Registers the listener, replacing the current one.
+   *
+   * @param listener the listener to notify.
+   */
+  public static void register(ParseListener listener) {
+    Instrumentation.listener = Objects.requireNonNull(listener, "listener");
+  }
+
+  /**
+   * Removes the current listener, if there is one.
+   */
+  public static void unregister() {
+    listener = null;
+  }
+
+  /**
+   * Returns the registered listener.
+   *
+   * @return the listener, or {@code null} if none is registered.
+   */
+  @ApiStatus.Internal
+  public static @Nullable ParseListener listener() {
+    return listener;
+  }
+}
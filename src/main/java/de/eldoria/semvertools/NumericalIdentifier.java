@@ -6,26 +6,79 @@
 
 package de.eldoria.semvertools;
 
-import java.util.Objects;
+import org.jetbrains.annotations.Nullable;
 
+import java.math.BigInteger;
+
+/**
+ * A numerical identifier. Numbers are held in a {@code long}, only numbers that don't fit into
+ * a {@code long} are backed by a {@link BigInteger}. Their {@code long} value is saturated, so
+ * comparing two identifiers only needs to look at the big integers if the saturated values tie.
+ */
 final class NumericalIdentifier implements Identifier {
-  private final int number;
+  private static final NumericalIdentifier[] CACHE = new NumericalIdentifier[256];
+  private final long number;
+  private final @Nullable BigInteger large;
+
+  static {
+    for (int i = 0; i < CACHE.length; i++) {
+      CACHE[i] = new NumericalIdentifier(i);
+    }
+  }
 
-  NumericalIdentifier(int number) {
+  NumericalIdentifier(long number) {
+    this(number, null);
+  }
+
+  private NumericalIdentifier(long number, @Nullable BigInteger large) {
     this.number = number;
+    this.large = large;
+  }
+
+  static NumericalIdentifier valueOf(long number) {
+    if (number >= 0 && number < CACHE.length) {
+      return CACHE[(int) number];
+    }
+    return new NumericalIdentifier(number);
+  }
+
+  static NumericalIdentifier valueOf(BigInteger number) {
+    if (number.bitLength() < Long.SIZE) {
+      return valueOf(number.longValue());
+    }
+    return new NumericalIdentifier(number.signum() < 0 ? Long.MIN_VALUE : Long.MAX_VALUE, number);
+  }
+
+  /**
+   * Returns the number of this identifier, saturated at the bounds of {@code long}.
+   *
+   * @return the number.
+   */
+  long number() {
+    return this.number;
+  }
+
+  BigInteger bigValue() {
+    return this.large != null ? this.large : BigInteger.valueOf(this.number);
   }
 
   @Override
   public int compareTo(Identifier o) {
     if (o instanceof NumericalIdentifier) {
-      return Integer.compare(this.number, ((NumericalIdentifier) o).number);
+      NumericalIdentifier that = (NumericalIdentifier) o;
+      int cmp = Long.compare(this.number, that.number);
+      if (cmp != 0 || (this.large == null && that.large == null)) return cmp;
+      return bigValue().compareTo(that.bigValue());
+    }
+    if (o instanceof AlphanumericIdentifier) {
+      return -1; // numerical identifiers always have lower precedence
     }
     return asString().compareTo(o.asString());
   }
 
   @Override
   public String asString() {
-    return String.valueOf(this.number);
+    return this.large != null ? this.large.toString() : String.valueOf(this.number);
   }
 
   @Override
@@ -33,11 +86,16 @@ final class NumericalIdentifier implements Identifier {
     if (this == o) return true;
     if (o == null || getClass() != o.getClass()) return false;
     NumericalIdentifier that = (NumericalIdentifier) o;
-    return number == that.number;
+    return this.number == that.number && (this.large == null ? that.large == null : this.large.equals(that.large));
+  }
+
+  @Override
+  public StringBuilder appendTo(StringBuilder builder) {
+    return this.large != null ? builder.append(this.large) : builder.append(this.number);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(number);
+    return this.large != null ? this.large.hashCode() : 31 + Long.hashCode(this.number);
   }
 }
@@ -0,0 +1,125 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools;
+
+/**
+ * Static helpers to encode a version core ({@code major.minor.patch}) in a single {@code long}.
+ * <p>
+ * Each component takes {@value #COMPONENT_BITS} bits, the sign bit is always zero:
+ * <pre>
+ *   bit  63     62 ........ 42   41 ........ 21   20 ......... 0
+ *       [ 0 ] [     major     ] [     minor     ] [     patch     ]
+ * </pre>
+ * A packed version is therefore never negative, and comparing two packed versions as
+ * {@code long}s, signed or unsigned, yields the same order as comparing the version cores. This
+ * makes packed versions usable as keys of primitive collections or in {@code BIGINT} columns.
+ * <p>
+ * Components can be at most {@value #MAX_COMPONENT}. Pre-releases and build metadata can't be
+ * represented, so only release versions can be stored without losing information.
+ */
+public final class PackedVersion {
+  public static final int COMPONENT_BITS = 21;
+  public static final int MAX_COMPONENT = (1 << COMPONENT_BITS) - 1;
+  private static final int MINOR_SHIFT = COMPONENT_BITS;
+  private static final int MAJOR_SHIFT = 2 * COMPONENT_BITS;
+
+  private PackedVersion() {
+  }
+
+  /**
+   * Returns whether the given components fit into a packed version.
+   *
+   * @param major the major version.
+   * @param minor the minor version.
+   * @param patch the patch version.
+   * @return {@code true} if all components are between 0 and {@link #MAX_COMPONENT}.
+   */
+  public static boolean isPackable(int major, int minor, int patch) {
+    return (major | minor | patch) >= 0 && Math.max(major, Math.max(minor, patch)) <= MAX_COMPONENT;
+  }
+
+  /**
+   * Returns whether the given version is a release whose core fits into a packed version.
+   *
+   * @param version the version to check.
+   * @return {@code true} if {@link #pack(SemanticVersion)} can encode the version losslessly.
+   */
+  public static boolean isPackable(SemanticVersion version) {
+    return !version.preRelease().isPresent() && !version.build().isPresent()
+        && isPackable(version.major(), version.minor(), version.patch());
+  }
+
+  /**
+   * Packs the given components.
+   *
+   * @param major the major version.
+   * @param minor the minor version.
+   * @param patch the patch version.
+   * @return the packed version.
+   * @throws IllegalArgumentException if a component is negative or larger than {@link #MAX_COMPONENT}.
+   */
+  public static long pack(int major, int minor, int patch) {
+    if (!isPackable(major, minor, patch)) {
+      throw new IllegalArgumentException("Version " + major + "." + minor + "." + patch
+          + " can't be packed, components must be between 0 and " + MAX_COMPONENT);
+    }
+    return (long) major << MAJOR_SHIFT | (long) minor << MINOR_SHIFT | patch;
+  }
+
+  /**
+   * Packs the given release version.
+   *
+   * @param version the version to pack.
+   * @return the packed version.
+   * @throws IllegalArgumentException if the version has a pre-release or build metadata, or if a
+   *                                  component is larger than {@link #MAX_COMPONENT}.
+   */
+  public static long pack(SemanticVersion version) {
+    if (version.preRelease().isPresent() || version.build().isPresent()) {
+      throw new IllegalArgumentException("Version " + version + " can't be packed, it is not a release");
+    }
+    return pack(version.major(), version.minor(), version.patch());
+  }
+
+  /**
+   * Unpacks the given packed version.
+   *
+   * @param packed the packed version.
+   * @return the release version.
+   * @throws IllegalArgumentException if the reserved sign bit is set.
+   */
+  public static SemanticVersion unpack(long packed) {
+    if (packed < 0) {
+      throw new IllegalArgumentException("Packed version " + packed + " is invalid, the sign bit is reserved");
+    }
+    return new VersionCore(major(packed), minor(packed), patch(packed));
+  }
+
+  public static int major(long packed) {
+    return (int) (packed >>> MAJOR_SHIFT) & MAX_COMPONENT;
+  }
+
+  public static int minor(long packed) {
+    return (int) (packed >>> MINOR_SHIFT) & MAX_COMPONENT;
+  }
+
+  public static int patch(long packed) {
+    return (int) packed & MAX_COMPONENT;
+  }
+
+  /**
+   * Compares two packed versions by precedence.
+   *
+   * @param left  the first packed version.
+   * @param right the second packed version.
+   * @return a negative number, zero or a positive number if {@code left} precedes, equals or
+   * succeeds {@code right}.
+   */
+  public static int compare(long left, long right) {
+    return Long.compare(left, right);
+  }
+}
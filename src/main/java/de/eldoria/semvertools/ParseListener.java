@@ -0,0 +1,56 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools;
+
+/**
+ * Receives events from parsing and bulk operations, e.g. to collect metrics or to record
+ * profiling events. A listener is registered with {@link Instrumentation#register(ParseListener)}.
+ * <p>
+ * The methods are called on the hot path, from any thread, and must be thread-safe, fast and
+ * must not throw. All methods do nothing by default.
+ *
+ * @see ParseMetrics
+ */
+public interface ParseListener {
+
+  /**
+   * Called after a version string was parsed successfully.
+   *
+   * @param length the length of the version string.
+   * @param nanos  the time it took to parse the string.
+   */
+  default void parsed(int length, long nanos) {
+  }
+
+  /**
+   * Called after a version string could not be parsed.
+   *
+   * @param length the length of the version string.
+   * @param reason why the string is invalid, one of a small set of constant messages.
+   */
+  default void failed(int length, String reason) {
+  }
+
+  /**
+   * Called when a {@link VersionCache} is looked up.
+   *
+   * @param hit whether the version string was cached.
+   */
+  default void cacheAccess(boolean hit) {
+  }
+
+  /**
+   * Called after a bulk operation, like {@link SemanticVersions#parseAll} or
+   * {@link VersionSorter#sort(SemanticVersion[])}, completed.
+   *
+   * @param operation the name of the operation.
+   * @param size      the number of versions.
+   * @param nanos     the time the operation took.
+   */
+  default void bulkOperation(String operation, int size, long nanos) {
+  }
+}
@@ -0,0 +1,183 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link ParseListener} counting events with {@link LongAdder}s, so concurrent updates don't
+ * contend. Register it with {@link Instrumentation#register(ParseListener)} and read the
+ * counters at any time, e.g. to export them to a metrics system.
+ */
+public final class ParseMetrics implements ParseListener {
+  private final LongAdder parses = new LongAdder();
+  private final LongAdder parseNanos = new LongAdder();
+  private final LongAdder inputLength = new LongAdder();
+  private final LongAdder failures = new LongAdder();
+  private final ConcurrentHashMap<String, LongAdder> failureReasons = new ConcurrentHashMap<>();
+  private final LongAdder cacheHits = new LongAdder();
+  private final LongAdder cacheMisses = new LongAdder();
+  private final ConcurrentHashMap<String, BulkCounters> bulkOperations = new ConcurrentHashMap<>();
+
+  @Override
+  public void parsed(int length, long nanos) {
+    this.parses.increment();
+    this.parseNanos.add(nanos);
+    this.inputLength.add(length);
+  }
+
+  @Override
+  public void failed(int length, String reason) {
+    this.failures.increment();
+    this.inputLength.add(length);
+    LongAdder counter = this.failureReasons.get(reason);
+    if (counter == null) {
+      counter = this.failureReasons.computeIfAbsent(reason, r -> new LongAdder());
+    }
+    counter.increment();
+  }
+
+  @Override
+  public void cacheAccess(boolean hit) {
+    (hit ? this.cacheHits : this.cacheMisses).increment();
+  }
+
+  @Override
+  public void bulkOperation(String operation, int size, long nanos) {
+    BulkCounters counters = this.bulkOperations.get(operation);
+    if (counters == null) {
+      counters = this.bulkOperations.computeIfAbsent(operation, o -> new BulkCounters());
+    }
+    counters.operations.increment();
+    counters.versions.add(size);
+    counters.nanos.add(nanos);
+  }
+
+  /**
+   * Returns the number of version strings parsed successfully.
+   *
+   * @return the number of parsed strings.
+   */
+  public long parses() {
+    return this.parses.sum();
+  }
+
+  /**
+   * Returns the time spent parsing valid version strings.
+   *
+   * @return the total time in nanoseconds.
+   */
+  public long parseNanos() {
+    return this.parseNanos.sum();
+  }
+
+  /**
+   * Returns the total length of all parsed version strings, valid or not.
+   *
+   * @return the total number of chars.
+   */
+  public long inputLength() {
+    return this.inputLength.sum();
+  }
+
+  /**
+   * Returns the number of version strings that could not be parsed.
+   *
+   * @return the number of failures.
+   */
+  public long failures() {
+    return this.failures.sum();
+  }
+
+  /**
+   * Returns the number of failures per reason.
+   *
+   * @return a snapshot of the failures, sorted by reason.
+   */
+  public Map<String, Long> failuresByReason() {
+    Map<String, Long> failures = new TreeMap<>();
+    this.failureReasons.forEach((reason, counter) -> failures.put(reason, counter.sum()));
+    return failures;
+  }
+
+  public long cacheHits() {
+    return this.cacheHits.sum();
+  }
+
+  public long cacheMisses() {
+    return this.cacheMisses.sum();
+  }
+
+  /**
+   * Returns the number of bulk operations of all kinds.
+   *
+   * @return the number of bulk operations.
+   */
+  public long bulkOperations() {
+    long sum = 0;
+    for (BulkCounters counters : this.bulkOperations.values()) {
+      sum += counters.operations.sum();
+    }
+    return sum;
+  }
+
+  /**
+   * Returns the number of bulk operations per operation name, e.g. {@code parseAll} or
+   * {@code sort}.
+   *
+   * @return a snapshot of the operations, sorted by name.
+   */
+  public Map<String, Long> bulkOperationsByName() {
+    Map<String, Long> operations = new TreeMap<>();
+    this.bulkOperations.forEach((operation, counters) -> operations.put(operation, counters.operations.sum()));
+    return operations;
+  }
+
+  /**
+   * Returns the number of versions processed by the bulk operations with the given name.
+   *
+   * @param operation the name of the operation.
+   * @return the total number of versions.
+   */
+  public long bulkVersions(String operation) {
+    BulkCounters counters = this.bulkOperations.get(operation);
+    return counters == null ? 0 : counters.versions.sum();
+  }
+
+  /**
+   * Returns the time spent in the bulk operations with the given name.
+   *
+   * @param operation the name of the operation.
+   * @return the total time in nanoseconds.
+   */
+  public long bulkNanos(String operation) {
+    BulkCounters counters = this.bulkOperations.get(operation);
+    return counters == null ? 0 : counters.nanos.sum();
+  }
+
+  /**
+   * Returns the time spent in bulk operations of all kinds.
+   *
+   * @return the total time in nanoseconds.
+   */
+  public long bulkNanos() {
+    long sum = 0;
+    for (BulkCounters counters : this.bulkOperations.values()) {
+      sum += counters.nanos.sum();
+    }
+    return sum;
+  }
+
+  private static final class BulkCounters {
+    private final LongAdder operations = new LongAdder();
+    private final LongAdder versions = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+  }
+}
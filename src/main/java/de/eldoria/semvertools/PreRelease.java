@@ -16,5 +16,16 @@ public interface PreRelease extends Comparable<PreRelease> {
 
   String asString();
 
+  /**
+   * Appends the dot separated identifiers to the given builder, without creating intermediate
+   * strings.
+   *
+   * @param builder the builder to append to.
+   * @return the given builder.
+   */
+  default StringBuilder appendTo(StringBuilder builder) {
+    return Identifiers.appendTo(builder, identifiers());
+  }
+
   List<Identifier> identifiers();
 }
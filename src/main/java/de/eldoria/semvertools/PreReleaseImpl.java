@@ -6,11 +6,14 @@
 
 package de.eldoria.semvertools;
 
+import org.jetbrains.annotations.Nullable;
+
 import java.util.*;
-import java.util.stream.Collectors;
 
 final class PreReleaseImpl implements PreRelease {
   private final List<Identifier> identifiers;
+  private @Nullable String string;
+  private int hash;
 
   PreReleaseImpl(List<Identifier> identifiers) {
     this.identifiers = new ArrayList<>(identifiers);
@@ -18,7 +21,17 @@ final class PreReleaseImpl implements PreRelease {
 
   @Override
   public String asString() {
-    return this.identifiers.stream().map(Identifier::asString).collect(Collectors.joining("."));
+    String string = this.string;
+    if (string == null) {
+      string = appendTo(new StringBuilder()).toString();
+      this.string = string;
+    }
+    return string;
+  }
+
+  @Override
+  public StringBuilder appendTo(StringBuilder builder) {
+    return Identifiers.appendTo(builder, this.identifiers);
   }
 
   @Override
@@ -26,9 +39,15 @@ final class PreReleaseImpl implements PreRelease {
     return Collections.unmodifiableList(this.identifiers);
   }
 
+  List<Identifier> identifierList() {
+    return this.identifiers;
+  }
+
   @Override
   public int compareTo(PreRelease o) {
-    List<Identifier> identifiers = o.identifiers();
+    List<Identifier> identifiers = o instanceof PreReleaseImpl
+        ? ((PreReleaseImpl) o).identifiers
+        : o.identifiers();
     int smaller = Math.min(this.identifiers.size(), identifiers.size());
     for (int i = 0; i < smaller; i++) {
       int cmp = this.identifiers.get(i).compareTo(identifiers.get(i));
@@ -52,6 +71,11 @@ final class PreReleaseImpl implements PreRelease {
 
   @Override
   public int hashCode() {
-    return Objects.hash(this.identifiers);
+    int hash = this.hash;
+    if (hash == 0) {
+      hash = 31 + this.identifiers.hashCode();
+      this.hash = hash;
+    }
+    return hash;
   }
 }
@@ -0,0 +1,149 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Compares versions by precedence without allocating.
+ * <p>
+ * Every version has a precomputed precedence key describing its pre-release:
+ * {@link #RELEASE} for a release, the value of the first identifier if that is numerical, or
+ * the leading chars of the first identifier if that is alphanumeric. Numerical keys are always
+ * smaller than alphanumeric keys, and a smaller key always means a lower precedence. Only if the
+ * version cores and keys of two versions are equal, the pre-release identifiers are compared
+ * one by one.
+ */
+final class Precedence {
+  static final int RELEASE = Integer.MAX_VALUE;
+  static final int UNKNOWN = -1; // no key, the identifiers always need to be compared
+  private static final int MAX_NUMERICAL = (1 << 30) - 1;
+  private static final int ALPHANUMERIC = 1 << 30;
+  private static final int PREFIX_CHARS = 3;
+  private static final int CHAR_BITS = 7;
+  private static final char MAX_CHAR = (1 << CHAR_BITS) - 1;
+
+  private Precedence() {
+  }
+
+  static int compare(SemanticVersion left, SemanticVersion right) {
+    int cmp = compareCore(left, right);
+    if (cmp != 0) return cmp;
+    int leftKey = key(left);
+    int rightKey = key(right);
+    if (leftKey == RELEASE || rightKey == RELEASE) {
+      return Integer.compare(leftKey == RELEASE ? 1 : 0, rightKey == RELEASE ? 1 : 0);
+    }
+    if (leftKey != rightKey && leftKey != UNKNOWN && rightKey != UNKNOWN) {
+      return Integer.compare(leftKey, rightKey);
+    }
+    return comparePreReleases(preRelease(left), preRelease(right));
+  }
+
+  /**
+   * Computes the precedence key of the given pre-release.
+   *
+   * @param preRelease the pre-release, or {@code null} for a release.
+   * @return the precedence key.
+   */
+  static int key(@Nullable PreRelease preRelease) {
+    if (preRelease == null) return RELEASE;
+    List<Identifier> identifiers = preRelease instanceof PreReleaseImpl
+        ? ((PreReleaseImpl) preRelease).identifierList()
+        : preRelease.identifiers();
+    if (identifiers.isEmpty()) return UNKNOWN;
+    Identifier first = identifiers.get(0);
+    if (first instanceof NumericalIdentifier) {
+      return numericalKey(((NumericalIdentifier) first).number());
+    }
+    if (first instanceof AlphanumericIdentifier) {
+      return alphanumericKey(first.asString());
+    }
+    return UNKNOWN;
+  }
+
+  /**
+   * Returns the key of a pre-release starting with the valid identifier in the given range,
+   * without creating the identifier.
+   */
+  static int key(CharSequence chars, int start, int end) {
+    long number = 0;
+    for (int i = start; i < end; i++) {
+      char c = chars.charAt(i);
+      if (c < '0' || c > '9') return ALPHANUMERIC | prefix(chars, start, end);
+      number = number > MAX_NUMERICAL ? number : 10 * number + c - '0';
+    }
+    return numericalKey(number);
+  }
+
+  static int numericalKey(long number) {
+    return (int) Math.max(0, Math.min(number, MAX_NUMERICAL));
+  }
+
+  static int alphanumericKey(String identifier) {
+    return ALPHANUMERIC | prefix(identifier, 0, identifier.length());
+  }
+
+  /**
+   * Packs the leading ASCII chars of the given string, so that the order of the prefixes is
+   * consistent with the order of the strings. Once a char does not fit, all remaining positions
+   * are filled up with the largest possible value, making strings with equal prefixes tie.
+   */
+  private static int prefix(CharSequence chars, int start, int end) {
+    int prefix = 0;
+    boolean saturated = false;
+    for (int i = 0; i < PREFIX_CHARS; i++) {
+      char c = start + i < end ? chars.charAt(start + i) : 0;
+      saturated |= c >= MAX_CHAR;
+      prefix = prefix << CHAR_BITS | (saturated ? MAX_CHAR : c);
+    }
+    return prefix;
+  }
+
+  private static int compareCore(SemanticVersion left, SemanticVersion right) {
+    VersionCore leftCore = core(left);
+    VersionCore rightCore = core(right);
+    if (leftCore != null && rightCore != null) {
+      return leftCore.compareCore(rightCore);
+    }
+    if (left.major() != right.major()) {
+      return Integer.compare(left.major(), right.major());
+    }
+    if (left.minor() != right.minor()) {
+      return Integer.compare(left.minor(), right.minor());
+    }
+    return Integer.compare(left.patch(), right.patch());
+  }
+
+  private static @Nullable VersionCore core(SemanticVersion version) {
+    if (version instanceof VersionCore) return (VersionCore) version;
+    if (version instanceof FullVersion) return ((FullVersion) version).core();
+    return null;
+  }
+
+  private static int key(SemanticVersion version) {
+    if (version instanceof VersionCore) return RELEASE;
+    if (version instanceof FullVersion) return ((FullVersion) version).precedenceKey();
+    if (version instanceof VersionTable.Row) return ((VersionTable.Row) version).precedenceKey();
+    return key(version.preRelease().orElse(null));
+  }
+
+  private static @Nullable PreRelease preRelease(SemanticVersion version) {
+    if (version instanceof VersionCore) return null;
+    if (version instanceof FullVersion) return ((FullVersion) version).preReleaseOrNull();
+    return version.preRelease().orElse(null);
+  }
+
+  private static int comparePreReleases(@Nullable PreRelease left, @Nullable PreRelease right) {
+    if (left == null || right == null) {
+      return Integer.compare(left == null ? 1 : 0, right == null ? 1 : 0);
+    }
+    return left.compareTo(right);
+  }
+}
@@ -6,11 +6,12 @@
 
 package de.eldoria.semvertools;
 
-import de.eldoria.semvertools.parser.SemVerLexer;
-import de.eldoria.semvertools.parser.SemVerParser;
+import de.eldoria.semvertools.parser.SinglePassSemVerParser;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Optional;
 
 @ApiStatus.NonExtendable
@@ -20,9 +21,119 @@ public interface SemanticVersion extends Comparable<SemanticVersion> {
     return new VersionCore(major, minor, patch);
   }
 
+  /**
+   * Creates a release version from its packed representation.
+   *
+   * @param packed the packed version core, e.g. from {@link #packedCore()}.
+   * @return the version.
+   * @throws IllegalArgumentException if the reserved sign bit is set.
+   * @see PackedVersion
+   */
+  static SemanticVersion of(long packed) {
+    return PackedVersion.unpack(packed);
+  }
+
+  /**
+   * Creates a version from all of its parts at once, without intermediate versions.
+   *
+   * @param major      the major version.
+   * @param minor      the minor version.
+   * @param patch      the patch version.
+   * @param preRelease the pre-release, or {@code null} if this is a release.
+   * @param build      the build metadata, or {@code null} if there is none.
+   * @return the version.
+   */
+  static SemanticVersion of(
+      int major,
+      int minor,
+      int patch,
+      @Nullable PreRelease preRelease,
+      @Nullable Build build
+  ) {
+    VersionCore core = new VersionCore(major, minor, patch);
+    if (preRelease == null && build == null) {
+      return core;
+    }
+    return new FullVersion(core, preRelease, build);
+  }
+
   static SemanticVersion parse(String version) {
-    SemVerLexer lexer = new SemVerLexer();
-    return new SemVerParser(version, lexer.lex(version)).parse();
+    return new SinglePassSemVerParser(version).parse();
+  }
+
+  /**
+   * Parses the given version string like {@link #parse(String)}, but keeps the pre-release and
+   * build metadata as a string. Their identifiers are only parsed once they are needed, e.g. by
+   * {@link #preRelease()}, {@link #build()} or a comparison with a version of the same core.
+   * The whole string is still validated up front.
+   * <p>
+   * This is cheaper if most versions are only compared by their cores, or only their major,
+   * minor and patch versions are read. The versions are equal to parsed ones.
+   *
+   * @param version the version string.
+   * @return the parsed version.
+   */
+  static SemanticVersion parseLazy(CharSequence version) {
+    return FullVersion.parseLazy(version);
+  }
+
+  /**
+   * Parses the given version string like {@link #parse(String)}, but returns an empty optional
+   * instead of throwing if it is invalid. No exception is created for invalid strings.
+   *
+   * @param version the version string.
+   * @return the parsed version, or an empty optional if the string is invalid.
+   */
+  static Optional<SemanticVersion> tryParse(CharSequence version) {
+    return Optional.ofNullable(new SinglePassSemVerParser(version).tryParse());
+  }
+
+  /**
+   * Checks whether the given string is a valid version string, without creating the version.
+   * This method doesn't allocate.
+   *
+   * @param version the version string.
+   * @return {@code true} if {@link #parse(String)} would accept the string.
+   */
+  static boolean isValid(CharSequence version) {
+    return SinglePassSemVerParser.isValid(version, 0, version.length());
+  }
+
+  /**
+   * Parses the version string found in the given range of a char sequence, without copying it.
+   *
+   * @param version the char sequence containing the version string.
+   * @param offset  the index of the first char of the version string.
+   * @param length  the number of chars of the version string.
+   * @return the parsed version.
+   */
+  static SemanticVersion parse(CharSequence version, int offset, int length) {
+    return new SinglePassSemVerParser(version, offset, length).parse();
+  }
+
+  /**
+   * Parses the ASCII encoded version string found in the given range of a byte array,
+   * without decoding it into a string first.
+   *
+   * @param ascii  the bytes containing the version string.
+   * @param offset the index of the first byte of the version string.
+   * @param length the number of bytes of the version string.
+   * @return the parsed version.
+   */
+  static SemanticVersion parse(byte[] ascii, int offset, int length) {
+    return new SinglePassSemVerParser(ascii, offset, length).parse();
+  }
+
+  /**
+   * Parses the ASCII encoded version string between the position and the limit of the buffer,
+   * without decoding it into a string first. Heap and direct buffers are supported, the
+   * position of the buffer is left unchanged.
+   *
+   * @param ascii the buffer containing the version string.
+   * @return the parsed version.
+   */
+  static SemanticVersion parse(ByteBuffer ascii) {
+    return new SinglePassSemVerParser(ascii).parse();
   }
 
   int major();
@@ -35,6 +146,18 @@ public interface SemanticVersion extends Comparable<SemanticVersion> {
 
   Optional<Build> build();
 
+  /**
+   * Returns the version core of this version packed into a {@code long}. Pre-release and build
+   * metadata are not part of the result.
+   *
+   * @return the packed version core.
+   * @throws IllegalArgumentException if a component is too large to be packed.
+   * @see PackedVersion
+   */
+  default long packedCore() {
+    return PackedVersion.pack(major(), minor(), patch());
+  }
+
   SemanticVersion withMajor(int major);
 
   default SemanticVersion increaseMajor() {
@@ -57,6 +180,33 @@ public interface SemanticVersion extends Comparable<SemanticVersion> {
 
   SemanticVersion withBuild(@Nullable Build build);
 
+  /**
+   * Appends the canonical string representation of this version to the given builder, without
+   * creating intermediate strings.
+   *
+   * @param builder the builder to append to.
+   * @return the given builder.
+   */
+  StringBuilder appendTo(StringBuilder builder);
+
+  /**
+   * Appends the canonical string representation of this version to the given appendable, e.g. a
+   * {@link java.io.Writer}. The version is rendered into a reusable per-thread buffer first, no
+   * string is created or memoized.
+   *
+   * @param appendable the appendable to append to.
+   * @param <A>        the type of the appendable.
+   * @return the given appendable.
+   * @throws IOException if the appendable fails.
+   */
+  default <A extends Appendable> A appendTo(A appendable) throws IOException {
+    if (appendable instanceof StringBuilder) {
+      appendTo((StringBuilder) appendable);
+      return appendable;
+    }
+    return AppendBuffer.append(this, appendable);
+  }
+
   /**
    * Returns whether this version precedes ("is older than") the other version.
    * This is equivalent to checking {@code this.compareTo(other) < 0}.
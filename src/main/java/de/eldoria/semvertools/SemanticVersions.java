@@ -0,0 +1,164 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools;
+
+import de.eldoria.semvertools.parser.SinglePassSemVerParser;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Static helpers working on many versions at once.
+ */
+public final class SemanticVersions {
+  private static final int MIN_CHUNK = 1024;
+
+  private SemanticVersions() {
+  }
+
+  /**
+   * Parses all given version strings in parallel, using the common fork-join pool.
+   *
+   * @param versions the version strings.
+   * @return the parsed versions and the failures.
+   * @see #parseAll(List, ForkJoinPool)
+   */
+  public static BulkParseResult parseAll(List<? extends CharSequence> versions) {
+    return parseAll(versions, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Parses all given version strings in parallel, using the given fork-join pool.
+   * <p>
+   * Invalid version strings don't throw. Their index is left {@code null} in
+   * {@link BulkParseResult#versions()}, and the index together with the reason is recorded in
+   * the result instead. Invalid strings are detected without creating an exception each.
+   *
+   * @param versions the version strings, ideally a {@link RandomAccess} list.
+   * @param pool     the pool to parse the strings in.
+   * @return the parsed versions and the failures.
+   */
+  public static BulkParseResult parseAll(List<? extends CharSequence> versions, ForkJoinPool pool) {
+    Objects.requireNonNull(pool, "pool");
+    ParseListener listener = Instrumentation.listener();
+    long start = listener == null ? 0 : System.nanoTime();
+    List<? extends CharSequence> input = versions instanceof RandomAccess
+        ? versions
+        : new ArrayList<>(versions);
+    SemanticVersion[] results = new SemanticVersion[input.size()];
+    int chunk = Math.max(MIN_CHUNK, input.size() / (pool.getParallelism() * 8));
+    Failures failures = pool.invoke(new ParseTask(input, results, 0, input.size(), chunk));
+    if (listener != null) {
+      listener.bulkOperation("parseAll", results.length, System.nanoTime() - start);
+    }
+    return failures.toResult(results);
+  }
+
+  private static final class ParseTask extends RecursiveTask<Failures> {
+    private static final long serialVersionUID = 1L;
+    private final List<? extends CharSequence> input;
+    private final SemanticVersion[] results;
+    private final int from;
+    private final int to;
+    private final int chunk;
+
+    ParseTask(List<? extends CharSequence> input, SemanticVersion[] results, int from, int to, int chunk) {
+      this.input = input;
+      this.results = results;
+      this.from = from;
+      this.to = to;
+      this.chunk = chunk;
+    }
+
+    @Override
+    protected Failures compute() {
+      if (this.to - this.from > this.chunk) {
+        int mid = (this.from + this.to) >>> 1;
+        ParseTask left = new ParseTask(this.input, this.results, this.from, mid, this.chunk);
+        left.fork();
+        Failures right = new ParseTask(this.input, this.results, mid, this.to, this.chunk).compute();
+        return left.join().append(right);
+      }
+      Failures failures = new Failures();
+      for (int i = this.from; i < this.to; i++) {
+        CharSequence version = this.input.get(i);
+        if (version == null) {
+          failures.add(i, BulkParseResult.NULL_INPUT, -1, '\0');
+          continue;
+        }
+        SinglePassSemVerParser parser = new SinglePassSemVerParser(version);
+        SemanticVersion result = parser.tryParse();
+        if (result == null) {
+          failures.add(i, (byte) parser.failureCode(), parser.failurePosition(), parser.failureCharacter());
+        } else {
+          this.results[i] = result;
+        }
+      }
+      return failures;
+    }
+  }
+
+  // failures of a contiguous slice, in ascending order of their indexes, followed by the ones of
+  // the next slices, so merging doesn't copy
+  private static final class Failures {
+    private int[] indexes = new int[0];
+    private byte[] codes = new byte[0];
+    private int[] positions = new int[0];
+    private char[] characters = new char[0];
+    private int size;
+    private @Nullable Failures next;
+    private Failures last = this;
+    private int total;
+
+    void add(int index, byte code, int position, char character) {
+      if (this.size == this.indexes.length) {
+        int capacity = Math.max(8, this.size * 2);
+        this.indexes = Arrays.copyOf(this.indexes, capacity);
+        this.codes = Arrays.copyOf(this.codes, capacity);
+        this.positions = Arrays.copyOf(this.positions, capacity);
+        this.characters = Arrays.copyOf(this.characters, capacity);
+      }
+      this.indexes[this.size] = index;
+      this.codes[this.size] = code;
+      this.positions[this.size] = position;
+      this.characters[this.size] = character;
+      this.size++;
+      this.total++;
+    }
+
+    Failures append(Failures next) {
+      if (next.total == 0) return this;
+      if (this.total == 0) return next;
+      this.last.next = next;
+      this.last = next.last;
+      this.total += next.total;
+      return this;
+    }
+
+    BulkParseResult toResult(@Nullable SemanticVersion[] versions) {
+      int[] indexes = new int[this.total];
+      byte[] codes = new byte[this.total];
+      int[] positions = new int[this.total];
+      char[] characters = new char[this.total];
+      int offset = 0;
+      for (Failures slice = this; slice != null; slice = slice.next) {
+        System.arraycopy(slice.indexes, 0, indexes, offset, slice.size);
+        System.arraycopy(slice.codes, 0, codes, offset, slice.size);
+        System.arraycopy(slice.positions, 0, positions, offset, slice.size);
+        System.arraycopy(slice.characters, 0, characters, offset, slice.size);
+        offset += slice.size;
+      }
+      return new BulkParseResult(versions, indexes, codes, positions, characters);
+    }
+  }
+}
@@ -0,0 +1,252 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools;
+
+import de.eldoria.semvertools.parser.VersionParseException;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded, thread-safe cache in front of {@link SemanticVersion#parse(String)}.
+ * <p>
+ * A version string that was parsed before is resolved with a single hash lookup. Once the cache
+ * holds more than its maximum size, entries are evicted according to its {@link Eviction}
+ * policy. Under concurrent inserts, the size may exceed the maximum size for a short time.
+ * <p>
+ * Optionally, version strings that could not be parsed are cached as well. Looking them up again
+ * throws a new {@link VersionParseException} with the cached message instead of parsing them
+ * again, so every caller gets its own stack trace.
+ */
+public final class VersionCache {
+  private final ConcurrentHashMap<String, Entry> entries;
+  private final Queue<Entry> order = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger size = new AtomicInteger();
+  private final int maximumSize;
+  private final Eviction eviction;
+  private final boolean cacheFailures;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  private VersionCache(int maximumSize, Eviction eviction, boolean cacheFailures) {
+    this.entries = new ConcurrentHashMap<>(Math.min(maximumSize, 1 << 16));
+    this.maximumSize = maximumSize;
+    this.eviction = eviction;
+    this.cacheFailures = cacheFailures;
+  }
+
+  /**
+   * Creates a cache holding up to {@code maximumSize} versions, evicting with
+   * {@link Eviction#SECOND_CHANCE} and caching parse failures.
+   *
+   * @param maximumSize the maximum number of cached version strings.
+   * @return the new cache.
+   */
+  public static VersionCache create(int maximumSize) {
+    return builder().maximumSize(maximumSize).build();
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Returns the version for the given string, parsing it only if it is not cached yet.
+   *
+   * @param version the version string.
+   * @return the parsed version.
+   * @throws VersionParseException if the version string is invalid.
+   */
+  public SemanticVersion parse(String version) {
+    Entry entry = this.entries.get(version);
+    ParseListener listener = Instrumentation.listener();
+    if (listener != null) {
+      listener.cacheAccess(entry != null);
+    }
+    if (entry != null) {
+      this.hits.increment();
+      if (this.eviction == Eviction.SECOND_CHANCE && !entry.referenced) {
+        entry.referenced = true;
+      }
+      return entry.resolve();
+    }
+    this.misses.increment();
+    SemanticVersion parsed;
+    try {
+      parsed = SemanticVersion.parse(version);
+    } catch (VersionParseException e) {
+      if (this.cacheFailures) {
+        insert(new Entry(version, null, Objects.toString(e.getMessage())));
+      }
+      throw e;
+    }
+    return insert(new Entry(version, parsed, null)).resolve();
+  }
+
+  private Entry insert(Entry entry) {
+    Entry present = this.entries.putIfAbsent(entry.key, entry);
+    if (present != null) {
+      return present; // another thread was faster
+    }
+    this.order.offer(entry);
+    if (this.size.incrementAndGet() > this.maximumSize) {
+      evict();
+    }
+    return entry;
+  }
+
+  private void evict() {
+    while (this.size.get() > this.maximumSize) {
+      Entry candidate = this.order.poll();
+      if (candidate == null) return;
+      if (candidate.referenced) {
+        candidate.referenced = false;
+        this.order.offer(candidate);
+        continue;
+      }
+      if (this.entries.remove(candidate.key, candidate)) {
+        this.size.decrementAndGet();
+        this.evictions.increment();
+      }
+    }
+  }
+
+  /**
+   * Returns the number of cached version strings, including cached failures.
+   *
+   * @return the number of cached entries.
+   */
+  public int size() {
+    return this.size.get();
+  }
+
+  /**
+   * Removes all entries. The counters are not reset.
+   */
+  public void clear() {
+    for (Entry entry; (entry = this.order.poll()) != null; ) {
+      if (this.entries.remove(entry.key, entry)) {
+        this.size.decrementAndGet();
+      }
+    }
+  }
+
+  public Stats stats() {
+    return new Stats(this.hits.sum(), this.misses.sum(), this.evictions.sum());
+  }
+
+  /**
+   * The strategy used to select the entry to remove once the cache is full.
+   */
+  public enum Eviction {
+    /**
+     * Removes the entry that was inserted first.
+     */
+    FIFO,
+    /**
+     * Removes the entry that was inserted first, unless it was looked up since it was last
+     * considered for eviction. Such an entry gets a second chance and is moved to the back of
+     * the queue. This approximates LRU without any bookkeeping on hits beyond setting a flag.
+     */
+    SECOND_CHANCE
+  }
+
+  public static final class Builder {
+    private int maximumSize = 4096;
+    private Eviction eviction = Eviction.SECOND_CHANCE;
+    private boolean cacheFailures = true;
+
+    private Builder() {
+    }
+
+    public Builder maximumSize(int maximumSize) {
+      if (maximumSize <= 0) {
+        throw new IllegalArgumentException("maximumSize must be positive, was " + maximumSize);
+      }
+      this.maximumSize = maximumSize;
+      return this;
+    }
+
+    public Builder eviction(Eviction eviction) {
+      this.eviction = eviction;
+      return this;
+    }
+
+    public Builder cacheFailures(boolean cacheFailures) {
+      this.cacheFailures = cacheFailures;
+      return this;
+    }
+
+    public VersionCache build() {
+      return new VersionCache(this.maximumSize, this.eviction, this.cacheFailures);
+    }
+  }
+
+  /**
+   * A snapshot of the counters of a cache.
+   */
+  public static final class Stats {
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+
+    Stats(long hits, long misses, long evictions) {
+      this.hits = hits;
+      this.misses = misses;
+      this.evictions = evictions;
+    }
+
+    public long hits() {
+      return this.hits;
+    }
+
+    public long misses() {
+      return this.misses;
+    }
+
+    public long evictions() {
+      return this.evictions;
+    }
+
+    public double hitRate() {
+      long requests = this.hits + this.misses;
+      return requests == 0 ? 1.0 : (double) this.hits / requests;
+    }
+
+    @Override
+    public String toString() {
+      return "Stats{hits=" + this.hits + ", misses=" + this.misses + ", evictions=" + this.evictions + '}';
+    }
+  }
+
+  private static final class Entry {
+    private final String key;
+    private final @Nullable SemanticVersion version;
+    private final @Nullable String failure;
+    private volatile boolean referenced;
+
+    Entry(String key, @Nullable SemanticVersion version, @Nullable String failure) {
+      this.key = key;
+      this.version = version;
+      this.failure = failure;
+    }
+
+    SemanticVersion resolve() {
+      if (this.version != null) {
+        return this.version;
+      }
+      // a new exception per lookup, a shared one would mix up stack traces and suppressed exceptions
+      throw new VersionParseException(Objects.requireNonNull(this.failure));
+    }
+  }
+}
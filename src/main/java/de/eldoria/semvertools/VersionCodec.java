@@ -0,0 +1,488 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes versions into a compact binary form, and decodes them without parsing any text.
+ * <p>
+ * All numbers are written as unsigned LEB128 varints, so small numbers take a single byte. A
+ * version is written as its major, minor and patch version, followed by a header
+ * {@code identifiers << 1 | hasBuild} for the pre-release, its identifiers, and if present the
+ * number of build identifiers and the identifiers. Every identifier starts with a varint whose
+ * lowest two bits select its kind:
+ * <ul>
+ *   <li>{@code 0}: a number below 2<sup>61</sup>, stored in the remaining bits</li>
+ *   <li>{@code 1}: an alphanumeric identifier, the remaining bits hold the length of its ASCII
+ *   bytes that follow</li>
+ *   <li>{@code 2}: any other number, the remaining bits hold the length of its decimal digits
+ *   that follow</li>
+ *   <li>{@code 3}: a common tag like {@code rc} or {@code SNAPSHOT}, the remaining bits hold
+ *   its index in a fixed table</li>
+ * </ul>
+ * A release like {@code 1.2.3} takes 4 bytes, {@code 1.2.3-rc.1} takes 6 bytes. The format does
+ * not depend on the configured {@link Identifier#of(String) well-known tags}, and the table of
+ * common tags is only ever appended to, so encoded versions stay readable.
+ */
+public final class VersionCodec {
+  private static final int NUMBER = 0;
+  private static final int ALPHANUMERIC = 1;
+  private static final int DIGITS = 2;
+  private static final int TAG = 3;
+  private static final long MAX_INLINE_NUMBER = (1L << 61) - 1;
+  // append only, the index of a tag is part of the format
+  private static final String[] TAGS = {
+      "alpha", "beta", "rc", "RC", "M", "SNAPSHOT", "dev", "pre", "build", "final", "GA", "release"
+  };
+  private static final Identifier[] TAG_IDENTIFIERS = new Identifier[TAGS.length];
+  private static final Map<String, Integer> TAG_INDEXES = new HashMap<>();
+
+  static {
+    for (int i = 0; i < TAGS.length; i++) {
+      TAG_IDENTIFIERS[i] = Identifier.of(TAGS[i]);
+      TAG_INDEXES.put(TAGS[i], i);
+    }
+  }
+
+  private VersionCodec() {
+  }
+
+  /**
+   * Returns the number of bytes the encoded version takes.
+   *
+   * @param version the version.
+   * @return the size of the encoded version.
+   */
+  public static int encodedSize(SemanticVersion version) {
+    return varintSize(version.major()) + varintSize(version.minor()) + varintSize(version.patch()) + tailSize(version);
+  }
+
+  /**
+   * Encodes the version into a new array of exactly the encoded size.
+   *
+   * @param version the version.
+   * @return the encoded version.
+   * @throws IllegalArgumentException if a core component is negative, or if an identifier
+   *                                  contains a non-ASCII char.
+   */
+  public static byte[] encode(SemanticVersion version) {
+    byte[] bytes = new byte[encodedSize(version)];
+    encode(version, ByteBuffer.wrap(bytes));
+    return bytes;
+  }
+
+  /**
+   * Writes the encoded version at the position of the buffer, advancing it.
+   *
+   * @param version the version.
+   * @param buffer  the buffer to write to.
+   * @throws BufferOverflowException if the buffer has not enough space left.
+   * @throws IllegalArgumentException if a core component is negative, or if an identifier
+   *                                  contains a non-ASCII char.
+   */
+  public static void encode(SemanticVersion version, ByteBuffer buffer) {
+    if ((version.major() | version.minor() | version.patch()) < 0) {
+      // the varints are unsigned, decode would reject the sign-extended value
+      throw new IllegalArgumentException("Version " + version.major() + "." + version.minor() + "."
+          + version.patch() + " can't be encoded, components must not be negative");
+    }
+    writeVarint(buffer, version.major());
+    writeVarint(buffer, version.minor());
+    writeVarint(buffer, version.patch());
+    writeTail(version, buffer);
+  }
+
+  /**
+   * Decodes a version.
+   *
+   * @param bytes the encoded version.
+   * @return the version.
+   * @throws IllegalArgumentException if the bytes are not an encoded version.
+   */
+  public static SemanticVersion decode(byte[] bytes) {
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    SemanticVersion version = decode(buffer);
+    if (buffer.hasRemaining()) {
+      throw new IllegalArgumentException(buffer.remaining() + " trailing bytes after encoded version");
+    }
+    return version;
+  }
+
+  /**
+   * Reads an encoded version from the position of the buffer, advancing it.
+   *
+   * @param buffer the buffer to read from.
+   * @return the version.
+   * @throws IllegalArgumentException if the buffer doesn't contain an encoded version.
+   */
+  public static SemanticVersion decode(ByteBuffer buffer) {
+    try {
+      int major = readInt(buffer);
+      int minor = readInt(buffer);
+      int patch = readInt(buffer);
+      return readTail(major, minor, patch, buffer);
+    } catch (BufferUnderflowException e) {
+      throw new IllegalArgumentException("Truncated encoded version", e);
+    }
+  }
+
+  /**
+   * Encodes all versions into a new array, prefixed by their number.
+   *
+   * @param versions the versions.
+   * @return the encoded versions.
+   */
+  public static byte[] encodeAll(SemanticVersion[] versions) {
+    int size = varintSize(versions.length);
+    for (SemanticVersion version : versions) {
+      size += encodedSize(version);
+    }
+    byte[] bytes = new byte[size];
+    encodeAll(versions, ByteBuffer.wrap(bytes));
+    return bytes;
+  }
+
+  /**
+   * Writes all versions, prefixed by their number, at the position of the buffer.
+   *
+   * @param versions the versions.
+   * @param buffer   the buffer to write to.
+   * @throws BufferOverflowException if the buffer has not enough space left.
+   * @throws IllegalArgumentException if a version can't be {@link #encode encoded}.
+   */
+  public static void encodeAll(SemanticVersion[] versions, ByteBuffer buffer) {
+    writeVarint(buffer, versions.length);
+    for (SemanticVersion version : versions) {
+      encode(version, buffer);
+    }
+  }
+
+  /**
+   * Decodes versions encoded by {@link #encodeAll(SemanticVersion[])}.
+   *
+   * @param bytes the encoded versions.
+   * @return the versions.
+   * @throws IllegalArgumentException if the bytes are not encoded versions.
+   */
+  public static SemanticVersion[] decodeAll(byte[] bytes) {
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    SemanticVersion[] versions = decodeAll(buffer);
+    if (buffer.hasRemaining()) {
+      throw new IllegalArgumentException(buffer.remaining() + " trailing bytes after encoded versions");
+    }
+    return versions;
+  }
+
+  /**
+   * Reads versions written by {@link #encodeAll(SemanticVersion[], ByteBuffer)} from the position
+   * of the buffer.
+   *
+   * @param buffer the buffer to read from.
+   * @return the versions.
+   * @throws IllegalArgumentException if the buffer doesn't contain encoded versions.
+   */
+  public static SemanticVersion[] decodeAll(ByteBuffer buffer) {
+    int count;
+    try {
+      count = readInt(buffer);
+    } catch (BufferUnderflowException e) {
+      throw new IllegalArgumentException("Truncated encoded versions", e);
+    }
+    // every version takes at least 4 bytes, which limits the array for corrupt counts
+    if (count > buffer.remaining() / 4) {
+      throw new IllegalArgumentException("Encoded count " + count + " exceeds remaining bytes");
+    }
+    SemanticVersion[] versions = new SemanticVersion[count];
+    for (int i = 0; i < count; i++) {
+      versions[i] = decode(buffer);
+    }
+    return versions;
+  }
+
+  // the tail is everything after the core: the header, the pre-release and the build metadata
+
+  static int tailSize(SemanticVersion version) {
+    List<Identifier> preRelease = preRelease(version);
+    List<Identifier> build = build(version);
+    int size = varintSize((long) preRelease.size() << 1 | (build.isEmpty() ? 0 : 1));
+    size += identifiersSize(preRelease);
+    if (!build.isEmpty()) {
+      size += varintSize(build.size()) + identifiersSize(build);
+    }
+    return size;
+  }
+
+  static void writeTail(SemanticVersion version, ByteBuffer buffer) {
+    List<Identifier> preRelease = preRelease(version);
+    List<Identifier> build = build(version);
+    writeVarint(buffer, (long) preRelease.size() << 1 | (build.isEmpty() ? 0 : 1));
+    writeIdentifiers(buffer, preRelease);
+    if (!build.isEmpty()) {
+      writeVarint(buffer, build.size());
+      writeIdentifiers(buffer, build);
+    }
+  }
+
+  static SemanticVersion readTail(int major, int minor, int patch, ByteBuffer buffer) {
+    int header = readInt(buffer);
+    if (header == 0) {
+      return SemanticVersion.of(major, minor, patch);
+    }
+    int preReleaseSize = header >>> 1;
+    @Nullable PreRelease preRelease = preReleaseSize == 0 ? null : PreRelease.of(readIdentifiers(buffer, preReleaseSize));
+    @Nullable Build build = (header & 1) == 0 ? null : Build.of(readIdentifiers(buffer, readInt(buffer)));
+    return SemanticVersion.of(major, minor, patch, preRelease, build);
+  }
+
+  static void skipTail(ByteBuffer buffer) {
+    int header = readInt(buffer);
+    skipIdentifiers(buffer, header >>> 1);
+    if ((header & 1) != 0) {
+      skipIdentifiers(buffer, readInt(buffer));
+    }
+  }
+
+  private static void skipIdentifiers(ByteBuffer buffer, int size) {
+    for (int i = 0; i < size; i++) {
+      long header = readVarint(buffer);
+      buffer.position(buffer.position() + payloadLength(header));
+    }
+  }
+
+  /**
+   * Compares the pre-releases of two encoded tails by precedence, reading the buffers at
+   * absolute indexes without decoding any identifier into an object, except numbers that are
+   * too large to be inlined.
+   */
+  static int comparePreReleases(ByteBuffer left, int leftIndex, ByteBuffer right, int rightIndex) {
+    int leftSize = (int) (getVarint(left, leftIndex) >>> 1);
+    int rightSize = (int) (getVarint(right, rightIndex) >>> 1);
+    if (leftSize == 0 || rightSize == 0) {
+      return Integer.compare(leftSize == 0 ? 1 : 0, rightSize == 0 ? 1 : 0);
+    }
+    leftIndex += varintLength(left, leftIndex);
+    rightIndex += varintLength(right, rightIndex);
+    int size = Math.min(leftSize, rightSize);
+    for (int i = 0; i < size; i++) {
+      long leftHeader = getVarint(left, leftIndex);
+      long rightHeader = getVarint(right, rightIndex);
+      leftIndex += varintLength(left, leftIndex);
+      rightIndex += varintLength(right, rightIndex);
+      int cmp = compareIdentifiers(left, leftIndex, leftHeader, right, rightIndex, rightHeader);
+      if (cmp != 0) return cmp;
+      leftIndex += payloadLength(leftHeader);
+      rightIndex += payloadLength(rightHeader);
+    }
+    return Integer.compare(leftSize, rightSize);
+  }
+
+  private static int compareIdentifiers(ByteBuffer left, int leftIndex, long leftHeader,
+                                        ByteBuffer right, int rightIndex, long rightHeader) {
+    int leftKind = (int) leftHeader & 3;
+    int rightKind = (int) rightHeader & 3;
+    boolean leftNumerical = leftKind == NUMBER || leftKind == DIGITS;
+    boolean rightNumerical = rightKind == NUMBER || rightKind == DIGITS;
+    if (leftNumerical != rightNumerical) {
+      return leftNumerical ? -1 : 1; // numerical identifiers always have lower precedence
+    }
+    if (leftKind == NUMBER && rightKind == NUMBER) {
+      return Long.compare(leftHeader >>> 2, rightHeader >>> 2);
+    }
+    if (leftNumerical) {
+      return bigValue(left, leftIndex, leftHeader).compareTo(bigValue(right, rightIndex, rightHeader));
+    }
+    if (leftHeader == rightHeader && leftKind == TAG) {
+      return 0;
+    }
+    int leftLength = charCount(leftHeader);
+    int rightLength = charCount(rightHeader);
+    int length = Math.min(leftLength, rightLength);
+    for (int i = 0; i < length; i++) {
+      int cmp = charAt(left, leftIndex, leftHeader, i) - charAt(right, rightIndex, rightHeader, i);
+      if (cmp != 0) return cmp;
+    }
+    return leftLength - rightLength;
+  }
+
+  private static BigInteger bigValue(ByteBuffer buffer, int index, long header) {
+    if (((int) header & 3) == NUMBER) {
+      return BigInteger.valueOf(header >>> 2);
+    }
+    char[] digits = new char[(int) (header >>> 2)];
+    for (int i = 0; i < digits.length; i++) {
+      digits[i] = (char) buffer.get(index + i);
+    }
+    return new BigInteger(new String(digits));
+  }
+
+  private static int charCount(long header) {
+    return ((int) header & 3) == TAG ? TAGS[(int) (header >>> 2)].length() : (int) (header >>> 2);
+  }
+
+  private static char charAt(ByteBuffer buffer, int index, long header, int i) {
+    return ((int) header & 3) == TAG ? TAGS[(int) (header >>> 2)].charAt(i) : (char) buffer.get(index + i);
+  }
+
+  private static int payloadLength(long header) {
+    int kind = (int) header & 3;
+    return kind == ALPHANUMERIC || kind == DIGITS ? (int) (header >>> 2) : 0;
+  }
+
+  private static List<Identifier> preRelease(SemanticVersion version) {
+    if (version instanceof VersionCore) return Collections.emptyList();
+    return version.preRelease().map(PreRelease::identifiers).orElse(Collections.emptyList());
+  }
+
+  private static List<Identifier> build(SemanticVersion version) {
+    if (version instanceof VersionCore) return Collections.emptyList();
+    return version.build().map(Build::identifiers).orElse(Collections.emptyList());
+  }
+
+  private static int identifiersSize(List<Identifier> identifiers) {
+    int size = 0;
+    for (int i = 0; i < identifiers.size(); i++) {
+      Identifier identifier = identifiers.get(i);
+      long number = inlineNumber(identifier);
+      if (number >= 0) {
+        size += varintSize(number << 2);
+        continue;
+      }
+      String string = identifier.asString();
+      Integer tag = identifier instanceof AlphanumericIdentifier ? TAG_INDEXES.get(string) : null;
+      size += tag != null
+          ? varintSize((long) tag << 2)
+          : varintSize((long) string.length() << 2) + string.length();
+    }
+    return size;
+  }
+
+  private static void writeIdentifiers(ByteBuffer buffer, List<Identifier> identifiers) {
+    for (int i = 0; i < identifiers.size(); i++) {
+      Identifier identifier = identifiers.get(i);
+      long number = inlineNumber(identifier);
+      if (number >= 0) {
+        writeVarint(buffer, number << 2 | NUMBER);
+        continue;
+      }
+      String string = identifier.asString();
+      boolean alphanumeric = identifier instanceof AlphanumericIdentifier;
+      Integer tag = alphanumeric ? TAG_INDEXES.get(string) : null;
+      if (tag != null) {
+        writeVarint(buffer, (long) tag << 2 | TAG);
+        continue;
+      }
+      writeVarint(buffer, (long) string.length() << 2 | (alphanumeric ? ALPHANUMERIC : DIGITS));
+      for (int c = 0; c < string.length(); c++) {
+        char ch = string.charAt(c);
+        if (ch > 0x7f) {
+          throw new IllegalArgumentException("Identifier '" + string + "' contains a non-ASCII char");
+        }
+        buffer.put((byte) ch);
+      }
+    }
+  }
+
+  private static List<Identifier> readIdentifiers(ByteBuffer buffer, int size) {
+    if (size > buffer.remaining()) {
+      throw new IllegalArgumentException("Encoded identifier count " + size + " exceeds remaining bytes");
+    }
+    List<Identifier> identifiers = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      long header = readVarint(buffer);
+      long value = header >>> 2;
+      switch ((int) header & 3) {
+        case NUMBER:
+          identifiers.add(Identifier.of(value));
+          break;
+        case TAG:
+          if (value >= TAGS.length) {
+            throw new IllegalArgumentException("Unknown tag index " + value);
+          }
+          identifiers.add(TAG_IDENTIFIERS[(int) value]);
+          break;
+        default:
+          if (value > buffer.remaining()) {
+            throw new IllegalArgumentException("Encoded identifier length " + value + " exceeds remaining bytes");
+          }
+          byte[] bytes = new byte[(int) value];
+          buffer.get(bytes);
+          String string = new String(bytes, StandardCharsets.US_ASCII);
+          identifiers.add((header & 3) == ALPHANUMERIC ? Identifier.of(string) : Identifier.of(new BigInteger(string)));
+      }
+    }
+    return identifiers;
+  }
+
+  // the number of a numerical identifier that can be stored inline, or -1
+  private static long inlineNumber(Identifier identifier) {
+    if (!(identifier instanceof NumericalIdentifier)) return -1;
+    long number = ((NumericalIdentifier) identifier).number();
+    return number <= MAX_INLINE_NUMBER ? number : -1;
+  }
+
+  private static int varintSize(long value) {
+    int size = 1;
+    while ((value & ~0x7fL) != 0) {
+      value >>>= 7;
+      size++;
+    }
+    return size;
+  }
+
+  private static void writeVarint(ByteBuffer buffer, long value) {
+    while ((value & ~0x7fL) != 0) {
+      buffer.put((byte) (value & 0x7f | 0x80));
+      value >>>= 7;
+    }
+    buffer.put((byte) value);
+  }
+
+  private static long getVarint(ByteBuffer buffer, int index) {
+    long value = 0;
+    for (int shift = 0; ; shift += 7) {
+      byte b = buffer.get(index++);
+      value |= (long) (b & 0x7f) << shift;
+      if (b >= 0) return value;
+    }
+  }
+
+  private static int varintLength(ByteBuffer buffer, int index) {
+    int length = 1;
+    while (buffer.get(index++) < 0) length++;
+    return length;
+  }
+
+  private static long readVarint(ByteBuffer buffer) {
+    long value = 0;
+    for (int shift = 0; shift < Long.SIZE; shift += 7) {
+      byte b = buffer.get();
+      value |= (long) (b & 0x7f) << shift;
+      if (b >= 0) return value;
+    }
+    throw new IllegalArgumentException("Malformed varint");
+  }
+
+  private static int readInt(ByteBuffer buffer) {
+    long value = readVarint(buffer);
+    if (value < 0 || value > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Encoded number " + value + " is out of range");
+    }
+    return (int) value;
+  }
+}
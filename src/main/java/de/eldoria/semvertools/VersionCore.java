@@ -9,7 +9,6 @@ package de.eldoria.semvertools;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Objects;
 import java.util.Optional;
 
 @ApiStatus.Internal
@@ -17,6 +16,8 @@ public final class VersionCore implements SemanticVersion {
   private final int major;
   private final int minor;
   private final int patch;
+  private @Nullable String string;
+  private int hash;
 
   VersionCore(int major, int minor, int patch) {
     this.major = major;
@@ -66,17 +67,20 @@ public final class VersionCore implements SemanticVersion {
 
   @Override
   public int compareTo(SemanticVersion o) {
-    if (this.major != o.major()) {
-      return Integer.compare(this.major, o.major());
+    if (o instanceof VersionCore) {
+      return compareCore((VersionCore) o);
     }
-    if (this.minor != o.minor()) {
-      return Integer.compare(this.minor, o.minor());
+    return Precedence.compare(this, o);
+  }
+
+  int compareCore(VersionCore o) {
+    if (this.major != o.major) {
+      return Integer.compare(this.major, o.major);
     }
-    if (this.patch != o.patch()) {
-      return Integer.compare(this.patch, o.patch());
+    if (this.minor != o.minor) {
+      return Integer.compare(this.minor, o.minor);
     }
-    if (o.preRelease().isPresent()) return 1; // pre release is always less than a release
-    return 0;
+    return Integer.compare(this.patch, o.patch);
   }
 
   @Override
@@ -101,11 +105,26 @@ public final class VersionCore implements SemanticVersion {
 
   @Override
   public int hashCode() {
-    return Objects.hash(major, minor, patch);
+    int hash = this.hash;
+    if (hash == 0) {
+      hash = 31 * (31 * (31 + this.major) + this.minor) + this.patch; // same as Objects.hash, without boxing
+      this.hash = hash;
+    }
+    return hash;
+  }
+
+  @Override
+  public StringBuilder appendTo(StringBuilder builder) {
+    return builder.append(this.major).append('.').append(this.minor).append('.').append(this.patch);
   }
 
   @Override
   public String toString() {
-    return String.format("%s.%s.%s", this.major, this.minor, this.patch);
+    String string = this.string;
+    if (string == null) {
+      string = appendTo(new StringBuilder(16)).toString();
+      this.string = string;
+    }
+    return string;
   }
 }
@@ -0,0 +1,224 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Classifies the change between two versions, e.g. an installed and an available version, by
+ * the most significant part that differs.
+ * <p>
+ * The change is returned as a primitive code: one of {@link #NONE}, {@link #BUILD},
+ * {@link #PRE_RELEASE}, {@link #PATCH}, {@link #MINOR} and {@link #MAJOR}, ordered by
+ * significance. The code is negated if the second version has a lower precedence than the first,
+ * so {@code -MAJOR} is a downgrade to a lower major version. Build metadata doesn't affect the
+ * precedence, so a {@link #BUILD} change is never negated. A change of the version core wins
+ * over a change of the pre-release, so {@code 1.2.3} to {@code 2.0.0-rc.1} is a {@link #MAJOR}
+ * change.
+ * <p>
+ * The batch methods classify pairs of two parallel arrays or two {@link VersionTable tables}
+ * into a {@code byte[]}, without allocating anything per pair.
+ */
+public final class VersionDiff {
+  public static final int NONE = 0;
+  public static final int BUILD = 1;
+  public static final int PRE_RELEASE = 2;
+  public static final int PATCH = 3;
+  public static final int MINOR = 4;
+  public static final int MAJOR = 5;
+  private static final int PARALLEL_THRESHOLD = 1 << 14;
+
+  private VersionDiff() {
+  }
+
+  /**
+   * Classifies the change from one version to another.
+   *
+   * @param from the first version, e.g. the installed one.
+   * @param to   the second version, e.g. the available one.
+   * @return the change code, negated if {@code to} has a lower precedence than {@code from}.
+   */
+  public static int diff(SemanticVersion from, SemanticVersion to) {
+    if (from.major() != to.major()) return signed(MAJOR, from.major(), to.major());
+    if (from.minor() != to.minor()) return signed(MINOR, from.minor(), to.minor());
+    if (from.patch() != to.patch()) return signed(PATCH, from.patch(), to.patch());
+    int cmp = Precedence.compare(from, to);
+    if (cmp != 0) return cmp < 0 ? PRE_RELEASE : -PRE_RELEASE;
+    return Objects.equals(build(from), build(to)) ? NONE : BUILD;
+  }
+
+  /**
+   * Classifies the change between two rows of two tables, which may be the same table.
+   *
+   * @param from    the table of the first version.
+   * @param fromRow the row of the first version.
+   * @param to      the table of the second version.
+   * @param toRow   the row of the second version.
+   * @return the change code, negated if the second version has a lower precedence.
+   * @throws IndexOutOfBoundsException if there is no such row.
+   */
+  public static int diff(VersionTable from, int fromRow, VersionTable to, int toRow) {
+    if (from.major(fromRow) != to.major(toRow)) return signed(MAJOR, from.major(fromRow), to.major(toRow));
+    if (from.minor(fromRow) != to.minor(toRow)) return signed(MINOR, from.minor(fromRow), to.minor(toRow));
+    if (from.patch(fromRow) != to.patch(toRow)) return signed(PATCH, from.patch(fromRow), to.patch(toRow));
+    int cmp = from.comparePreReleases(fromRow, to, toRow);
+    if (cmp != 0) return cmp < 0 ? PRE_RELEASE : -PRE_RELEASE;
+    return from.buildEquals(fromRow, to, toRow) ? NONE : BUILD;
+  }
+
+  /**
+   * Classifies the changes from {@code from[i]} to {@code to[i]} into {@code results[i]}.
+   *
+   * @param from    the first versions.
+   * @param to      the second versions.
+   * @param results the array receiving the change codes.
+   * @throws IllegalArgumentException if the arrays differ in length.
+   */
+  public static void diffAll(SemanticVersion[] from, SemanticVersion[] to, byte[] results) {
+    checkLengths(from.length, to.length, results.length);
+    diffRange(from, to, results, 0, results.length);
+  }
+
+  /**
+   * Classifies the changes from row {@code i} of {@code from} to row {@code i} of {@code to}
+   * into {@code results[i]}.
+   *
+   * @param from    the first versions.
+   * @param to      the second versions.
+   * @param results the array receiving the change codes.
+   * @throws IllegalArgumentException if the tables and the array differ in size.
+   */
+  public static void diffAll(VersionTable from, VersionTable to, byte[] results) {
+    checkLengths(from.size(), to.size(), results.length);
+    diffRange(from, to, results, 0, results.length);
+  }
+
+  /**
+   * Classifies the changes of all pairs in the common fork-join pool.
+   *
+   * @param from    the first versions.
+   * @param to      the second versions.
+   * @param results the array receiving the change codes.
+   * @see #parallelDiffAll(SemanticVersion[], SemanticVersion[], byte[], ForkJoinPool)
+   */
+  public static void parallelDiffAll(SemanticVersion[] from, SemanticVersion[] to, byte[] results) {
+    parallelDiffAll(from, to, results, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Classifies the changes of all pairs in the given fork-join pool, each task working on a
+   * contiguous chunk of the arrays.
+   *
+   * @param from    the first versions.
+   * @param to      the second versions.
+   * @param results the array receiving the change codes.
+   * @param pool    the pool to classify the chunks in.
+   * @throws IllegalArgumentException if the arrays differ in length.
+   */
+  public static void parallelDiffAll(SemanticVersion[] from, SemanticVersion[] to, byte[] results, ForkJoinPool pool) {
+    checkLengths(from.length, to.length, results.length);
+    diffParallel((start, end) -> diffRange(from, to, results, start, end), results.length, pool);
+  }
+
+  /**
+   * Classifies the changes of all rows in the common fork-join pool.
+   *
+   * @param from    the first versions.
+   * @param to      the second versions.
+   * @param results the array receiving the change codes.
+   * @see #parallelDiffAll(VersionTable, VersionTable, byte[], ForkJoinPool)
+   */
+  public static void parallelDiffAll(VersionTable from, VersionTable to, byte[] results) {
+    parallelDiffAll(from, to, results, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Classifies the changes of all rows in the given fork-join pool, each task working on a
+   * contiguous chunk of the rows. The tables must not be modified meanwhile.
+   *
+   * @param from    the first versions.
+   * @param to      the second versions.
+   * @param results the array receiving the change codes.
+   * @param pool    the pool to classify the chunks in.
+   * @throws IllegalArgumentException if the tables and the array differ in size.
+   */
+  public static void parallelDiffAll(VersionTable from, VersionTable to, byte[] results, ForkJoinPool pool) {
+    checkLengths(from.size(), to.size(), results.length);
+    diffParallel((start, end) -> diffRange(from, to, results, start, end), results.length, pool);
+  }
+
+  private static void diffParallel(Range range, int length, ForkJoinPool pool) {
+    if (length < PARALLEL_THRESHOLD || pool.getParallelism() == 1) {
+      range.diff(0, length);
+      return;
+    }
+    int chunk = Math.max(PARALLEL_THRESHOLD, length / (pool.getParallelism() * 4));
+    pool.invoke(new DiffTask(range, 0, length, chunk));
+  }
+
+  private static void diffRange(SemanticVersion[] from, SemanticVersion[] to, byte[] results, int start, int end) {
+    for (int i = start; i < end; i++) {
+      results[i] = (byte) diff(from[i], to[i]);
+    }
+  }
+
+  private static void diffRange(VersionTable from, VersionTable to, byte[] results, int start, int end) {
+    for (int i = start; i < end; i++) {
+      results[i] = (byte) diff(from, i, to, i);
+    }
+  }
+
+  private static int signed(int change, int from, int to) {
+    return from < to ? change : -change;
+  }
+
+  private static @Nullable Build build(SemanticVersion version) {
+    if (version instanceof VersionCore) return null;
+    if (version instanceof FullVersion) return ((FullVersion) version).buildOrNull();
+    return version.build().orElse(null);
+  }
+
+  private static void checkLengths(int from, int to, int results) {
+    if (from != to || from != results) {
+      throw new IllegalArgumentException("Lengths differ: " + from + " versions from, " + to + " versions to, " + results + " results");
+    }
+  }
+
+  @FunctionalInterface
+  private interface Range {
+    void diff(int start, int end);
+  }
+
+  private static final class DiffTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private final Range range;
+    private final int start;
+    private final int end;
+    private final int chunk;
+
+    DiffTask(Range range, int start, int end, int chunk) {
+      this.range = range;
+      this.start = start;
+      this.end = end;
+      this.chunk = chunk;
+    }
+
+    @Override
+    protected void compute() {
+      if (this.end - this.start > this.chunk) {
+        int mid = (this.start + this.end) >>> 1;
+        invokeAll(new DiffTask(this.range, this.start, mid, this.chunk), new DiffTask(this.range, mid, this.end, this.chunk));
+      } else {
+        this.range.diff(this.start, this.end);
+      }
+    }
+  }
+}
@@ -0,0 +1,287 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools;
+
+import de.eldoria.semvertools.parser.SinglePassSemVerParser;
+import de.eldoria.semvertools.parser.VersionParseException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads a file containing one version string per line, parsing every line directly from the
+ * memory-mapped file. No line is copied into a string, unless it contains a pre-release or build
+ * identifier that needs to be materialized.
+ * <p>
+ * Lines are separated by {@code \n}, a trailing {@code \r} is ignored. Empty lines are skipped.
+ * The file is mapped in regions of at most 1 GiB which always end at a line break, so a single
+ * line must not be larger than that. The file must not be modified while it is scanned.
+ * <p>
+ * The scanner can be consumed multiple times, sequentially with {@link #scan(Listener)}, or as
+ * a {@link #stream(boolean) stream} that splits the mapped regions at line breaks for parallel
+ * processing.
+ */
+public final class VersionFileScanner implements Closeable {
+  private static final int REGION_SIZE = 1 << 30;
+  private static final int MIN_SPLIT = 1 << 16;
+  private final FileChannel channel;
+  private final ByteBuffer[] regions;
+  private final long[] offsets;
+
+  private VersionFileScanner(FileChannel channel, ByteBuffer[] regions, long[] offsets) {
+    this.channel = channel;
+    this.regions = regions;
+    this.offsets = offsets;
+  }
+
+  /**
+   * Opens and maps the given file.
+   *
+   * @param path the file to scan.
+   * @return the scanner, which needs to be closed after use.
+   * @throws IOException if the file can't be read, or if a line is larger than 1 GiB.
+   */
+  public static VersionFileScanner open(Path path) throws IOException {
+    return open(path, REGION_SIZE);
+  }
+
+  static VersionFileScanner open(Path path, int regionSize) throws IOException {
+    FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+    try {
+      List<ByteBuffer> regions = new ArrayList<>();
+      List<Long> offsets = new ArrayList<>();
+      long size = channel.size();
+      long position = 0;
+      while (position < size) {
+        int length = (int) Math.min(regionSize, size - position);
+        MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        if (position + length < size) {
+          int last = length - 1;
+          while (last >= 0 && region.get(last) != '\n') last--;
+          if (last < 0) {
+            throw new IOException("Line at byte " + position + " of " + path + " is longer than " + regionSize + " bytes");
+          }
+          length = last + 1;
+          region.limit(length);
+        }
+        regions.add(region);
+        offsets.add(position);
+        position += length;
+      }
+      long[] regionOffsets = new long[offsets.size()];
+      for (int i = 0; i < regionOffsets.length; i++) {
+        regionOffsets[i] = offsets.get(i);
+      }
+      return new VersionFileScanner(channel, regions.toArray(new ByteBuffer[0]), regionOffsets);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Parses all lines in order and passes the results to the listener. Invalid lines don't
+   * stop the scan, they are reported to {@link Listener#invalid(long, String)}.
+   *
+   * @param listener the listener to pass the results to.
+   */
+  public void scan(Listener listener) {
+    long line = 0;
+    for (ByteBuffer region : this.regions) {
+      int limit = region.limit();
+      int start = 0;
+      while (start < limit) {
+        int end = lineEnd(region, start, limit);
+        line++;
+        int length = trimmedLength(region, start, end);
+        if (length > 0) {
+          SinglePassSemVerParser parser = new SinglePassSemVerParser(region, start, length);
+          SemanticVersion version = parser.tryParse();
+          if (version == null) {
+            listener.invalid(line, parser.failureReason() + " at position " + parser.failurePosition());
+          } else {
+            listener.accept(line, version);
+          }
+        }
+        start = end + 1;
+      }
+    }
+  }
+
+  /**
+   * Returns a spliterator over the versions of all lines, in order.
+   * <p>
+   * An invalid line makes the spliterator throw a {@link VersionParseException}, stating the
+   * byte offset of the line in the file.
+   *
+   * @return the spliterator.
+   */
+  public Spliterator<SemanticVersion> spliterator() {
+    int last = this.regions.length - 1;
+    return new LineSpliterator(0, 0, last, last < 0 ? 0 : this.regions[last].limit());
+  }
+
+  public Iterator<SemanticVersion> iterator() {
+    return Spliterators.iterator(spliterator());
+  }
+
+  /**
+   * Returns a stream of the versions of all lines.
+   *
+   * @param parallel whether the stream should be parallel.
+   * @return the stream.
+   * @see #spliterator()
+   */
+  public Stream<SemanticVersion> stream(boolean parallel) {
+    return StreamSupport.stream(spliterator(), parallel);
+  }
+
+  /**
+   * Returns the size of the scanned file in bytes.
+   *
+   * @return the size of the file.
+   */
+  public long size() {
+    int last = this.regions.length - 1;
+    return last < 0 ? 0 : this.offsets[last] + this.regions[last].limit();
+  }
+
+  /**
+   * Closes the file. The mapped regions are released once they are garbage collected.
+   *
+   * @throws IOException if closing the file fails.
+   */
+  @Override
+  public void close() throws IOException {
+    this.channel.close();
+  }
+
+  // index of the next line break, or the limit if there is none
+  private static int lineEnd(ByteBuffer region, int start, int limit) {
+    int end = start;
+    while (end < limit && region.get(end) != '\n') end++;
+    return end;
+  }
+
+  private static int trimmedLength(ByteBuffer region, int start, int end) {
+    return end > start && region.get(end - 1) == '\r' ? end - start - 1 : end - start;
+  }
+
+  /**
+   * Receives the results of {@link #scan(Listener)}.
+   */
+  @FunctionalInterface
+  public interface Listener {
+    /**
+     * Called for every valid line.
+     *
+     * @param line    the number of the line, starting at 1.
+     * @param version the parsed version.
+     */
+    void accept(long line, SemanticVersion version);
+
+    /**
+     * Called for every line that is not a valid version. Does nothing by default.
+     *
+     * @param line   the number of the line, starting at 1.
+     * @param reason why the line is not valid.
+     */
+    default void invalid(long line, String reason) {
+    }
+  }
+
+  /**
+   * Iterates from {@code position} in {@code region} to {@code endPosition} in {@code endRegion}.
+   * Splits happen at region boundaries first, then at line breaks within a region.
+   */
+  private final class LineSpliterator implements Spliterator<SemanticVersion> {
+    private int region;
+    private int position;
+    private final int endRegion;
+    private final int endPosition;
+
+    LineSpliterator(int region, int position, int endRegion, int endPosition) {
+      this.region = region;
+      this.position = position;
+      this.endRegion = endRegion;
+      this.endPosition = endPosition;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super SemanticVersion> action) {
+      while (this.region <= this.endRegion) {
+        ByteBuffer buffer = regions[this.region];
+        int limit = this.region == this.endRegion ? this.endPosition : buffer.limit();
+        while (this.position < limit) {
+          int start = this.position;
+          int end = lineEnd(buffer, start, limit);
+          this.position = end + 1;
+          int length = trimmedLength(buffer, start, end);
+          if (length == 0) continue;
+          SinglePassSemVerParser parser = new SinglePassSemVerParser(buffer, start, length);
+          SemanticVersion version = parser.tryParse();
+          if (version == null) {
+            throw new VersionParseException("Invalid version at byte " + (offsets[this.region] + start)
+                + ": " + parser.failureReason() + " at position " + parser.failurePosition());
+          }
+          action.accept(version);
+          return true;
+        }
+        this.region++;
+        this.position = 0;
+      }
+      return false;
+    }
+
+    @Override
+    public Spliterator<SemanticVersion> trySplit() {
+      if (this.region < this.endRegion) {
+        int mid = (this.region + this.endRegion + 1) >>> 1;
+        LineSpliterator prefix = new LineSpliterator(this.region, this.position, mid, 0);
+        this.region = mid;
+        this.position = 0;
+        return prefix;
+      }
+      if (this.region > this.endRegion || this.endPosition - this.position < 2 * MIN_SPLIT) {
+        return null;
+      }
+      ByteBuffer buffer = regions[this.region];
+      int split = lineEnd(buffer, (this.position + this.endPosition) >>> 1, this.endPosition) + 1;
+      if (split >= this.endPosition) {
+        return null;
+      }
+      LineSpliterator prefix = new LineSpliterator(this.region, this.position, this.region, split);
+      this.position = split;
+      return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+      if (this.region > this.endRegion) return 0;
+      if (this.region == this.endRegion) return this.endPosition - this.position;
+      return offsets[this.endRegion] + this.endPosition - offsets[this.region] - this.position;
+    }
+
+    @Override
+    public int characteristics() {
+      return ORDERED | NONNULL | IMMUTABLE;
+    }
+  }
+}
@@ -0,0 +1,202 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Sorts versions by precedence, producing exactly the same order as {@link Arrays#sort(Object[])}.
+ * <p>
+ * Instead of comparing versions pairwise, the version cores are {@link PackedVersion packed}
+ * into {@code long} keys once, and sorted with an LSD radix sort in 16 bit digits. Digits that
+ * are equal for all versions, e.g. the unused upper bits of small major versions, are skipped.
+ * Only versions with equal cores are then compared with {@link SemanticVersion#compareTo}, which
+ * usually just compares their precedence keys. Both steps are stable, so versions of equal
+ * precedence keep their relative order.
+ * <p>
+ * Arrays with a version that can't be packed are sorted with {@link Arrays#sort(Object[])}.
+ */
+public final class VersionSorter {
+  private static final int RADIX_THRESHOLD = 256;
+  private static final int PARALLEL_THRESHOLD = 1 << 16;
+  private static final int DIGIT_BITS = 16;
+  private static final int DIGIT_MASK = (1 << DIGIT_BITS) - 1;
+
+  private VersionSorter() {
+  }
+
+  /**
+   * Sorts the given versions by precedence.
+   *
+   * @param versions the versions to sort.
+   */
+  public static void sort(SemanticVersion[] versions) {
+    ParseListener listener = Instrumentation.listener();
+    long start = listener == null ? 0 : System.nanoTime();
+    sort(versions, 0, versions.length);
+    if (listener != null) {
+      listener.bulkOperation("sort", versions.length, System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * Sorts the given versions by precedence.
+   *
+   * @param versions the versions to sort.
+   * @param <T>      the type of the versions.
+   */
+  @SuppressWarnings("unchecked")
+  public static <T extends SemanticVersion> void sort(List<T> versions) {
+    SemanticVersion[] array = versions.toArray(new SemanticVersion[0]);
+    sort(array);
+    ListIterator<T> iterator = versions.listIterator();
+    for (SemanticVersion version : array) {
+      iterator.next();
+      iterator.set((T) version);
+    }
+  }
+
+  /**
+   * Sorts the given versions by precedence in the common fork-join pool.
+   *
+   * @param versions the versions to sort.
+   * @see #parallelSort(SemanticVersion[], ForkJoinPool)
+   */
+  public static void parallelSort(SemanticVersion[] versions) {
+    parallelSort(versions, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Sorts the given versions by precedence in the given fork-join pool. Chunks of the array are
+   * sorted in parallel and merged afterwards.
+   *
+   * @param versions the versions to sort.
+   * @param pool     the pool to sort the chunks in.
+   */
+  public static void parallelSort(SemanticVersion[] versions, ForkJoinPool pool) {
+    ParseListener listener = Instrumentation.listener();
+    long start = listener == null ? 0 : System.nanoTime();
+    if (versions.length < PARALLEL_THRESHOLD || pool.getParallelism() == 1) {
+      sort(versions, 0, versions.length);
+    } else {
+      int chunk = Math.max(PARALLEL_THRESHOLD, versions.length / (pool.getParallelism() * 4));
+      pool.invoke(new SortTask(versions, new SemanticVersion[versions.length], 0, versions.length, chunk));
+    }
+    if (listener != null) {
+      listener.bulkOperation("parallelSort", versions.length, System.nanoTime() - start);
+    }
+  }
+
+  private static void sort(SemanticVersion[] versions, int from, int to) {
+    int length = to - from;
+    if (length < RADIX_THRESHOLD) {
+      Arrays.sort(versions, from, to);
+      return;
+    }
+    long[] keys = new long[length];
+    int[] order = new int[length];
+    for (int i = 0; i < length; i++) {
+      SemanticVersion version = versions[from + i];
+      if (!PackedVersion.isPackable(version.major(), version.minor(), version.patch())) {
+        Arrays.sort(versions, from, to);
+        return;
+      }
+      keys[i] = PackedVersion.pack(version.major(), version.minor(), version.patch());
+      order[i] = i;
+    }
+    long[] keyBuffer = new long[length];
+    int[] orderBuffer = new int[length];
+    int[] counts = new int[1 << DIGIT_BITS];
+    for (int shift = 0; shift < Long.SIZE - 1; shift += DIGIT_BITS) {
+      Arrays.fill(counts, 0);
+      for (long key : keys) {
+        counts[(int) (key >>> shift) & DIGIT_MASK]++;
+      }
+      if (counts[(int) (keys[0] >>> shift) & DIGIT_MASK] == length) {
+        continue; // all keys share this digit
+      }
+      for (int digit = 0, offset = 0; digit < counts.length; digit++) {
+        int count = counts[digit];
+        counts[digit] = offset;
+        offset += count;
+      }
+      for (int i = 0; i < length; i++) {
+        int target = counts[(int) (keys[i] >>> shift) & DIGIT_MASK]++;
+        keyBuffer[target] = keys[i];
+        orderBuffer[target] = order[i];
+      }
+      long[] swapKeys = keys;
+      keys = keyBuffer;
+      keyBuffer = swapKeys;
+      int[] swapOrder = order;
+      order = orderBuffer;
+      orderBuffer = swapOrder;
+    }
+    SemanticVersion[] sorted = new SemanticVersion[length];
+    for (int i = 0; i < length; i++) {
+      sorted[i] = versions[from + order[i]];
+    }
+    // versions with equal cores are adjacent now, only they need to be compared
+    for (int start = 0, i = 1; i <= length; i++) {
+      if (i == length || keys[i] != keys[start]) {
+        if (i - start > 1) {
+          Arrays.sort(sorted, start, i);
+        }
+        start = i;
+      }
+    }
+    System.arraycopy(sorted, 0, versions, from, length);
+  }
+
+  private static final class SortTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private final SemanticVersion[] versions;
+    private final SemanticVersion[] buffer;
+    private final int from;
+    private final int to;
+    private final int chunk;
+
+    SortTask(SemanticVersion[] versions, SemanticVersion[] buffer, int from, int to, int chunk) {
+      this.versions = versions;
+      this.buffer = buffer;
+      this.from = from;
+      this.to = to;
+      this.chunk = chunk;
+    }
+
+    @Override
+    protected void compute() {
+      if (this.to - this.from <= this.chunk) {
+        sort(this.versions, this.from, this.to);
+        return;
+      }
+      int mid = (this.from + this.to) >>> 1;
+      invokeAll(
+          new SortTask(this.versions, this.buffer, this.from, mid, this.chunk),
+          new SortTask(this.versions, this.buffer, mid, this.to, this.chunk)
+      );
+      if (this.versions[mid - 1].compareTo(this.versions[mid]) <= 0) {
+        return; // already in order
+      }
+      System.arraycopy(this.versions, this.from, this.buffer, this.from, this.to - this.from);
+      int left = this.from;
+      int right = mid;
+      for (int i = this.from; i < this.to; i++) {
+        // taking from the left on ties keeps the sort stable
+        if (right >= this.to || (left < mid && this.buffer[left].compareTo(this.buffer[right]) <= 0)) {
+          this.versions[i] = this.buffer[left++];
+        } else {
+          this.versions[i] = this.buffer[right++];
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,244 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * An append-only store keeping versions off the heap, in direct {@link ByteBuffer} segments.
+ * <p>
+ * Every version is written as a record and addressed by a {@code long} handle, made of the
+ * index of its segment and its offset in the segment. A record starts with the major, minor and
+ * patch version and the precedence key as four {@code int}s, followed by the pre-release and build
+ * metadata in the format of {@link VersionCodec}. The garbage collector only sees the segments,
+ * no matter how many versions are stored.
+ * <p>
+ * {@link #compare(long, long)} compares two records by precedence directly on their bytes,
+ * usually by the fixed-size fields alone. {@link #get(long)} decodes a record into a
+ * {@link SemanticVersion} only when it is needed.
+ * <p>
+ * A store is not thread-safe. Once it is filled and safely published, it can be read
+ * concurrently. After {@link #close()}, the store can't be used anymore. Java 8 can't free direct
+ * memory explicitly, so the segments are released once the garbage collector reclaims them,
+ * which requires no references to the store to remain.
+ */
+public final class VersionStore implements Closeable {
+  private static final int DEFAULT_SEGMENT_SIZE = 1 << 26;
+  private static final int HEAD = 16;
+  private static final int MINOR = 4;
+  private static final int PATCH = 8;
+  private static final int KEY = 12;
+  private final int segmentSize;
+  private ByteBuffer[] segments = new ByteBuffer[0];
+  private int[] used = new int[0];
+  private long size;
+  private boolean closed;
+
+  private VersionStore(int segmentSize) {
+    this.segmentSize = segmentSize;
+  }
+
+  /**
+   * Creates a store allocating segments of 64 MiB.
+   *
+   * @return the store, which should be closed after use.
+   */
+  public static VersionStore create() {
+    return create(DEFAULT_SEGMENT_SIZE);
+  }
+
+  /**
+   * Creates a store allocating segments of the given size. A single version must fit into a
+   * segment.
+   *
+   * @param segmentSize the size of a segment in bytes.
+   * @return the store, which should be closed after use.
+   */
+  public static VersionStore create(int segmentSize) {
+    if (segmentSize < HEAD + 1) {
+      throw new IllegalArgumentException("segmentSize must be at least " + (HEAD + 1) + ", was " + segmentSize);
+    }
+    return new VersionStore(segmentSize);
+  }
+
+  /**
+   * Writes a version to the store.
+   *
+   * @param version the version.
+   * @return the handle of the version.
+   * @throws IllegalArgumentException if the version doesn't fit into a segment.
+   */
+  public long add(SemanticVersion version) {
+    checkOpen();
+    int length = HEAD + VersionCodec.tailSize(version);
+    if (length > this.segmentSize) {
+      throw new IllegalArgumentException("Version of " + length + " bytes exceeds the segment size " + this.segmentSize);
+    }
+    int segment = this.segments.length - 1;
+    if (segment < 0 || this.used[segment] + length > this.segmentSize) {
+      segment = allocateSegment();
+    }
+    ByteBuffer buffer = this.segments[segment];
+    int offset = this.used[segment];
+    buffer.putInt(offset, version.major());
+    buffer.putInt(offset + MINOR, version.minor());
+    buffer.putInt(offset + PATCH, version.patch());
+    buffer.putInt(offset + KEY, Precedence.key(version.preRelease().orElse(null)));
+    buffer.position(offset + HEAD);
+    VersionCodec.writeTail(version, buffer);
+    this.used[segment] = buffer.position();
+    this.size++;
+    return (long) segment << 32 | offset;
+  }
+
+  /**
+   * Decodes the version with the given handle.
+   *
+   * @param handle the handle returned by {@link #add(SemanticVersion)}.
+   * @return the version.
+   */
+  public SemanticVersion get(long handle) {
+    ByteBuffer buffer = segment(handle).duplicate();
+    int offset = offset(handle);
+    buffer.position(offset + HEAD);
+    return VersionCodec.readTail(buffer.getInt(offset), buffer.getInt(offset + MINOR), buffer.getInt(offset + PATCH), buffer);
+  }
+
+  public int major(long handle) {
+    return segment(handle).getInt(offset(handle));
+  }
+
+  public int minor(long handle) {
+    return segment(handle).getInt(offset(handle) + MINOR);
+  }
+
+  public int patch(long handle) {
+    return segment(handle).getInt(offset(handle) + PATCH);
+  }
+
+  /**
+   * Compares two versions by precedence, without decoding them.
+   *
+   * @param left  the handle of the first version.
+   * @param right the handle of the second version.
+   * @return a negative number, zero or a positive number if {@code left} precedes, equals or
+   * succeeds {@code right}.
+   */
+  public int compare(long left, long right) {
+    ByteBuffer leftSegment = segment(left);
+    ByteBuffer rightSegment = segment(right);
+    int leftOffset = offset(left);
+    int rightOffset = offset(right);
+    for (int field = 0; field <= PATCH; field += 4) {
+      int leftValue = leftSegment.getInt(leftOffset + field);
+      int rightValue = rightSegment.getInt(rightOffset + field);
+      if (leftValue != rightValue) return Integer.compare(leftValue, rightValue);
+    }
+    int leftKey = leftSegment.getInt(leftOffset + KEY);
+    int rightKey = rightSegment.getInt(rightOffset + KEY);
+    if (leftKey == Precedence.RELEASE || rightKey == Precedence.RELEASE) {
+      return Integer.compare(leftKey == Precedence.RELEASE ? 1 : 0, rightKey == Precedence.RELEASE ? 1 : 0);
+    }
+    if (leftKey != rightKey && leftKey != Precedence.UNKNOWN && rightKey != Precedence.UNKNOWN) {
+      return Integer.compare(leftKey, rightKey);
+    }
+    return VersionCodec.comparePreReleases(leftSegment, leftOffset + HEAD, rightSegment, rightOffset + HEAD);
+  }
+
+  /**
+   * Passes the handles of all versions to the consumer, in the order they were added.
+   *
+   * @param consumer the consumer of the handles.
+   */
+  public void forEachHandle(LongConsumer consumer) {
+    checkOpen();
+    for (int segment = 0; segment < this.segments.length; segment++) {
+      ByteBuffer buffer = this.segments[segment].duplicate();
+      int offset = 0;
+      while (offset < this.used[segment]) {
+        consumer.accept((long) segment << 32 | offset);
+        buffer.position(offset + HEAD);
+        VersionCodec.skipTail(buffer);
+        offset = buffer.position();
+      }
+    }
+  }
+
+  /**
+   * Returns the number of stored versions.
+   *
+   * @return the number of versions.
+   */
+  public long size() {
+    return this.size;
+  }
+
+  /**
+   * Returns the number of bytes used by the stored versions.
+   *
+   * @return the used bytes.
+   */
+  public long usedBytes() {
+    long bytes = 0;
+    for (int used : this.used) {
+      bytes += used;
+    }
+    return bytes;
+  }
+
+  /**
+   * Returns the number of bytes of direct memory allocated by this store.
+   *
+   * @return the allocated bytes.
+   */
+  public long allocatedBytes() {
+    return (long) this.segments.length * this.segmentSize;
+  }
+
+  /**
+   * Closes the store and drops its segments. Handles become invalid, any further access throws
+   * an {@link IllegalStateException}.
+   */
+  @Override
+  public void close() {
+    this.closed = true;
+    this.segments = new ByteBuffer[0];
+    this.used = new int[0];
+    this.size = 0;
+  }
+
+  private int allocateSegment() {
+    int segment = this.segments.length;
+    this.segments = Arrays.copyOf(this.segments, segment + 1);
+    this.used = Arrays.copyOf(this.used, segment + 1);
+    this.segments[segment] = ByteBuffer.allocateDirect(this.segmentSize);
+    return segment;
+  }
+
+  private ByteBuffer segment(long handle) {
+    int segment = (int) (handle >>> 32);
+    int offset = offset(handle);
+    if (segment < 0 || segment >= this.segments.length || offset < 0 || offset >= this.used[segment]) {
+      checkOpen();
+      throw new IllegalArgumentException("Invalid handle " + handle);
+    }
+    return this.segments[segment];
+  }
+
+  private static int offset(long handle) {
+    return (int) handle;
+  }
+
+  private void checkOpen() {
+    if (this.closed) {
+      throw new IllegalStateException("Store is closed");
+    }
+  }
+}
@@ -0,0 +1,513 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A columnar store for large numbers of versions.
+ * <p>
+ * Instead of one object graph per version, every row is stored in primitive columns: one
+ * {@code int[]} per core component, and the pre-release and build identifiers as codes in two
+ * shared {@code int[]}, addressed by an offset column each. Numerical identifiers in {@code int}
+ * range are stored as their value, other identifiers as a negative reference into a dictionary
+ * shared by all rows, so a tag like {@code beta} is stored once per table. A release takes 20 bytes, compared
+ * to about 32 bytes for a version object, and a version like {@code 1.2.3-beta.4} takes 28 bytes
+ * instead of well over 100.
+ * <p>
+ * {@link #get(int)} returns a lightweight view of a row, which implements
+ * {@link SemanticVersion} by reading the columns. Views are only {@link Object#equals(Object) equal}
+ * to other views; use {@link #toVersion(int)} to get a regular version. {@link #sortedRows()}
+ * sorts the row indexes by precedence without creating any views.
+ * <p>
+ * A table is not thread-safe. Once it is filled and safely published, it can be read concurrently.
+ */
+public final class VersionTable {
+  private static final int[] EMPTY = new int[0];
+  private int[] majors;
+  private int[] minors;
+  private int[] patches;
+  private int[] preReleaseOffsets; // identifiers of row r are in [offsets[r], offsets[r + 1])
+  private int[] buildOffsets;
+  private int[] preReleaseCodes = EMPTY;
+  private int[] buildCodes = EMPTY;
+  private int preReleaseCodeCount;
+  private int buildCodeCount;
+  private int size;
+  private final Map<Identifier, Integer> dictionaryCodes = new HashMap<>();
+  private final List<Identifier> dictionary = new ArrayList<>();
+  private int[] dictionaryKeys = EMPTY;
+
+  public VersionTable() {
+    this(16);
+  }
+
+  /**
+   * Creates a table with room for the given number of versions before it needs to grow.
+   *
+   * @param initialCapacity the initial number of rows.
+   */
+  public VersionTable(int initialCapacity) {
+    if (initialCapacity < 0) {
+      throw new IllegalArgumentException("initialCapacity must not be negative, was " + initialCapacity);
+    }
+    this.majors = new int[initialCapacity];
+    this.minors = new int[initialCapacity];
+    this.patches = new int[initialCapacity];
+    this.preReleaseOffsets = new int[initialCapacity + 1];
+    this.buildOffsets = new int[initialCapacity + 1];
+  }
+
+  /**
+   * Appends a version.
+   *
+   * @param version the version to append.
+   * @return the index of the new row.
+   */
+  public int append(SemanticVersion version) {
+    int row = this.size;
+    if (row == this.majors.length) {
+      grow();
+    }
+    this.majors[row] = version.major();
+    this.minors[row] = version.minor();
+    this.patches[row] = version.patch();
+    Optional<PreRelease> preRelease = version.preRelease();
+    if (preRelease.isPresent()) {
+      List<Identifier> identifiers = preRelease.get().identifiers();
+      this.preReleaseCodes = ensureCapacity(this.preReleaseCodes, this.preReleaseCodeCount + identifiers.size());
+      for (Identifier identifier : identifiers) {
+        this.preReleaseCodes[this.preReleaseCodeCount++] = encode(identifier);
+      }
+    }
+    Optional<Build> build = version.build();
+    if (build.isPresent()) {
+      List<Identifier> identifiers = build.get().identifiers();
+      this.buildCodes = ensureCapacity(this.buildCodes, this.buildCodeCount + identifiers.size());
+      for (Identifier identifier : identifiers) {
+        this.buildCodes[this.buildCodeCount++] = encode(identifier);
+      }
+    }
+    this.preReleaseOffsets[row + 1] = this.preReleaseCodeCount;
+    this.buildOffsets[row + 1] = this.buildCodeCount;
+    this.size++;
+    return row;
+  }
+
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Returns a view of the given row. The view reads the columns of this table and must not be
+   * used after the table was modified in a way that affects the row.
+   *
+   * @param row the index of the row.
+   * @return the view.
+   * @throws IndexOutOfBoundsException if there is no such row.
+   */
+  public SemanticVersion get(int row) {
+    checkRow(row);
+    return new Row(this, row);
+  }
+
+  /**
+   * Materializes the given row as a regular version.
+   *
+   * @param row the index of the row.
+   * @return the version.
+   * @throws IndexOutOfBoundsException if there is no such row.
+   */
+  public SemanticVersion toVersion(int row) {
+    checkRow(row);
+    return SemanticVersion.of(this.majors[row], this.minors[row], this.patches[row], preRelease(row), build(row));
+  }
+
+  public int major(int row) {
+    checkRow(row);
+    return this.majors[row];
+  }
+
+  public int minor(int row) {
+    checkRow(row);
+    return this.minors[row];
+  }
+
+  public int patch(int row) {
+    checkRow(row);
+    return this.patches[row];
+  }
+
+  /**
+   * Compares two rows by precedence.
+   *
+   * @param left  the index of the first row.
+   * @param right the index of the second row.
+   * @return a negative number, zero or a positive number if {@code left} precedes, equals or
+   * succeeds {@code right}.
+   */
+  public int compare(int left, int right) {
+    checkRow(left);
+    checkRow(right);
+    return compareRows(left, right);
+  }
+
+  /**
+   * Returns the indexes of all rows, sorted by the precedence of their versions. Rows of equal
+   * precedence keep their relative order.
+   *
+   * @return the sorted row indexes.
+   */
+  public int[] sortedRows() {
+    int[] rows = new int[this.size];
+    for (int i = 0; i < rows.length; i++) {
+      rows[i] = i;
+    }
+    mergeSort(rows, new int[rows.length], 0, rows.length);
+    return rows;
+  }
+
+  /**
+   * Estimates the number of bytes retained by this table, including unused capacity. Strings
+   * in the dictionary are assumed to take 120 bytes plus their length, including their map entry.
+   *
+   * @return the estimated size in bytes.
+   */
+  public long estimatedSizeInBytes() {
+    long bytes = 4L * (this.majors.length + this.minors.length + this.patches.length
+        + this.preReleaseOffsets.length + this.buildOffsets.length
+        + this.preReleaseCodes.length + this.buildCodes.length + this.dictionaryKeys.length);
+    for (Identifier identifier : this.dictionary) {
+      bytes += 120 + identifier.asString().length();
+    }
+    return bytes;
+  }
+
+  private int compareRows(int left, int right) {
+    if (this.majors[left] != this.majors[right]) {
+      return Integer.compare(this.majors[left], this.majors[right]);
+    }
+    if (this.minors[left] != this.minors[right]) {
+      return Integer.compare(this.minors[left], this.minors[right]);
+    }
+    if (this.patches[left] != this.patches[right]) {
+      return Integer.compare(this.patches[left], this.patches[right]);
+    }
+    return comparePreReleases(left, this, right);
+  }
+
+  /**
+   * Compares the pre-releases of a row of this table and a row of another table, which may be
+   * this table, by precedence.
+   */
+  int comparePreReleases(int row, VersionTable other, int otherRow) {
+    int leftFrom = this.preReleaseOffsets[row];
+    int leftLength = this.preReleaseOffsets[row + 1] - leftFrom;
+    int rightFrom = other.preReleaseOffsets[otherRow];
+    int rightLength = other.preReleaseOffsets[otherRow + 1] - rightFrom;
+    if (leftLength == 0 || rightLength == 0) {
+      // a release has a higher precedence than its pre-releases
+      return Integer.compare(leftLength == 0 ? 1 : 0, rightLength == 0 ? 1 : 0);
+    }
+    int length = Math.min(leftLength, rightLength);
+    for (int i = 0; i < length; i++) {
+      int cmp = compareCodes(this.preReleaseCodes[leftFrom + i], other, other.preReleaseCodes[rightFrom + i]);
+      if (cmp != 0) return cmp;
+    }
+    return Integer.compare(leftLength, rightLength);
+  }
+
+  boolean buildEquals(int row, VersionTable other, int otherRow) {
+    return codesEqual(this.buildCodes, this.buildOffsets, row, other, other.buildCodes, other.buildOffsets, otherRow);
+  }
+
+  private int compareCodes(int left, VersionTable other, int right) {
+    if (left == right && other == this) return 0;
+    if (left >= 0 && right >= 0) return Integer.compare(left, right);
+    if (left >= 0) return -compareToCode(other.dictionary.get(-right - 1));
+    if (right >= 0) return compareToCode(this.dictionary.get(-left - 1));
+    return this.dictionary.get(-left - 1).compareTo(other.dictionary.get(-right - 1));
+  }
+
+  /**
+   * Compares a dictionary entry to a numerical identifier in {@code int} range. Numbers in the
+   * dictionary are either negative or larger than any such identifier.
+   */
+  private static int compareToCode(Identifier entry) {
+    if (entry instanceof NumericalIdentifier) {
+      return ((NumericalIdentifier) entry).number() < 0 ? -1 : 1;
+    }
+    return 1; // numerical identifiers have a lower precedence than alphanumeric ones
+  }
+
+  private void mergeSort(int[] rows, int[] buffer, int from, int to) {
+    if (to - from <= 16) {
+      for (int i = from + 1; i < to; i++) {
+        int row = rows[i];
+        int j = i - 1;
+        for (; j >= from && compareRows(rows[j], row) > 0; j--) {
+          rows[j + 1] = rows[j];
+        }
+        rows[j + 1] = row;
+      }
+      return;
+    }
+    int mid = (from + to) >>> 1;
+    mergeSort(rows, buffer, from, mid);
+    mergeSort(rows, buffer, mid, to);
+    if (compareRows(rows[mid - 1], rows[mid]) <= 0) {
+      return; // already in order
+    }
+    System.arraycopy(rows, from, buffer, from, to - from);
+    int left = from;
+    int right = mid;
+    for (int i = from; i < to; i++) {
+      if (right >= to || (left < mid && compareRows(buffer[left], buffer[right]) <= 0)) {
+        rows[i] = buffer[left++];
+      } else {
+        rows[i] = buffer[right++];
+      }
+    }
+  }
+
+  private int encode(Identifier identifier) {
+    boolean numerical = identifier instanceof NumericalIdentifier;
+    if (numerical) {
+      long number = ((NumericalIdentifier) identifier).number();
+      if (number >= 0 && number <= Integer.MAX_VALUE) {
+        return (int) number;
+      }
+      // other numbers are kept in the dictionary, which orders them by comparing the identifiers
+    }
+    // keyed by identifier rather than text, so 1 and an alphanumeric "1" don't share a code
+    Integer code = this.dictionaryCodes.get(identifier);
+    if (code == null) {
+      int index = this.dictionary.size();
+      this.dictionary.add(identifier);
+      this.dictionaryKeys = ensureCapacity(this.dictionaryKeys, index + 1);
+      this.dictionaryKeys[index] = numerical
+          ? Precedence.numericalKey(((NumericalIdentifier) identifier).number())
+          : Precedence.alphanumericKey(identifier.asString());
+      code = -index - 1;
+      this.dictionaryCodes.put(identifier, code);
+    }
+    return code;
+  }
+
+  private Identifier decode(int code) {
+    return code >= 0 ? Identifier.of(code) : this.dictionary.get(-code - 1);
+  }
+
+  private @Nullable PreRelease preRelease(int row) {
+    List<Identifier> identifiers = decode(this.preReleaseCodes, this.preReleaseOffsets[row], this.preReleaseOffsets[row + 1]);
+    return identifiers == null ? null : PreRelease.of(identifiers);
+  }
+
+  private @Nullable Build build(int row) {
+    List<Identifier> identifiers = decode(this.buildCodes, this.buildOffsets[row], this.buildOffsets[row + 1]);
+    return identifiers == null ? null : Build.of(identifiers);
+  }
+
+  private @Nullable List<Identifier> decode(int[] codes, int from, int to) {
+    if (from == to) return null;
+    List<Identifier> identifiers = new ArrayList<>(to - from);
+    for (int i = from; i < to; i++) {
+      identifiers.add(decode(codes[i]));
+    }
+    return identifiers;
+  }
+
+  private StringBuilder appendTo(int row, StringBuilder builder) {
+    builder.append(this.majors[row]).append('.').append(this.minors[row]).append('.').append(this.patches[row]);
+    appendCodes(builder, '-', this.preReleaseCodes, this.preReleaseOffsets[row], this.preReleaseOffsets[row + 1]);
+    appendCodes(builder, '+', this.buildCodes, this.buildOffsets[row], this.buildOffsets[row + 1]);
+    return builder;
+  }
+
+  private void appendCodes(StringBuilder builder, char prefix, int[] codes, int from, int to) {
+    for (int i = from; i < to; i++) {
+      builder.append(i == from ? prefix : '.');
+      int code = codes[i];
+      if (code >= 0) {
+        builder.append(code);
+      } else {
+        builder.append(this.dictionary.get(-code - 1).asString());
+      }
+    }
+  }
+
+  private boolean rowEquals(int row, VersionTable other, int otherRow) {
+    return this.majors[row] == other.majors[otherRow]
+        && this.minors[row] == other.minors[otherRow]
+        && this.patches[row] == other.patches[otherRow]
+        && codesEqual(this.preReleaseCodes, this.preReleaseOffsets, row, other, other.preReleaseCodes, other.preReleaseOffsets, otherRow)
+        && codesEqual(this.buildCodes, this.buildOffsets, row, other, other.buildCodes, other.buildOffsets, otherRow);
+  }
+
+  private boolean codesEqual(
+      int[] codes, int[] offsets, int row,
+      VersionTable other, int[] otherCodes, int[] otherOffsets, int otherRow
+  ) {
+    int from = offsets[row];
+    int length = offsets[row + 1] - from;
+    int otherFrom = otherOffsets[otherRow];
+    if (length != otherOffsets[otherRow + 1] - otherFrom) return false;
+    for (int i = 0; i < length; i++) {
+      int code = codes[from + i];
+      int otherCode = otherCodes[otherFrom + i];
+      if (other == this || code >= 0 || otherCode >= 0) {
+        if (code != otherCode) return false;
+      } else if (!decode(code).equals(other.decode(otherCode))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // consistent with codesEqual: numbers are compared by their code, which is the same in every
+  // table, dictionary entries by their identifier
+  private int codesHash(int hash, int[] codes, int[] offsets, int row) {
+    int from = offsets[row];
+    int to = offsets[row + 1];
+    hash = 31 * hash + (to - from);
+    for (int i = from; i < to; i++) {
+      int code = codes[i];
+      hash = 31 * hash + (code >= 0 ? code : this.dictionary.get(-code - 1).hashCode());
+    }
+    return hash;
+  }
+
+  private void grow() {
+    int capacity = Math.max(16, this.majors.length + (this.majors.length >> 1));
+    this.majors = Arrays.copyOf(this.majors, capacity);
+    this.minors = Arrays.copyOf(this.minors, capacity);
+    this.patches = Arrays.copyOf(this.patches, capacity);
+    this.preReleaseOffsets = Arrays.copyOf(this.preReleaseOffsets, capacity + 1);
+    this.buildOffsets = Arrays.copyOf(this.buildOffsets, capacity + 1);
+  }
+
+  private static int[] ensureCapacity(int[] array, int capacity) {
+    if (capacity <= array.length) return array;
+    return Arrays.copyOf(array, Math.max(capacity, Math.max(16, array.length + (array.length >> 1))));
+  }
+
+  private void checkRow(int row) {
+    if (row < 0 || row >= this.size) {
+      throw new IndexOutOfBoundsException("row " + row + " out of bounds for size " + this.size);
+    }
+  }
+
+  /**
+   * A version backed by a row of a table.
+   */
+  static final class Row implements SemanticVersion {
+    private final VersionTable table;
+    private final int row;
+
+    Row(VersionTable table, int row) {
+      this.table = table;
+      this.row = row;
+    }
+
+    int precedenceKey() {
+      int from = this.table.preReleaseOffsets[this.row];
+      if (from == this.table.preReleaseOffsets[this.row + 1]) return Precedence.RELEASE;
+      int code = this.table.preReleaseCodes[from];
+      return code >= 0 ? Precedence.numericalKey(code) : this.table.dictionaryKeys[-code - 1];
+    }
+
+    @Override
+    public int major() {
+      return this.table.majors[this.row];
+    }
+
+    @Override
+    public int minor() {
+      return this.table.minors[this.row];
+    }
+
+    @Override
+    public int patch() {
+      return this.table.patches[this.row];
+    }
+
+    @Override
+    public Optional<PreRelease> preRelease() {
+      return Optional.ofNullable(this.table.preRelease(this.row));
+    }
+
+    @Override
+    public Optional<Build> build() {
+      return Optional.ofNullable(this.table.build(this.row));
+    }
+
+    @Override
+    public SemanticVersion withMajor(int major) {
+      return this.table.toVersion(this.row).withMajor(major);
+    }
+
+    @Override
+    public SemanticVersion withMinor(int minor) {
+      return this.table.toVersion(this.row).withMinor(minor);
+    }
+
+    @Override
+    public SemanticVersion withPatch(int patch) {
+      return this.table.toVersion(this.row).withPatch(patch);
+    }
+
+    @Override
+    public SemanticVersion withPreRelease(@Nullable PreRelease preRelease) {
+      return this.table.toVersion(this.row).withPreRelease(preRelease);
+    }
+
+    @Override
+    public SemanticVersion withBuild(@Nullable Build build) {
+      return this.table.toVersion(this.row).withBuild(build);
+    }
+
+    @Override
+    public StringBuilder appendTo(StringBuilder builder) {
+      return this.table.appendTo(this.row, builder);
+    }
+
+    @Override
+    public int compareTo(SemanticVersion o) {
+      if (o instanceof Row && ((Row) o).table == this.table) {
+        return this.table.compareRows(this.row, ((Row) o).row);
+      }
+      return Precedence.compare(this, o);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      Row that = (Row) o;
+      return this.table.rowEquals(this.row, that.table, that.row);
+    }
+
+    @Override
+    public int hashCode() {
+      int hash = 31 * (31 * (31 + major()) + minor()) + patch();
+      hash = this.table.codesHash(hash, this.table.preReleaseCodes, this.table.preReleaseOffsets, this.row);
+      return this.table.codesHash(hash, this.table.buildCodes, this.table.buildOffsets, this.row);
+    }
+
+    @Override
+    public String toString() {
+      return appendTo(new StringBuilder()).toString();
+    }
+  }
+}
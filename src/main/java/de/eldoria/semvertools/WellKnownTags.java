@@ -0,0 +1,77 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * The table of shared {@link AlphanumericIdentifier} instances for commonly used tags.
+ * <p>
+ * The tags are read once from the system property {@value #PROPERTY} as a comma separated list,
+ * falling back to {@link #DEFAULT_TAGS}. Each tag gets a rank matching the natural order of its
+ * string, so two shared identifiers can be compared by their ranks alone.
+ */
+final class WellKnownTags {
+  static final String PROPERTY = "de.eldoria.semvertools.wellKnownTags";
+  static final String DEFAULT_TAGS = "alpha,beta,rc,RC,M,SNAPSHOT,dev,pre,build";
+  private static final AlphanumericIdentifier[] TABLE;
+  private static final int MASK;
+
+  static {
+    Set<String> tags = new LinkedHashSet<>();
+    for (String tag : System.getProperty(PROPERTY, DEFAULT_TAGS).split(",")) {
+      tag = tag.trim();
+      if (!tag.isEmpty()) {
+        tags.add(tag);
+      }
+    }
+    String[] sorted = tags.toArray(new String[0]);
+    Arrays.sort(sorted);
+    int capacity = Integer.highestOneBit(Math.max(1, sorted.length) * 2) << 1; // at most half full
+    TABLE = new AlphanumericIdentifier[capacity];
+    MASK = capacity - 1;
+    for (int rank = 0; rank < sorted.length; rank++) {
+      int slot = sorted[rank].hashCode() & MASK;
+      while (TABLE[slot] != null) {
+        slot = (slot + 1) & MASK;
+      }
+      TABLE[slot] = new AlphanumericIdentifier(sorted[rank], rank);
+    }
+  }
+
+  private WellKnownTags() {
+  }
+
+  static AlphanumericIdentifier intern(String tag) {
+    AlphanumericIdentifier shared = lookup(tag, 0, tag.length());
+    return shared != null ? shared : new AlphanumericIdentifier(tag);
+  }
+
+  /**
+   * Looks up the shared identifier for the chars in the given range without materializing them.
+   *
+   * @param chars the chars containing the tag.
+   * @param start the index of the first char of the tag.
+   * @param end   the index after the last char of the tag.
+   * @return the shared identifier, or {@code null} if the tag is not well-known.
+   */
+  static @Nullable AlphanumericIdentifier lookup(CharSequence chars, int start, int end) {
+    int hash = 0;
+    for (int i = start; i < end; i++) {
+      hash = 31 * hash + chars.charAt(i);
+    }
+    for (int slot = hash & MASK; ; slot = (slot + 1) & MASK) {
+      AlphanumericIdentifier candidate = TABLE[slot];
+      if (candidate == null) return null;
+      if (candidate.matches(chars, start, end)) return candidate;
+    }
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools.parser;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A read-only {@link CharSequence} view of ASCII bytes. Each byte is exposed as one char, no
+ * bytes are copied until {@link #substring(int, int)} or {@link #toString()} is called.
+ */
+abstract class AsciiCharSequence implements CharSequence {
+  final int offset;
+  final int length;
+
+  AsciiCharSequence(int offset, int length) {
+    this.offset = offset;
+    this.length = length;
+  }
+
+  static AsciiCharSequence of(byte[] bytes, int offset, int length) {
+    SinglePassSemVerParser.checkBounds(bytes.length, offset, length);
+    return new ByteArrayView(bytes, offset, length);
+  }
+
+  static AsciiCharSequence of(ByteBuffer buffer) {
+    if (buffer.hasArray()) {
+      return new ByteArrayView(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+    }
+    return new ByteBufferView(buffer, buffer.position(), buffer.remaining());
+  }
+
+  static AsciiCharSequence of(ByteBuffer buffer, int offset, int length) {
+    SinglePassSemVerParser.checkBounds(buffer.limit(), offset, length);
+    if (buffer.hasArray()) {
+      return new ByteArrayView(buffer.array(), buffer.arrayOffset() + offset, length);
+    }
+    return new ByteBufferView(buffer, offset, length);
+  }
+
+  /**
+   * Materializes the chars between {@code start} (inclusive) and {@code end} (exclusive).
+   *
+   * @param start the first index, relative to this view.
+   * @param end   the index after the last char, relative to this view.
+   * @return the chars as string.
+   */
+  abstract String substring(int start, int end);
+
+  @Override
+  public int length() {
+    return this.length;
+  }
+
+  @Override
+  public String toString() {
+    return substring(0, this.length);
+  }
+
+  private static final class ByteArrayView extends AsciiCharSequence {
+    private final byte[] bytes;
+
+    ByteArrayView(byte[] bytes, int offset, int length) {
+      super(offset, length);
+      this.bytes = bytes;
+    }
+
+    @Override
+    public char charAt(int index) {
+      return (char) (this.bytes[this.offset + index] & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+      return new ByteArrayView(this.bytes, this.offset + start, end - start);
+    }
+
+    @Override
+    String substring(int start, int end) {
+      return new String(this.bytes, this.offset + start, end - start, StandardCharsets.ISO_8859_1);
+    }
+  }
+
+  private static final class ByteBufferView extends AsciiCharSequence {
+    private final ByteBuffer buffer;
+
+    ByteBufferView(ByteBuffer buffer, int offset, int length) {
+      super(offset, length);
+      this.buffer = buffer;
+    }
+
+    @Override
+    public char charAt(int index) {
+      return (char) (this.buffer.get(this.offset + index) & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+      return new ByteBufferView(this.buffer, this.offset + start, end - start);
+    }
+
+    @Override
+    String substring(int start, int end) {
+      byte[] bytes = new byte[end - start];
+      for (int i = 0; i < bytes.length; i++) {
+        bytes[i] = this.buffer.get(this.offset + start + i);
+      }
+      return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+  }
+}
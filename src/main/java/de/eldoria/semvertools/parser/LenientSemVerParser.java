@@ -0,0 +1,235 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools.parser;
+
+import de.eldoria.semvertools.SemanticVersion;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Parses versions that don't strictly follow the semantic versioning specification, like
+ * {@code v1.2}, {@code 1.2.3.4} or {@code 1.02.0}, and coerces them into semantic versions.
+ * <p>
+ * The coercions are applied while the version string is scanned, there is no normalization pass
+ * before parsing. Each coercion can be disabled, the {@link Result} reports which ones were
+ * applied to a version string. Strings that are valid semantic versions are parsed exactly like
+ * {@link SemanticVersion#parse(String)} does. Instances are immutable and thread-safe.
+ */
+public final class LenientSemVerParser {
+  final String[] prefixes;
+  final boolean padMissingComponents;
+  final ExtraComponents extraComponents;
+  final boolean leadingZeros;
+
+  private LenientSemVerParser(Builder builder) {
+    this.prefixes = builder.prefixes;
+    this.padMissingComponents = builder.padMissingComponents;
+    this.extraComponents = builder.extraComponents;
+    this.leadingZeros = builder.leadingZeros;
+  }
+
+  /**
+   * Creates a parser with all coercions enabled, accepting the prefixes {@code v} and {@code V}
+   * and moving extra components to the build metadata.
+   *
+   * @return the parser.
+   */
+  public static LenientSemVerParser create() {
+    return builder().build();
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Parses and coerces the given version string.
+   *
+   * @param version the version string.
+   * @return the version and the applied coercions.
+   * @throws VersionParseException if the string is invalid even with the enabled coercions.
+   */
+  public Result parse(CharSequence version) {
+    SinglePassSemVerParser parser = new SinglePassSemVerParser(version, this);
+    return new Result(parser.parse(), parser.coercions());
+  }
+
+  /**
+   * What to do with numeric components after the patch version, e.g. the {@code 4} in
+   * {@code 1.2.3.4}.
+   */
+  public enum ExtraComponents {
+    /**
+     * Fails to parse the version string.
+     */
+    REJECT,
+    /**
+     * Ignores the extra components.
+     */
+    DROP,
+    /**
+     * Prepends the extra components to the build metadata, so {@code 1.2.3.4+b5} becomes
+     * {@code 1.2.3+4.b5}. They are kept as they are, including leading zeros, but don't affect
+     * the precedence.
+     */
+    BUILD
+  }
+
+  /**
+   * A deviation from the specification that was coerced.
+   */
+  public enum Coercion {
+    /**
+     * An accepted prefix like {@code v} was removed.
+     */
+    PREFIX,
+    /**
+     * A missing minor or patch version was set to {@code 0}.
+     */
+    PADDED,
+    /**
+     * Components after the patch version were dropped.
+     */
+    EXTRA_COMPONENTS_DROPPED,
+    /**
+     * Components after the patch version were moved to the build metadata.
+     */
+    EXTRA_COMPONENTS_MOVED_TO_BUILD,
+    /**
+     * Leading zeros of a core component or numeric pre-release identifier were removed. Build
+     * identifiers, including extra components moved to the build metadata, keep their leading
+     * zeros, as the specification allows them there.
+     */
+    LEADING_ZEROS
+  }
+
+  /**
+   * A parsed version and the coercions that were needed to parse it.
+   */
+  public static final class Result {
+    private final SemanticVersion version;
+    private final int coercions;
+
+    Result(SemanticVersion version, int coercions) {
+      this.version = version;
+      this.coercions = coercions;
+    }
+
+    public SemanticVersion version() {
+      return this.version;
+    }
+
+    /**
+     * Returns the coercions that were applied to the version string.
+     *
+     * @return an unmodifiable set of the coercions, empty for strict versions.
+     */
+    public Set<Coercion> coercions() {
+      EnumSet<Coercion> coercions = EnumSet.noneOf(Coercion.class);
+      for (Coercion coercion : Coercion.values()) {
+        if (isCoerced(coercion)) {
+          coercions.add(coercion);
+        }
+      }
+      return Collections.unmodifiableSet(coercions);
+    }
+
+    public boolean isCoerced(Coercion coercion) {
+      return (this.coercions & 1 << coercion.ordinal()) != 0;
+    }
+
+    /**
+     * Returns whether the version string was a strict semantic version.
+     *
+     * @return {@code true} if no coercion was applied.
+     */
+    public boolean isStrict() {
+      return this.coercions == 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      Result result = (Result) o;
+      return this.coercions == result.coercions && this.version.equals(result.version);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(this.version, this.coercions);
+    }
+
+    @Override
+    public String toString() {
+      return this.version + " " + coercions();
+    }
+  }
+
+  public static final class Builder {
+    private String[] prefixes = {"v", "V"};
+    private boolean padMissingComponents = true;
+    private ExtraComponents extraComponents = ExtraComponents.BUILD;
+    private boolean leadingZeros = true;
+
+    private Builder() {
+    }
+
+    /**
+     * Sets the prefixes that are removed from version strings. The first matching prefix is
+     * removed, at most one.
+     *
+     * @param prefixes the accepted prefixes, none to disable this coercion.
+     * @return this builder.
+     */
+    public Builder prefixes(String... prefixes) {
+      for (String prefix : prefixes) {
+        if (prefix.isEmpty()) {
+          throw new IllegalArgumentException("prefix must not be empty");
+        }
+      }
+      this.prefixes = prefixes.clone();
+      return this;
+    }
+
+    /**
+     * Sets whether missing minor and patch versions are set to {@code 0}, so {@code 1.2} becomes
+     * {@code 1.2.0} and {@code 1-SNAPSHOT} becomes {@code 1.0.0-SNAPSHOT}.
+     *
+     * @param padMissingComponents whether to pad missing components.
+     * @return this builder.
+     */
+    public Builder padMissingComponents(boolean padMissingComponents) {
+      this.padMissingComponents = padMissingComponents;
+      return this;
+    }
+
+    public Builder extraComponents(ExtraComponents extraComponents) {
+      this.extraComponents = Objects.requireNonNull(extraComponents, "extraComponents");
+      return this;
+    }
+
+    /**
+     * Sets whether leading zeros of numeric components and pre-release identifiers are removed,
+     * so {@code 1.02.0-rc.01} becomes {@code 1.2.0-rc.1}.
+     *
+     * @param leadingZeros whether to remove leading zeros.
+     * @return this builder.
+     */
+    public Builder leadingZeros(boolean leadingZeros) {
+      this.leadingZeros = leadingZeros;
+      return this;
+    }
+
+    public LenientSemVerParser build() {
+      return new LenientSemVerParser(this);
+    }
+  }
+}
@@ -0,0 +1,32 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools.parser;
+
+/**
+ * The reasons why {@link SinglePassSemVerParser} rejects an input. Recording a constant instead
+ * of a message keeps the failure path free of allocations, the message is built on request.
+ */
+enum ParseError {
+  BLANK("version string must not be blank"),
+  EXPECTED_NUMERIC("expected numeric"),
+  EXPECTED_DOT("expected '.'"),
+  EXPECTED_IDENTIFIER("expected identifier"),
+  LEADING_ZERO("no leading zero allowed"),
+  NUMBER_TOO_LARGE("number too large"),
+  HYPHEN_IN_BUILD("hyphen in build metadata without pre-release"),
+  UNEXPECTED_CHARACTER("unexpected character");
+
+  private final String message;
+
+  ParseError(String message) {
+    this.message = message;
+  }
+
+  String message() {
+    return this.message;
+  }
+}
@@ -0,0 +1,188 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools.parser;
+
+import de.eldoria.semvertools.SemanticVersion;
+
+import java.util.Comparator;
+
+/**
+ * Compares version strings by precedence without parsing them into versions.
+ * <p>
+ * Both strings are walked in lockstep, component by component, and the comparison stops at the
+ * first component that differs. For valid version strings, the result has the same sign as
+ * comparing the parsed versions with {@link SemanticVersion#compareTo}. Nothing is allocated
+ * unless a string is invalid.
+ * <p>
+ * Strings are only validated as far as they are read. An invalid component throws a
+ * {@link VersionParseException}, but anything after the first difference is not looked at, and
+ * neither is the build metadata, as it doesn't affect the precedence. Use
+ * {@link SemanticVersion#isValid(CharSequence)} if the strings need to be valid.
+ */
+public final class RawVersionComparator implements Comparator<CharSequence> {
+  private static final RawVersionComparator INSTANCE = new RawVersionComparator();
+
+  private RawVersionComparator() {
+  }
+
+  public static RawVersionComparator instance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Compares two version strings by precedence.
+   *
+   * @param left  the first version string.
+   * @param right the second version string.
+   * @return a negative number, zero or a positive number if {@code left} precedes, equals or
+   * succeeds {@code right}.
+   * @throws VersionParseException if a part of a string that needs to be read is invalid.
+   */
+  @Override
+  public int compare(CharSequence left, CharSequence right) {
+    int leftHead = 0;
+    int rightHead = 0;
+    for (int component = 0; component < 3; component++) {
+      if (component > 0) {
+        leftHead = skipDot(left, leftHead);
+        rightHead = skipDot(right, rightHead);
+      }
+      int leftEnd = skipNumeric(left, leftHead);
+      int rightEnd = skipNumeric(right, rightHead);
+      int cmp = compareNumbers(left, leftHead, leftEnd, right, rightHead, rightEnd);
+      if (cmp != 0) return cmp;
+      leftHead = leftEnd;
+      rightHead = rightEnd;
+    }
+    boolean leftPreRelease = isPreRelease(left, leftHead);
+    boolean rightPreRelease = isPreRelease(right, rightHead);
+    if (!leftPreRelease || !rightPreRelease) {
+      // a release has a higher precedence than its pre-releases
+      return Boolean.compare(!leftPreRelease, !rightPreRelease);
+    }
+    while (true) {
+      leftHead++; // skip the '-' or '.'
+      rightHead++;
+      int leftEnd = skipIdentifier(left, leftHead);
+      int rightEnd = skipIdentifier(right, rightHead);
+      int cmp = compareIdentifiers(left, leftHead, leftEnd, right, rightHead, rightEnd);
+      if (cmp != 0) return cmp;
+      boolean leftMore = hasNextIdentifier(left, leftEnd);
+      boolean rightMore = hasNextIdentifier(right, rightEnd);
+      if (!leftMore || !rightMore) {
+        // a larger set of pre-release identifiers has a higher precedence
+        return Boolean.compare(leftMore, rightMore);
+      }
+      leftHead = leftEnd;
+      rightHead = rightEnd;
+    }
+  }
+
+  private static int skipDot(CharSequence input, int head) {
+    if (head == input.length() || input.charAt(head) != '.') {
+      throw fail(input, head, ParseError.EXPECTED_DOT);
+    }
+    return head + 1;
+  }
+
+  // the index after the numeric starting at head, which must fit into an int
+  private static int skipNumeric(CharSequence input, int head) {
+    int end = head;
+    int value = 0;
+    for (; end < input.length(); end++) {
+      int digit = input.charAt(end) - '0';
+      if (digit < 0 || digit > 9) break;
+      if (value > (Integer.MAX_VALUE - digit) / 10) throw fail(input, head, ParseError.NUMBER_TOO_LARGE);
+      value = 10 * value + digit;
+    }
+    if (end == head) throw fail(input, head, ParseError.EXPECTED_NUMERIC);
+    if (end - head > 1 && input.charAt(head) == '0') throw fail(input, head, ParseError.LEADING_ZERO);
+    return end;
+  }
+
+  private static boolean isPreRelease(CharSequence input, int head) {
+    if (head == input.length()) return false;
+    char c = input.charAt(head);
+    if (c != '-' && c != '+') throw fail(input, head, ParseError.UNEXPECTED_CHARACTER);
+    return c == '-';
+  }
+
+  // the index after the identifier starting at head
+  private static int skipIdentifier(CharSequence input, int head) {
+    int end = head;
+    for (; end < input.length(); end++) {
+      char c = input.charAt(end);
+      if (!isDigit(c) && !isLetter(c) && c != '-') break;
+    }
+    if (end == head) throw fail(input, head, ParseError.EXPECTED_IDENTIFIER);
+    return end;
+  }
+
+  private static boolean hasNextIdentifier(CharSequence input, int head) {
+    if (head == input.length()) return false;
+    char c = input.charAt(head);
+    if (c != '.' && c != '+') throw fail(input, head, ParseError.UNEXPECTED_CHARACTER);
+    return c == '.';
+  }
+
+  private static int compareIdentifiers(
+      CharSequence left, int leftStart, int leftEnd,
+      CharSequence right, int rightStart, int rightEnd
+  ) {
+    boolean leftNumeric = isNumeric(left, leftStart, leftEnd);
+    boolean rightNumeric = isNumeric(right, rightStart, rightEnd);
+    if (leftNumeric && rightNumeric) {
+      return compareNumbers(left, leftStart, leftEnd, right, rightStart, rightEnd);
+    }
+    if (leftNumeric || rightNumeric) {
+      return leftNumeric ? -1 : 1; // numerical identifiers have a lower precedence
+    }
+    int length = Math.min(leftEnd - leftStart, rightEnd - rightStart);
+    for (int i = 0; i < length; i++) {
+      char l = left.charAt(leftStart + i);
+      char r = right.charAt(rightStart + i);
+      if (l != r) return l - r;
+    }
+    return (leftEnd - leftStart) - (rightEnd - rightStart);
+  }
+
+  private static boolean isNumeric(CharSequence input, int start, int end) {
+    for (int i = start; i < end; i++) {
+      if (!isDigit(input.charAt(i))) return false;
+    }
+    if (end - start > 1 && input.charAt(start) == '0') throw fail(input, start, ParseError.LEADING_ZERO);
+    return true;
+  }
+
+  // numbers without leading zeros, compared by their length first
+  private static int compareNumbers(
+      CharSequence left, int leftStart, int leftEnd,
+      CharSequence right, int rightStart, int rightEnd
+  ) {
+    int cmp = Integer.compare(leftEnd - leftStart, rightEnd - rightStart);
+    for (int i = 0; cmp == 0 && i < leftEnd - leftStart; i++) {
+      cmp = Character.compare(left.charAt(leftStart + i), right.charAt(rightStart + i));
+    }
+    return cmp;
+  }
+
+  private static boolean isDigit(char c) {
+    return '0' <= c && '9' >= c;
+  }
+
+  private static boolean isLetter(char c) {
+    return ('a' <= c && 'z' >= c) || ('A' <= c && 'Z' >= c);
+  }
+
+  private static VersionParseException fail(CharSequence input, int position, ParseError error) {
+    String reason = error == ParseError.UNEXPECTED_CHARACTER
+        ? error.message() + " '" + input.charAt(position) + "'"
+        : error.message();
+    return new VersionParseException("Could not compare version string '" + input + "': " + reason
+        + " at position " + position);
+  }
+}
@@ -9,6 +9,7 @@ package de.eldoria.semvertools.parser;
 import de.eldoria.semvertools.*;
 import org.jetbrains.annotations.ApiStatus;
 
+import java.math.BigInteger;
 import java.util.*;
 
 @ApiStatus.Internal
@@ -64,9 +65,12 @@ public class SemVerParser {
     Token token = this.tokens.element();
     switch (token.type()) {
       case NUMERIC:
-        int i = Integer.parseInt(token.id()
-            .orElseThrow(() -> new IllegalStateException("NUMERIC without id")));
-        identifiers.add(Identifier.of(i));
+        String digits = token.id()
+            .orElseThrow(() -> new IllegalStateException("NUMERIC without id"));
+        // up to 18 digits always fit into a long
+        identifiers.add(digits.length() <= 18
+            ? Identifier.of(Long.parseLong(digits))
+            : Identifier.of(new BigInteger(digits)));
         this.tokens.remove();
         break;
       case ALPHABETIC:
@@ -130,6 +134,7 @@ public class SemVerParser {
     for (int i = 0; i < raw.length(); i++) {
       int charAsInt = raw.charAt(i) - '0';
       if (charAsInt < 0 || charAsInt > 9) throw new NumberFormatException(raw);
+      if (result > (Integer.MAX_VALUE - charAsInt) / 10) throw new VersionParseException("Number too large");
       result = 10 * result + charAsInt;
     }
     return result;
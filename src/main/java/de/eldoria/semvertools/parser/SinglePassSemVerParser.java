@@ -0,0 +1,545 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools.parser;
+
+import de.eldoria.semvertools.Build;
+import de.eldoria.semvertools.Identifier;
+import de.eldoria.semvertools.Instrumentation;
+import de.eldoria.semvertools.ParseListener;
+import de.eldoria.semvertools.PreRelease;
+import de.eldoria.semvertools.SemanticVersion;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A parser that reads a version string in a single pass, without producing intermediate tokens.
+ * Numeric components are decoded directly from the input characters, only the identifiers of
+ * the pre-release and build sections are materialized as strings.
+ * <p>
+ * The input can be any slice of a {@link CharSequence}, or ASCII bytes from a {@code byte[]} or
+ * {@link ByteBuffer}. Bytes are read in place and not decoded up front.
+ * <p>
+ * Use {@link #tryParse()} to check many version strings without paying for an exception per
+ * invalid string. Its failures are signalled with a shared exception without stack trace, the
+ * reason is kept in the parser instead. {@link #isValid(CharSequence, int, int)} only checks the
+ * syntax and doesn't allocate at all.
+ * <p>
+ * {@link SemVerLexer} and {@link SemVerParser} are kept as the reference implementation.
+ */
+@ApiStatus.Internal
+public final class SinglePassSemVerParser {
+  private static final Failure FAILURE = new Failure();
+  private static final ParseError[] ERRORS = ParseError.values();
+  private final CharSequence input;
+  private final int start;
+  private final int end;
+  private final @Nullable LenientSemVerParser lenient;
+  private int head;
+  private int coercions;
+  private @Nullable ParseError failure;
+  private int failurePosition = -1;
+
+  public SinglePassSemVerParser(CharSequence input) {
+    this(input, 0, input.length());
+  }
+
+  public SinglePassSemVerParser(CharSequence input, int offset, int length) {
+    this(input, offset, length, null);
+  }
+
+  /**
+   * Creates a parser that coerces non-strict versions as configured by the lenient parser.
+   *
+   * @param input   the version string.
+   * @param lenient the enabled coercions.
+   */
+  SinglePassSemVerParser(CharSequence input, @Nullable LenientSemVerParser lenient) {
+    this(input, 0, input.length(), lenient);
+  }
+
+  private SinglePassSemVerParser(CharSequence input, int offset, int length, @Nullable LenientSemVerParser lenient) {
+    checkBounds(input.length(), offset, length);
+    this.input = input;
+    this.start = offset;
+    this.end = offset + length;
+    this.head = offset;
+    this.lenient = lenient;
+  }
+
+  public SinglePassSemVerParser(byte[] ascii, int offset, int length) {
+    this(AsciiCharSequence.of(ascii, offset, length));
+  }
+
+  /**
+   * Creates a parser for the remaining bytes of the given buffer. The position of the buffer is
+   * not changed by parsing.
+   *
+   * @param ascii the buffer containing the ASCII encoded version string.
+   */
+  public SinglePassSemVerParser(ByteBuffer ascii) {
+    this(AsciiCharSequence.of(ascii));
+  }
+
+  /**
+   * Creates a parser for the given range of the buffer, independent of its position and limit.
+   * Neither is changed by parsing.
+   *
+   * @param ascii  the buffer containing the ASCII encoded version string.
+   * @param offset the absolute index of the first byte of the version string.
+   * @param length the number of bytes of the version string.
+   */
+  public SinglePassSemVerParser(ByteBuffer ascii, int offset, int length) {
+    this(AsciiCharSequence.of(ascii, offset, length));
+  }
+
+  public SemanticVersion parse() {
+    SemanticVersion version = tryParse();
+    if (version == null) {
+      throw new VersionParseException("Could not parse version string '" + slice(this.start, this.end)
+          + "': " + failureReason() + " at position " + this.failurePosition);
+    }
+    return version;
+  }
+
+  /**
+   * Parses the input like {@link #parse()}, but returns {@code null} instead of throwing if the
+   * input is not a valid version. The reason is available from {@link #failureReason()}.
+   * <p>
+   * Both methods notify the {@link Instrumentation#listener() registered listener}, if there is
+   * one.
+   *
+   * @return the parsed version, or {@code null} if the input is invalid.
+   */
+  public @Nullable SemanticVersion tryParse() {
+    ParseListener listener = Instrumentation.listener();
+    long startTime = listener == null ? 0 : System.nanoTime();
+    try {
+      SemanticVersion version = parseVersion();
+      if (listener != null) {
+        listener.parsed(this.end - this.start, System.nanoTime() - startTime);
+      }
+      return version;
+    } catch (Failure e) {
+      if (listener != null && this.failure != null) {
+        listener.failed(this.end - this.start, this.failure.message());
+      }
+      return null;
+    }
+  }
+
+  /**
+   * Checks whether the given range of a char sequence is a valid version string, accepting
+   * exactly the inputs {@link #parse()} accepts. Neither a version nor any identifier is
+   * created, so this method doesn't allocate.
+   *
+   * @param input  the char sequence containing the version string.
+   * @param offset the index of the first char of the version string.
+   * @param length the number of chars of the version string.
+   * @return {@code true} if the range contains a valid version string.
+   */
+  public static boolean isValid(CharSequence input, int offset, int length) {
+    checkBounds(input.length(), offset, length);
+    int end = offset + length;
+    int head = skipNumeric(input, offset, end);
+    if (head < 0 || head == end || input.charAt(head) != '.') return false;
+    head = skipNumeric(input, head + 1, end);
+    if (head < 0 || head == end || input.charAt(head) != '.') return false;
+    head = skipNumeric(input, head + 1, end);
+    if (head < 0) return false;
+    boolean preRelease = head < end && input.charAt(head) == '-';
+    if (preRelease) {
+      head = skipIdentifiers(input, head + 1, end, false, true);
+      if (head < 0) return false;
+    }
+    if (head < end && input.charAt(head) == '+') {
+      head = skipIdentifiers(input, head + 1, end, true, preRelease);
+      if (head < 0) return false;
+    }
+    return head == end;
+  }
+
+  /**
+   * Parses the dot separated identifiers in the given range of a char sequence, e.g. the
+   * pre-release of a version string which was validated before. Hyphens are accepted in either
+   * section, whether a hyphen may appear in the build depends on the rest of the version.
+   *
+   * @param input the char sequence containing the identifiers.
+   * @param start the index of the first char of the identifiers.
+   * @param end   the index after the last char of the identifiers.
+   * @param build whether the identifiers are build metadata, which may have leading zeros.
+   * @return the identifiers.
+   */
+  public static List<Identifier> parseIdentifiers(CharSequence input, int start, int end, boolean build) {
+    SinglePassSemVerParser parser = new SinglePassSemVerParser(input, start, end - start);
+    try {
+      List<Identifier> identifiers = parser.parseIdentifiers(build, true);
+      if (parser.head != end) {
+        throw parser.fail(ParseError.UNEXPECTED_CHARACTER);
+      }
+      return identifiers;
+    } catch (Failure e) {
+      throw new VersionParseException("Could not parse identifiers '" + parser.slice(start, end)
+          + "': " + parser.failureReason() + " at position " + parser.failurePosition);
+    }
+  }
+
+  // the index after a valid numeric starting at head, or -1
+  private static int skipNumeric(CharSequence input, int head, int end) {
+    int mark = head;
+    int value = 0;
+    for (; head < end; head++) {
+      int digit = input.charAt(head) - '0';
+      if (digit < 0 || digit > 9) break;
+      if (value > (Integer.MAX_VALUE - digit) / 10) return -1;
+      value = 10 * value + digit;
+    }
+    if (mark == head || (head - mark > 1 && input.charAt(mark) == '0')) return -1;
+    return head;
+  }
+
+  // the index after valid dot separated identifiers starting at head, or -1, see parseIdentifier
+  private static int skipIdentifiers(CharSequence input, int head, int end, boolean build, boolean hyphens) {
+    while (true) {
+      int mark = head;
+      boolean numeric = true;
+      for (; head < end; head++) {
+        char c = input.charAt(head);
+        if (isLetter(c) || c == '-') {
+          if (c == '-' && !hyphens) return -1;
+          numeric = false;
+        } else if (!isDigit(c)) {
+          break;
+        }
+      }
+      if (mark == head) return -1;
+      if (numeric && !build && head - mark > 1 && input.charAt(mark) == '0') return -1;
+      if (head == end || input.charAt(head) != '.') return head;
+      head++;
+    }
+  }
+
+  /**
+   * Returns why the last call to {@link #tryParse()} failed. The message is only built when
+   * this method is called.
+   *
+   * @return the reason, or {@code null} if parsing did not fail.
+   */
+  public @Nullable String failureReason() {
+    if (this.failure == null) {
+      return null;
+    }
+    return failureReason(this.failure.ordinal(), failureCharacter());
+  }
+
+  /**
+   * Returns a compact code for why the last call to {@link #tryParse()} failed, to be turned into
+   * a message later by {@link #failureReason(int, char)}.
+   *
+   * @return the code, or {@code -1} if parsing did not fail.
+   */
+  public int failureCode() {
+    return this.failure == null ? -1 : this.failure.ordinal();
+  }
+
+  /**
+   * Returns the char at which the last call to {@link #tryParse()} failed.
+   *
+   * @return the char, or {@code '\0'} if parsing did not fail or failed at the end of the input.
+   */
+  public char failureCharacter() {
+    int position = this.start + this.failurePosition;
+    return this.failure == null || position >= this.end ? '\0' : this.input.charAt(position);
+  }
+
+  /**
+   * Returns the message for a {@link #failureCode() failure code}.
+   *
+   * @param code      the failure code.
+   * @param character the {@link #failureCharacter() char} at the failure position, which is part
+   *                  of some messages.
+   * @return the reason.
+   */
+  public static String failureReason(int code, char character) {
+    ParseError failure = ERRORS[code];
+    if (failure == ParseError.UNEXPECTED_CHARACTER) {
+      return failure.message() + " '" + character + "'";
+    }
+    return failure.message();
+  }
+
+  /**
+   * Returns the position relative to the start of the input at which parsing failed.
+   *
+   * @return the position, or {@code -1} if parsing did not fail.
+   */
+  public int failurePosition() {
+    return this.failurePosition;
+  }
+
+  private SemanticVersion parseVersion() {
+    if (this.start == this.end) {
+      throw fail(ParseError.BLANK);
+    }
+    if (this.lenient != null) {
+      skipPrefix(this.lenient);
+    }
+    int major = parseNumeric();
+    int minor = 0;
+    int patch = 0;
+    if (isMissingComponent()) {
+      coerce(LenientSemVerParser.Coercion.PADDED);
+    } else {
+      expectDot();
+      minor = parseNumeric();
+      if (isMissingComponent()) {
+        coerce(LenientSemVerParser.Coercion.PADDED);
+      } else {
+        expectDot();
+        patch = parseNumeric();
+      }
+    }
+    @Nullable List<Identifier> extra = null;
+    if (this.lenient != null && this.lenient.extraComponents != LenientSemVerParser.ExtraComponents.REJECT
+        && this.head < this.end && this.input.charAt(this.head) == '.') {
+      extra = parseExtraComponents(this.lenient);
+    }
+    if (this.head == this.end && extra == null) {
+      return SemanticVersion.of(major, minor, patch);
+    }
+    @Nullable PreRelease preRelease = null;
+    @Nullable Build build = null;
+    if (this.head < this.end && this.input.charAt(this.head) == '-') {
+      this.head++;
+      preRelease = PreRelease.of(parseIdentifiers(false, true));
+    }
+    if (this.head < this.end && this.input.charAt(this.head) == '+') {
+      this.head++;
+      // the first hyphen always starts the pre-release, so it must not appear in the build of a release
+      List<Identifier> identifiers = parseIdentifiers(true, preRelease != null);
+      if (extra != null) {
+        extra.addAll(identifiers);
+        identifiers = extra;
+      }
+      build = Build.of(identifiers);
+    } else if (extra != null) {
+      build = Build.of(extra);
+    }
+    if (this.head != this.end) {
+      throw fail(ParseError.UNEXPECTED_CHARACTER);
+    }
+    return SemanticVersion.of(major, minor, patch, preRelease, build);
+  }
+
+  private void skipPrefix(LenientSemVerParser lenient) {
+    for (String prefix : lenient.prefixes) {
+      int length = prefix.length();
+      if (length > this.end - this.head) continue;
+      int i = 0;
+      while (i < length && this.input.charAt(this.head + i) == prefix.charAt(i)) i++;
+      if (i == length) {
+        this.head += length;
+        coerce(LenientSemVerParser.Coercion.PREFIX);
+        return;
+      }
+    }
+  }
+
+  // whether a lenient parser should pad the minor or patch version
+  private boolean isMissingComponent() {
+    return this.lenient != null && this.lenient.padMissingComponents
+        && (this.head == this.end || this.input.charAt(this.head) != '.');
+  }
+
+  // numeric components after the patch version, or null if they are dropped
+  private @Nullable List<Identifier> parseExtraComponents(LenientSemVerParser lenient) {
+    List<Identifier> extra = new ArrayList<>();
+    while (this.head < this.end && this.input.charAt(this.head) == '.') {
+      this.head++;
+      extra.add(parseExtraComponent());
+    }
+    if (lenient.extraComponents == LenientSemVerParser.ExtraComponents.DROP) {
+      coerce(LenientSemVerParser.Coercion.EXTRA_COMPONENTS_DROPPED);
+      return null;
+    }
+    coerce(LenientSemVerParser.Coercion.EXTRA_COMPONENTS_MOVED_TO_BUILD);
+    return extra;
+  }
+
+  // an extra component ends up in the build metadata, so like a build identifier it keeps its
+  // leading zeros and may exceed the range of the core components
+  private Identifier parseExtraComponent() {
+    int mark = this.head;
+    boolean overflow = false;
+    long value = 0;
+    for (; this.head < this.end && isDigit(this.input.charAt(this.head)); this.head++) {
+      int digit = this.input.charAt(this.head) - '0';
+      if (value > (Long.MAX_VALUE - digit) / 10) {
+        overflow = true;
+      }
+      value = 10 * value + digit;
+    }
+    if (mark == this.head) {
+      throw fail(ParseError.EXPECTED_NUMERIC);
+    }
+    if (this.head - mark > 1 && this.input.charAt(mark) == '0') {
+      return Identifier.of(this.input, mark, this.head);
+    }
+    if (overflow) {
+      return Identifier.of(new BigInteger(slice(mark, this.head)));
+    }
+    return Identifier.of(value);
+  }
+
+  private void coerce(LenientSemVerParser.Coercion coercion) {
+    this.coercions |= 1 << coercion.ordinal();
+  }
+
+  /**
+   * Returns the coercions applied by the last call to {@link #parse()} or {@link #tryParse()}.
+   *
+   * @return the coercions as a bit set of their ordinals.
+   */
+  int coercions() {
+    return this.coercions;
+  }
+
+  private boolean allowLeadingZeros() {
+    if (this.lenient == null || !this.lenient.leadingZeros) {
+      return false;
+    }
+    coerce(LenientSemVerParser.Coercion.LEADING_ZEROS);
+    return true;
+  }
+
+  // build identifiers may have leading zeros, hyphens are only allowed if the pre-release started before
+  private List<Identifier> parseIdentifiers(boolean build, boolean hyphens) {
+    List<Identifier> identifiers = new ArrayList<>();
+    while (true) {
+      identifiers.add(parseIdentifier(build, hyphens));
+      if (this.head == this.end || this.input.charAt(this.head) != '.') {
+        return identifiers;
+      }
+      this.head++;
+    }
+  }
+
+  private Identifier parseIdentifier(boolean build, boolean hyphens) {
+    int mark = this.head;
+    boolean numeric = true;
+    boolean overflow = false;
+    long value = 0;
+    for (; this.head < this.end; this.head++) {
+      char c = this.input.charAt(this.head);
+      if (isDigit(c)) {
+        int digit = c - '0';
+        if (value > (Long.MAX_VALUE - digit) / 10) {
+          overflow = true;
+        }
+        value = 10 * value + digit;
+      } else if (isLetter(c) || c == '-') {
+        if (c == '-' && !hyphens) {
+          throw fail(ParseError.HYPHEN_IN_BUILD);
+        }
+        numeric = false;
+      } else {
+        break;
+      }
+    }
+    if (mark == this.head) {
+      throw fail(ParseError.EXPECTED_IDENTIFIER);
+    }
+    if (!numeric) {
+      return Identifier.of(this.input, mark, this.head);
+    }
+    if (this.head - mark > 1 && this.input.charAt(mark) == '0') {
+      // build metadata is not compared, so it can keep the raw digits
+      if (build) {
+        return Identifier.of(this.input, mark, this.head);
+      }
+      if (!allowLeadingZeros()) {
+        throw fail(mark, ParseError.LEADING_ZERO);
+      }
+    }
+    if (overflow) {
+      // only digit runs too long for a long take the slow path
+      return Identifier.of(new BigInteger(slice(mark, this.head)));
+    }
+    return Identifier.of(value);
+  }
+
+  private int parseNumeric() {
+    int mark = this.head;
+    int value = 0;
+    for (; this.head < this.end; this.head++) {
+      int digit = this.input.charAt(this.head) - '0';
+      if (digit < 0 || digit > 9) break;
+      if (value > (Integer.MAX_VALUE - digit) / 10) {
+        throw fail(mark, ParseError.NUMBER_TOO_LARGE);
+      }
+      value = 10 * value + digit;
+    }
+    if (mark == this.head) {
+      throw fail(ParseError.EXPECTED_NUMERIC);
+    }
+    if (this.head - mark > 1 && this.input.charAt(mark) == '0' && !allowLeadingZeros()) {
+      throw fail(mark, ParseError.LEADING_ZERO);
+    }
+    return value;
+  }
+
+  private void expectDot() {
+    if (this.head == this.end || this.input.charAt(this.head) != '.') {
+      throw fail(ParseError.EXPECTED_DOT);
+    }
+    this.head++;
+  }
+
+  private String slice(int from, int to) {
+    if (this.input instanceof AsciiCharSequence) {
+      return ((AsciiCharSequence) this.input).substring(from, to);
+    }
+    return this.input.subSequence(from, to).toString();
+  }
+
+  private Failure fail(ParseError error) {
+    return fail(this.head, error);
+  }
+
+  private Failure fail(int position, ParseError error) {
+    this.failure = error;
+    this.failurePosition = position - this.start;
+    return FAILURE;
+  }
+
+  static void checkBounds(int size, int offset, int length) {
+    if (offset < 0 || length < 0 || offset > size - length) {
+      throw new IndexOutOfBoundsException("offset " + offset + " and length " + length
+          + " out of bounds for size " + size);
+    }
+  }
+
+  private static boolean isDigit(char c) {
+    return '0' <= c && '9' >= c;
+  }
+
+  private static boolean isLetter(char c) {
+    return ('a' <= c && 'z' >= c) || ('A' <= c && 'Z' >= c);
+  }
+
+  private static final class Failure extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    Failure() {
+      super(null, null, false, false);
+    }
+  }
+}
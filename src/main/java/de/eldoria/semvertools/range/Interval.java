@@ -0,0 +1,145 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools.range;
+
+import de.eldoria.semvertools.SemanticVersion;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+
+/**
+ * A contiguous range of versions, ordered by precedence. A missing bound is unbounded.
+ */
+final class Interval {
+  static final Interval ANY = new Interval(null, false, null, false);
+  static final Interval NONE = new Interval(SemanticVersion.of(0, 0, 0), false, SemanticVersion.of(0, 0, 0), false);
+  private final @Nullable SemanticVersion lower;
+  private final boolean lowerInclusive;
+  private final @Nullable SemanticVersion upper;
+  private final boolean upperInclusive;
+
+  Interval(
+      @Nullable SemanticVersion lower,
+      boolean lowerInclusive,
+      @Nullable SemanticVersion upper,
+      boolean upperInclusive
+  ) {
+    this.lower = lower;
+    this.lowerInclusive = lowerInclusive;
+    this.upper = upper;
+    this.upperInclusive = upperInclusive;
+  }
+
+  static Interval atLeast(SemanticVersion lower, boolean inclusive) {
+    return new Interval(lower, inclusive, null, false);
+  }
+
+  static Interval atMost(@Nullable SemanticVersion upper, boolean inclusive) {
+    return new Interval(null, false, upper, inclusive);
+  }
+
+  static Interval between(SemanticVersion lower, @Nullable SemanticVersion upperExclusive) {
+    return new Interval(lower, true, upperExclusive, false);
+  }
+
+  @Nullable SemanticVersion lower() {
+    return this.lower;
+  }
+
+  @Nullable SemanticVersion upper() {
+    return this.upper;
+  }
+
+  boolean lowerInclusive() {
+    return this.lowerInclusive;
+  }
+
+  boolean upperInclusive() {
+    return this.upperInclusive;
+  }
+
+  boolean contains(SemanticVersion version) {
+    if (this.lower != null) {
+      int cmp = version.compareTo(this.lower);
+      if (cmp < 0 || (cmp == 0 && !this.lowerInclusive)) return false;
+    }
+    if (this.upper != null) {
+      int cmp = version.compareTo(this.upper);
+      if (cmp > 0 || (cmp == 0 && !this.upperInclusive)) return false;
+    }
+    return true;
+  }
+
+  boolean isEmpty() {
+    if (this.lower == null || this.upper == null) return false;
+    int cmp = this.lower.compareTo(this.upper);
+    return cmp > 0 || (cmp == 0 && !(this.lowerInclusive && this.upperInclusive));
+  }
+
+  Interval intersect(Interval other) {
+    SemanticVersion lower = this.lower;
+    boolean lowerInclusive = this.lowerInclusive;
+    if (other.lower != null) {
+      int cmp = lower == null ? -1 : lower.compareTo(other.lower);
+      if (cmp < 0) {
+        lower = other.lower;
+        lowerInclusive = other.lowerInclusive;
+      } else if (cmp == 0) {
+        lowerInclusive &= other.lowerInclusive;
+      }
+    }
+    SemanticVersion upper = this.upper;
+    boolean upperInclusive = this.upperInclusive;
+    if (other.upper != null) {
+      int cmp = upper == null ? 1 : upper.compareTo(other.upper);
+      if (cmp > 0) {
+        upper = other.upper;
+        upperInclusive = other.upperInclusive;
+      } else if (cmp == 0) {
+        upperInclusive &= other.upperInclusive;
+      }
+    }
+    return new Interval(lower, lowerInclusive, upper, upperInclusive);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    Interval that = (Interval) o;
+    return lowerInclusive == that.lowerInclusive && upperInclusive == that.upperInclusive
+        && Objects.equals(lower, that.lower) && Objects.equals(upper, that.upper);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(lower, lowerInclusive, upper, upperInclusive);
+  }
+
+  @Override
+  public String toString() {
+    if (this.lower == null && this.upper == null) {
+      return "*";
+    }
+    if (this.lower != null && this.lowerInclusive && this.upperInclusive && this.lower.equals(this.upper)) {
+      return "=" + this.lower;
+    }
+    StringBuilder builder = new StringBuilder();
+    if (this.lower != null) {
+      builder.append(this.lowerInclusive ? ">=" : ">");
+      this.lower.appendTo(builder);
+    }
+    if (this.upper != null) {
+      if (builder.length() > 0) {
+        builder.append(' ');
+      }
+      builder.append(this.upperInclusive ? "<=" : "<");
+      this.upper.appendTo(builder);
+    }
+    return builder.toString();
+  }
+}
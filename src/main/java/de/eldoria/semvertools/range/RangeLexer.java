@@ -0,0 +1,93 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools.range;
+
+import de.eldoria.semvertools.parser.VersionParseException;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits a range expression like {@code >=1.2.0 <2.0.0 || ^3.1} into tokens. Versions are kept
+ * as raw text, they are interpreted by the {@link RangeParser}.
+ */
+@ApiStatus.Internal
+public class RangeLexer {
+
+  public List<RangeToken> lex(String expression) {
+    try {
+      return lexInternal(expression);
+    } catch (VersionParseException e) {
+      throw new VersionParseException("Could not parse range expression '" + expression + "'", e);
+    }
+  }
+
+  private List<RangeToken> lexInternal(String expression) {
+    List<RangeToken> tokens = new ArrayList<>();
+    int head = 0;
+    while (head < expression.length()) {
+      char c = expression.charAt(head);
+      int start = head;
+      switch (c) {
+        case ' ':
+        case '\t':
+          head++;
+          break;
+        case '>':
+        case '<':
+          head++;
+          boolean orEqual = head < expression.length() && expression.charAt(head) == '=';
+          if (orEqual) head++;
+          RangeTokenType type = c == '>'
+              ? (orEqual ? RangeTokenType.GREATER_EQUAL : RangeTokenType.GREATER)
+              : (orEqual ? RangeTokenType.LESS_EQUAL : RangeTokenType.LESS);
+          tokens.add(RangeToken.of(type, expression.substring(start, head), start));
+          break;
+        case '=':
+          tokens.add(RangeToken.of(RangeTokenType.EQUAL, "=", head++));
+          break;
+        case '^':
+          tokens.add(RangeToken.of(RangeTokenType.CARET, "^", head++));
+          break;
+        case '~':
+          tokens.add(RangeToken.of(RangeTokenType.TILDE, "~", head++));
+          break;
+        case '|':
+          if (head + 1 >= expression.length() || expression.charAt(head + 1) != '|') {
+            throw new VersionParseException("Expected '||' at position " + head);
+          }
+          head += 2;
+          tokens.add(RangeToken.of(RangeTokenType.OR, "||", start));
+          break;
+        case '-':
+          head++;
+          tokens.add(RangeToken.of(RangeTokenType.HYPHEN, "-", start));
+          break;
+        default:
+          if (!isVersionStart(c)) {
+            throw new VersionParseException("Unexpected character '" + c + "' at position " + head);
+          }
+          while (head < expression.length() && isVersionPart(expression.charAt(head))) {
+            head++;
+          }
+          tokens.add(RangeToken.of(RangeTokenType.VERSION, expression.substring(start, head), start));
+          break;
+      }
+    }
+    return tokens;
+  }
+
+  private boolean isVersionStart(char c) {
+    return ('0' <= c && '9' >= c) || c == 'x' || c == 'X' || c == '*' || c == 'v';
+  }
+
+  private boolean isVersionPart(char c) {
+    return ('0' <= c && '9' >= c) || ('a' <= c && 'z' >= c) || ('A' <= c && 'Z' >= c)
+        || c == '.' || c == '-' || c == '+' || c == '*';
+  }
+}
@@ -0,0 +1,274 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools.range;
+
+import de.eldoria.semvertools.Identifier;
+import de.eldoria.semvertools.PreRelease;
+import de.eldoria.semvertools.SemanticVersion;
+import de.eldoria.semvertools.parser.VersionParseException;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Compiles the tokens of a range expression into a {@link VersionRange}. Every comparator set is
+ * desugared into a single interval of the form {@code >=lower <upper}.
+ */
+@ApiStatus.Internal
+public class RangeParser {
+  private static final int WILDCARD = -1;
+  private static final PreRelease LOWEST = PreRelease.of(Collections.singletonList(Identifier.of(0)));
+
+  private final String rawExpression;
+  private final Queue<RangeToken> tokens;
+
+  public RangeParser(String rawExpression, Collection<RangeToken> tokens) {
+    this.rawExpression = rawExpression;
+    this.tokens = new ArrayDeque<>(tokens);
+  }
+
+  public VersionRange parse() {
+    try {
+      List<Interval> intervals = new ArrayList<>();
+      while (true) {
+        Interval interval = parseSet();
+        if (!interval.isEmpty() && !intervals.contains(interval)) {
+          intervals.add(interval);
+        }
+        if (this.tokens.isEmpty()) break;
+        this.tokens.remove(); // OR, parseSet stops at nothing else
+      }
+      return new VersionRange(this.rawExpression, intervals);
+    } catch (VersionParseException e) {
+      throw new VersionParseException("Failed to parse range expression '" + this.rawExpression + "'", e);
+    }
+  }
+
+  private Interval parseSet() {
+    Interval interval = Interval.ANY;
+    while (!this.tokens.isEmpty() && this.tokens.element().type() != RangeTokenType.OR) {
+      RangeToken token = this.tokens.remove();
+      switch (token.type()) {
+        case VERSION:
+          if (!this.tokens.isEmpty() && this.tokens.element().type() == RangeTokenType.HYPHEN) {
+            this.tokens.remove();
+            Partial to = partial(expectVersion(token));
+            interval = interval.intersect(hyphen(partial(token), to));
+          } else {
+            interval = interval.intersect(equal(partial(token)));
+          }
+          break;
+        case EQUAL:
+          interval = interval.intersect(equal(partial(expectVersion(token))));
+          break;
+        case GREATER:
+          interval = interval.intersect(greater(partial(expectVersion(token))));
+          break;
+        case GREATER_EQUAL:
+          interval = interval.intersect(greaterEqual(partial(expectVersion(token))));
+          break;
+        case LESS:
+          interval = interval.intersect(less(partial(expectVersion(token))));
+          break;
+        case LESS_EQUAL:
+          interval = interval.intersect(lessEqual(partial(expectVersion(token))));
+          break;
+        case CARET:
+          interval = interval.intersect(caret(partial(expectVersion(token))));
+          break;
+        case TILDE:
+          interval = interval.intersect(tilde(partial(expectVersion(token))));
+          break;
+        default:
+          throw new VersionParseException("Unexpected '" + token.text() + "' at position " + token.position());
+      }
+    }
+    return interval;
+  }
+
+  private RangeToken expectVersion(RangeToken previous) {
+    RangeToken token = this.tokens.poll();
+    if (token == null || token.type() != RangeTokenType.VERSION) {
+      int position = token == null ? this.rawExpression.length() : token.position();
+      throw new VersionParseException("Expected version after '" + previous.text() + "' at position " + position);
+    }
+    return token;
+  }
+
+  private Partial partial(RangeToken token) {
+    String text = token.text();
+    int start = text.charAt(0) == 'v' ? 1 : 0;
+    int end = start;
+    while (end < text.length() && text.charAt(end) != '-' && text.charAt(end) != '+') {
+      end++;
+    }
+    int[] components = {WILDCARD, WILDCARD, WILDCARD};
+    int component = 0;
+    int head = start;
+    while (head <= end) {
+      int next = text.indexOf('.', head);
+      if (next < 0 || next > end) next = end;
+      if (component == components.length) {
+        throw new VersionParseException("Too many components in version '" + text + "' at position " + token.position());
+      }
+      components[component++] = component(text, head, next, token.position());
+      head = next + 1;
+    }
+    for (int i = 1; i < component; i++) {
+      if (components[i - 1] == WILDCARD && components[i] != WILDCARD) {
+        throw new VersionParseException("Wildcard must not be followed by a number in version '" + text
+            + "' at position " + token.position());
+      }
+    }
+    if (end == text.length()) {
+      return new Partial(components[0], components[1], components[2], null);
+    }
+    if (components[2] == WILDCARD) {
+      throw new VersionParseException("Partial version '" + text + "' must not have a pre-release or build at position "
+          + token.position());
+    }
+    SemanticVersion version = SemanticVersion.parse(text.substring(start));
+    return new Partial(components[0], components[1], components[2], version.preRelease().orElse(null));
+  }
+
+  private int component(String text, int start, int end, int position) {
+    if (end - start == 1 && isWildcard(text.charAt(start))) {
+      return WILDCARD;
+    }
+    if (start == end) {
+      throw new VersionParseException("Empty component in version '" + text + "' at position " + (position + start));
+    }
+    if (text.charAt(start) == '0' && end - start > 1) {
+      throw new VersionParseException("Leading zero in version '" + text + "' at position " + (position + start));
+    }
+    int value = 0;
+    for (int i = start; i < end; i++) {
+      char c = text.charAt(i);
+      if (c < '0' || c > '9') {
+        throw new VersionParseException("Unexpected character '" + c + "' in version '" + text
+            + "' at position " + (position + i));
+      }
+      if (value > (Integer.MAX_VALUE - (c - '0')) / 10) {
+        throw new VersionParseException("Number too large in version '" + text + "' at position " + (position + start));
+      }
+      value = value * 10 + (c - '0');
+    }
+    return value;
+  }
+
+  private static boolean isWildcard(char c) {
+    return c == 'x' || c == 'X' || c == '*';
+  }
+
+  // =1.2.3 is exactly that version, =1.2 is the same as 1.2.x
+  private static Interval equal(Partial p) {
+    if (p.major == WILDCARD) return Interval.ANY;
+    if (p.minor == WILDCARD) return Interval.between(p.lower(), nextMajor(p.major));
+    if (p.patch == WILDCARD) return Interval.between(p.lower(), nextMinor(p.major, p.minor));
+    SemanticVersion version = p.version();
+    return new Interval(version, true, version, true);
+  }
+
+  // >1.2 means larger than any 1.2.x, so it's the same as >=1.3.0-0
+  private static Interval greater(Partial p) {
+    if (p.major == WILDCARD) return Interval.NONE;
+    if (p.minor == WILDCARD) return atLeast(nextMajor(p.major));
+    if (p.patch == WILDCARD) return atLeast(nextMinor(p.major, p.minor));
+    return Interval.atLeast(p.version(), false);
+  }
+
+  private static Interval greaterEqual(Partial p) {
+    if (p.major == WILDCARD) return Interval.ANY;
+    return Interval.atLeast(p.lower(), true);
+  }
+
+  // <1.2 means smaller than any 1.2.x, including its pre-releases
+  private static Interval less(Partial p) {
+    if (p.major == WILDCARD) return Interval.NONE;
+    if (p.patch == WILDCARD) return Interval.atMost(lowest(p.major, Math.max(p.minor, 0), 0), false);
+    return Interval.atMost(p.version(), false);
+  }
+
+  private static Interval lessEqual(Partial p) {
+    if (p.major == WILDCARD) return Interval.ANY;
+    if (p.minor == WILDCARD) return Interval.atMost(nextMajor(p.major), false);
+    if (p.patch == WILDCARD) return Interval.atMost(nextMinor(p.major, p.minor), false);
+    return Interval.atMost(p.version(), true);
+  }
+
+  // ^1.2.3 := >=1.2.3 <2.0.0-0, ^0.2.3 := >=0.2.3 <0.3.0-0, ^0.0.3 := >=0.0.3 <0.0.4-0
+  private static Interval caret(Partial p) {
+    if (p.major == WILDCARD) return Interval.ANY;
+    SemanticVersion lower = p.lower();
+    if (p.major > 0 || p.minor == WILDCARD) return Interval.between(lower, nextMajor(p.major));
+    if (p.minor > 0 || p.patch == WILDCARD) return Interval.between(lower, nextMinor(p.major, p.minor));
+    return Interval.between(lower, nextPatch(p.major, p.minor, p.patch));
+  }
+
+  // ~1.2.3 := >=1.2.3 <1.3.0-0, ~1 := >=1.0.0 <2.0.0-0
+  private static Interval tilde(Partial p) {
+    if (p.major == WILDCARD) return Interval.ANY;
+    SemanticVersion lower = p.lower();
+    if (p.minor == WILDCARD) return Interval.between(lower, nextMajor(p.major));
+    return Interval.between(lower, nextMinor(p.major, p.minor));
+  }
+
+  // 1.2 - 2.3 := >=1.2.0 <2.4.0-0, 1.2.3 - 2.3.4 := >=1.2.3 <=2.3.4
+  private static Interval hyphen(Partial from, Partial to) {
+    return greaterEqual(from).intersect(lessEqual(to));
+  }
+
+  private static Interval atLeast(@Nullable SemanticVersion lower) {
+    return lower == null ? Interval.NONE : Interval.atLeast(lower, true);
+  }
+
+  private static SemanticVersion lowest(int major, int minor, int patch) {
+    return SemanticVersion.of(major, minor, patch, LOWEST, null);
+  }
+
+  // a null bound means there is no larger version, so the range is unbounded
+  private static @Nullable SemanticVersion nextMajor(int major) {
+    return major == Integer.MAX_VALUE ? null : lowest(major + 1, 0, 0);
+  }
+
+  private static @Nullable SemanticVersion nextMinor(int major, int minor) {
+    return minor == Integer.MAX_VALUE ? nextMajor(major) : lowest(major, minor + 1, 0);
+  }
+
+  private static @Nullable SemanticVersion nextPatch(int major, int minor, int patch) {
+    return patch == Integer.MAX_VALUE ? nextMinor(major, minor) : lowest(major, minor, patch + 1);
+  }
+
+  private static final class Partial {
+    private final int major;
+    private final int minor;
+    private final int patch;
+    private final @Nullable PreRelease preRelease;
+
+    private Partial(int major, int minor, int patch, @Nullable PreRelease preRelease) {
+      this.major = major;
+      this.minor = minor;
+      this.patch = patch;
+      this.preRelease = preRelease;
+    }
+
+    // the smallest version matching this partial, wildcards are replaced by 0
+    SemanticVersion lower() {
+      return SemanticVersion.of(this.major, Math.max(this.minor, 0), Math.max(this.patch, 0), this.preRelease, null);
+    }
+
+    SemanticVersion version() {
+      return SemanticVersion.of(this.major, this.minor, this.patch, this.preRelease, null);
+    }
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools.range;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.Objects;
+
+@ApiStatus.Internal
+public final class RangeToken {
+  private final RangeTokenType type;
+  private final String text;
+  private final int position;
+
+  private RangeToken(RangeTokenType type, String text, int position) {
+    this.type = type;
+    this.text = text;
+    this.position = position;
+  }
+
+  public static RangeToken of(RangeTokenType type, String text, int position) {
+    return new RangeToken(type, text, position);
+  }
+
+  public RangeTokenType type() {
+    return this.type;
+  }
+
+  public String text() {
+    return this.text;
+  }
+
+  public int position() {
+    return this.position;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    RangeToken that = (RangeToken) o;
+    return type == that.type && text.equals(that.text);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(type, text);
+  }
+
+  @Override
+  public String toString() {
+    return "(" + type + ", " + text + ')';
+  }
+}
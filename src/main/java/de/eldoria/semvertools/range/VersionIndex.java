@@ -0,0 +1,366 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools.range;
+
+import de.eldoria.semvertools.PackedVersion;
+import de.eldoria.semvertools.SemanticVersion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sorted versions per key, e.g. all published versions per artifact, answering range and
+ * neighbourhood queries in {@code O(log n)}.
+ * <p>
+ * The versions of each key are kept in an array sorted by precedence, next to a {@code long[]} of
+ * their packed version cores. Binary searches run on the packed cores and only compare the
+ * versions themselves if the cores are equal, so most steps don't leave the primitive array.
+ * Versions that are {@link Object#equals(Object) equal} are stored once.
+ * <p>
+ * An index is usually created in bulk with a {@link Builder}, sorting every key once, and can be
+ * extended afterwards with {@link #add(Object, SemanticVersion)}. Appending a version larger
+ * than all versions of its key takes amortized constant time, inserting it in between copies the
+ * versions of that key. Queries are thread-safe and never block, also while versions are added:
+ * they read an immutable snapshot of the key, which writers replace. Writers only contend with
+ * writers of the same key, or of keys sharing a bin of the underlying {@link ConcurrentHashMap}.
+ * {@link #latest(Object)} and {@link #latestStable(Object)} take constant time.
+ * <p>
+ * This makes an index usable as a live registry, e.g. of the known versions per artifact of an
+ * update checker: release feeds {@link #add(Object, SemanticVersion) add} versions while request
+ * threads read the latest versions and the versions {@link #newerThan(Object, SemanticVersion)
+ * newer than} the installed one. There is no separate registry type.
+ *
+ * @param <K> the type of the keys.
+ */
+public final class VersionIndex<K> {
+  private final ConcurrentHashMap<K, Versions> versions;
+
+  private VersionIndex(ConcurrentHashMap<K, Versions> versions) {
+    this.versions = versions;
+  }
+
+  /**
+   * Creates an empty index.
+   *
+   * @param <K> the type of the keys.
+   * @return the new index.
+   */
+  public static <K> VersionIndex<K> create() {
+    return new VersionIndex<>(new ConcurrentHashMap<>());
+  }
+
+  public static <K> Builder<K> builder() {
+    return new Builder<>();
+  }
+
+  /**
+   * Adds a version to the given key.
+   *
+   * @param key     the key.
+   * @param version the version to add.
+   * @return {@code true} if the version was not part of the index yet.
+   */
+  public boolean add(K key, SemanticVersion version) {
+    Objects.requireNonNull(version, "version");
+    boolean[] added = new boolean[1];
+    this.versions.compute(key, (k, present) -> {
+      Versions result = present == null ? Versions.EMPTY.insert(version) : present.insert(version);
+      added[0] = result != present;
+      return result;
+    });
+    return added[0];
+  }
+
+  /**
+   * Returns the highest version of the given key which satisfies the range.
+   *
+   * @param key   the key.
+   * @param range the range to satisfy.
+   * @return the highest matching version, or an empty optional if none matches.
+   */
+  public Optional<SemanticVersion> maxSatisfying(K key, VersionRange range) {
+    Versions versions = entry(key);
+    int best = -1;
+    for (Interval interval : range.intervals()) {
+      SemanticVersion upper = interval.upper();
+      int index = (upper == null ? versions.size
+          : interval.upperInclusive() ? versions.upperBound(upper) : versions.lowerBound(upper)) - 1;
+      if (index > best && interval.contains(versions.versions[index])) {
+        best = index;
+      }
+    }
+    return versions.get(best);
+  }
+
+  /**
+   * Returns the lowest version of the given key which satisfies the range.
+   *
+   * @param key   the key.
+   * @param range the range to satisfy.
+   * @return the lowest matching version, or an empty optional if none matches.
+   */
+  public Optional<SemanticVersion> minSatisfying(K key, VersionRange range) {
+    Versions versions = entry(key);
+    int best = versions.size;
+    for (Interval interval : range.intervals()) {
+      SemanticVersion lower = interval.lower();
+      int index = lower == null ? 0
+          : interval.lowerInclusive() ? versions.lowerBound(lower) : versions.upperBound(lower);
+      if (index < best && interval.contains(versions.versions[index])) {
+        best = index;
+      }
+    }
+    return versions.get(best);
+  }
+
+  /**
+   * Returns the highest version of the given key which is lower than or equal to the version.
+   *
+   * @param key     the key.
+   * @param version the version to compare with.
+   * @return the matching version, or an empty optional if all versions are higher.
+   */
+  public Optional<SemanticVersion> floor(K key, SemanticVersion version) {
+    Versions versions = entry(key);
+    return versions.get(versions.upperBound(version) - 1);
+  }
+
+  /**
+   * Returns the lowest version of the given key which is higher than or equal to the version.
+   *
+   * @param key     the key.
+   * @param version the version to compare with.
+   * @return the matching version, or an empty optional if all versions are lower.
+   */
+  public Optional<SemanticVersion> ceiling(K key, SemanticVersion version) {
+    Versions versions = entry(key);
+    return versions.get(versions.lowerBound(version));
+  }
+
+  /**
+   * Returns the highest version of the given key, including pre-releases.
+   *
+   * @param key the key.
+   * @return the highest version, or an empty optional if the key has no versions.
+   */
+  public Optional<SemanticVersion> latest(K key) {
+    Versions versions = entry(key);
+    return versions.get(versions.size - 1);
+  }
+
+  /**
+   * Returns the highest version of the given key without a pre-release.
+   *
+   * @param key the key.
+   * @return the highest release, or an empty optional if the key has no releases.
+   */
+  public Optional<SemanticVersion> latestStable(K key) {
+    Versions versions = entry(key);
+    return versions.get(versions.latestStable);
+  }
+
+  /**
+   * Returns the versions of the given key which are higher than the version, in ascending order.
+   * Versions which only differ in their build metadata are not higher.
+   *
+   * @param key     the key.
+   * @param version the version to compare with, e.g. the installed version.
+   * @return an unmodifiable snapshot of the higher versions.
+   */
+  public List<SemanticVersion> newerThan(K key, SemanticVersion version) {
+    Versions versions = entry(key);
+    return Collections.unmodifiableList(Arrays.asList(versions.versions).subList(versions.upperBound(version), versions.size));
+  }
+
+  /**
+   * Returns the versions of the given key in ascending order.
+   *
+   * @param key the key.
+   * @return an unmodifiable snapshot of the versions.
+   */
+  public List<SemanticVersion> versions(K key) {
+    Versions versions = entry(key);
+    return Collections.unmodifiableList(Arrays.asList(versions.versions).subList(0, versions.size));
+  }
+
+  public Set<K> keys() {
+    return Collections.unmodifiableSet(this.versions.keySet());
+  }
+
+  /**
+   * Returns the number of versions of the given key.
+   *
+   * @param key the key.
+   * @return the number of versions.
+   */
+  public int size(K key) {
+    return entry(key).size;
+  }
+
+  /**
+   * Returns the number of versions of all keys.
+   *
+   * @return the total number of versions.
+   */
+  public long size() {
+    long size = 0;
+    for (Versions versions : this.versions.values()) {
+      size += versions.size;
+    }
+    return size;
+  }
+
+  private Versions entry(K key) {
+    Versions versions = this.versions.get(key);
+    return versions == null ? Versions.EMPTY : versions;
+  }
+
+  public static final class Builder<K> {
+    private final Map<K, Collection<SemanticVersion>> versions = new HashMap<>();
+
+    private Builder() {
+    }
+
+    public Builder<K> add(K key, SemanticVersion version) {
+      this.versions.computeIfAbsent(key, k -> new ArrayList<>()).add(Objects.requireNonNull(version, "version"));
+      return this;
+    }
+
+    public Builder<K> addAll(K key, Collection<? extends SemanticVersion> versions) {
+      for (SemanticVersion version : versions) {
+        add(key, version);
+      }
+      return this;
+    }
+
+    public VersionIndex<K> build() {
+      ConcurrentHashMap<K, Versions> index = new ConcurrentHashMap<>(Math.max(16, this.versions.size() * 4 / 3));
+      for (Map.Entry<K, Collection<SemanticVersion>> entry : this.versions.entrySet()) {
+        index.put(entry.getKey(), Versions.of(entry.getValue()));
+      }
+      return new VersionIndex<>(index);
+    }
+  }
+
+  /**
+   * An immutable view on the sorted versions of a key. Appending may write behind {@link #size}
+   * into arrays shared with older views, which never read that far.
+   */
+  private static final class Versions {
+    private static final Versions EMPTY = new Versions(new SemanticVersion[0], new long[0], 0, -1);
+    private final SemanticVersion[] versions;
+    private final long[] cores;
+    private final int size;
+    private final int latestStable;
+
+    private Versions(SemanticVersion[] versions, long[] cores, int size, int latestStable) {
+      this.versions = versions;
+      this.cores = cores;
+      this.size = size;
+      this.latestStable = latestStable;
+    }
+
+    static Versions of(Collection<SemanticVersion> collection) {
+      Set<SemanticVersion> distinct = new LinkedHashSet<>(collection);
+      SemanticVersion[] versions = distinct.toArray(new SemanticVersion[0]);
+      Arrays.sort(versions);
+      long[] cores = new long[versions.length];
+      int latestStable = -1;
+      for (int i = 0; i < versions.length; i++) {
+        cores[i] = core(versions[i]);
+        if (!versions[i].preRelease().isPresent()) latestStable = i;
+      }
+      return new Versions(versions, cores, versions.length, latestStable);
+    }
+
+    Versions insert(SemanticVersion version) {
+      int index = lowerBound(version);
+      for (int i = index; i < this.size && this.versions[i].compareTo(version) == 0; i++) {
+        if (this.versions[i].equals(version)) return this;
+      }
+      int latestStable = this.latestStable;
+      if (index <= latestStable) {
+        latestStable++;
+      } else if (!version.preRelease().isPresent()) {
+        latestStable = index;
+      }
+      if (index == this.size && this.size < this.versions.length) {
+        this.versions[index] = version;
+        this.cores[index] = core(version);
+        return new Versions(this.versions, this.cores, this.size + 1, latestStable);
+      }
+      int capacity = index == this.size ? Math.max(4, this.size + (this.size >> 1)) : this.size + 1;
+      SemanticVersion[] versions = new SemanticVersion[capacity];
+      long[] cores = new long[capacity];
+      System.arraycopy(this.versions, 0, versions, 0, index);
+      System.arraycopy(this.cores, 0, cores, 0, index);
+      System.arraycopy(this.versions, index, versions, index + 1, this.size - index);
+      System.arraycopy(this.cores, index, cores, index + 1, this.size - index);
+      versions[index] = version;
+      cores[index] = core(version);
+      return new Versions(versions, cores, this.size + 1, latestStable);
+    }
+
+    // index of the first version which is not lower than the given version
+    int lowerBound(SemanticVersion version) {
+      long core = core(version);
+      int low = 0;
+      int high = this.size;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        long midCore = this.cores[mid];
+        if (midCore < core || (midCore == core && this.versions[mid].compareTo(version) < 0)) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      return low;
+    }
+
+    // index of the first version which is higher than the given version
+    int upperBound(SemanticVersion version) {
+      long core = core(version);
+      int low = 0;
+      int high = this.size;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        long midCore = this.cores[mid];
+        if (midCore < core || (midCore == core && this.versions[mid].compareTo(version) <= 0)) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      return low;
+    }
+
+    Optional<SemanticVersion> get(int index) {
+      return index < 0 || index >= this.size ? Optional.empty() : Optional.of(this.versions[index]);
+    }
+
+    // negative and too large components are clamped, which keeps the order but may make
+    // different cores equal, compareTo decides between them
+    private static long core(SemanticVersion version) {
+      return PackedVersion.pack(clamp(version.major()), clamp(version.minor()), clamp(version.patch()));
+    }
+
+    private static int clamp(int component) {
+      return Math.max(0, Math.min(component, PackedVersion.MAX_COMPONENT));
+    }
+  }
+}
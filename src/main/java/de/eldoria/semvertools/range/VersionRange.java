@@ -0,0 +1,117 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools.range;
+
+import de.eldoria.semvertools.SemanticVersion;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * A compiled range expression, matching versions by precedence.
+ * <p>
+ * The supported syntax follows the common npm style:
+ * <ul>
+ *   <li>comparators: {@code >1.2.0}, {@code >=1.2.0}, {@code <2.0.0}, {@code <=2.0.0},
+ *   {@code =1.2.3} or just {@code 1.2.3}</li>
+ *   <li>wildcards: {@code *}, {@code 1.x}, {@code 1.2.*}, or partial versions like {@code 1.2}</li>
+ *   <li>caret ranges, allowing changes that don't modify the left-most non-zero component:
+ *   {@code ^1.4.2} is {@code >=1.4.2 <2.0.0-0}, {@code ^0.2.3} is {@code >=0.2.3 <0.3.0-0}</li>
+ *   <li>tilde ranges, allowing patch changes: {@code ~1.4.2} is {@code >=1.4.2 <1.5.0-0},
+ *   {@code ~1} is {@code >=1.0.0 <2.0.0-0}</li>
+ *   <li>hyphen ranges: {@code 1.2.3 - 2.3} is {@code >=1.2.3 <2.4.0-0}</li>
+ * </ul>
+ * Comparators separated by whitespace must all match, comparator sets separated by {@code ||}
+ * are alternatives. Exclusive upper bounds derived from wildcards, carets and tildes exclude the
+ * pre-releases of the bound, so {@code ^1.4.2} does not match {@code 2.0.0-rc.1}. Apart from that,
+ * pre-releases are matched by their precedence like any other version.
+ * <p>
+ * A range is compiled into a list of intervals when it is parsed. It is immutable and thread-safe,
+ * and {@link #test(SemanticVersion)} does not allocate, so ranges can be cached and shared freely.
+ */
+public final class VersionRange implements Predicate<SemanticVersion> {
+  private final String expression;
+  private final Interval[] intervals;
+
+  VersionRange(String expression, List<Interval> intervals) {
+    this.expression = expression;
+    this.intervals = intervals.toArray(new Interval[0]);
+  }
+
+  /**
+   * Parses and compiles the given range expression.
+   *
+   * @param expression the range expression.
+   * @return the compiled range.
+   * @throws de.eldoria.semvertools.parser.VersionParseException if the expression is invalid.
+   */
+  public static VersionRange parse(String expression) {
+    RangeLexer lexer = new RangeLexer();
+    return new RangeParser(expression, lexer.lex(expression)).parse();
+  }
+
+  /**
+   * Returns whether the given version is part of this range.
+   *
+   * @param version the version to test.
+   * @return {@code true} if the version satisfies this range.
+   */
+  @Override
+  public boolean test(SemanticVersion version) {
+    for (Interval interval : this.intervals) {
+      if (interval.contains(version)) return true;
+    }
+    return false;
+  }
+
+  /**
+   * Returns the expression this range was parsed from.
+   *
+   * @return the raw expression.
+   */
+  public String expression() {
+    return this.expression;
+  }
+
+  Interval[] intervals() {
+    return this.intervals;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    VersionRange that = (VersionRange) o;
+    return Arrays.equals(intervals, that.intervals);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(intervals);
+  }
+
+  /**
+   * Returns the normalized form of this range, e.g. {@code >=1.4.2 <2.0.0-0} for {@code ^1.4.2}.
+   *
+   * @return the normalized range expression.
+   */
+  @Override
+  public String toString() {
+    if (this.intervals.length == 0) {
+      return "<0.0.0-0";
+    }
+    StringBuilder builder = new StringBuilder();
+    for (Interval interval : this.intervals) {
+      if (builder.length() > 0) {
+        builder.append(" || ");
+      }
+      builder.append(interval);
+    }
+    return builder.toString();
+  }
+}
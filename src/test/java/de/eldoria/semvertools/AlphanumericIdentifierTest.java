@@ -8,6 +8,12 @@ package de.eldoria.semvertools;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class AlphanumericIdentifierTest {
@@ -44,4 +50,25 @@ class AlphanumericIdentifierTest {
     assertTrue(aa.compareTo(a) > 0);
   }
 
-}
\ No newline at end of file
+  @Test
+  void test_wellKnownTagsAreShared() {
+    assertSame(Identifier.of("SNAPSHOT"), Identifier.of("SNAPSHOT"));
+    assertSame(Identifier.of("alpha"), Identifier.of("xalphax", 1, 6));
+    assertNotSame(Identifier.of("gamma"), Identifier.of("gamma"));
+    assertEquals(Identifier.of("gamma"), Identifier.of("a gamma", 2, 7));
+  }
+
+  @Test
+  void test_rankedCompareMatchesStringCompare() {
+    List<String> tags = Arrays.asList("alpha", "beta", "rc", "RC", "M", "SNAPSHOT", "dev", "pre", "build",
+        "gamma", "a", "zeta");
+    for (String left : tags) {
+      for (String right : tags) {
+        int expected = Integer.signum(left.compareTo(right));
+        assertEquals(expected, Integer.signum(Identifier.of(left).compareTo(Identifier.of(right))),
+            left + " <> " + right);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,84 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools;
+
+import de.eldoria.semvertools.parser.VersionParseException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InstrumentationTest {
+
+  @AfterEach
+  void unregister() {
+    Instrumentation.unregister();
+  }
+
+  @Test
+  void test_countParses() {
+    ParseMetrics metrics = new ParseMetrics();
+    Instrumentation.register(metrics);
+    SemanticVersion.parse("1.2.3");
+    SemanticVersion.parseLazy("1.2.3-rc.1");
+    assertFalse(SemanticVersion.tryParse("1.2").isPresent());
+    assertThrows(VersionParseException.class, () -> SemanticVersion.parse("01.2.3"));
+    assertThrows(VersionParseException.class, () -> SemanticVersion.parse("1.2.3-rc.01"));
+    assertEquals(2, metrics.parses());
+    assertEquals(3, metrics.failures());
+    assertEquals(5 + 10 + 3 + 6 + 11, metrics.inputLength());
+    assertTrue(metrics.parseNanos() >= 0);
+    assertEquals(2, (long) metrics.failuresByReason().get("no leading zero allowed"));
+    assertEquals(1, (long) metrics.failuresByReason().get("expected '.'"));
+  }
+
+  @Test
+  void test_countCacheAndBulkOperations() {
+    ParseMetrics metrics = new ParseMetrics();
+    Instrumentation.register(metrics);
+    VersionCache cache = VersionCache.create(16);
+    cache.parse("1.0.0");
+    cache.parse("1.0.0");
+    assertEquals(1, metrics.cacheHits());
+    assertEquals(1, metrics.cacheMisses());
+    BulkParseResult result = SemanticVersions.parseAll(Arrays.asList("2.0.0", "1.0.0", "x"));
+    SemanticVersion[] versions = {result.versions()[0], result.versions()[1]};
+    VersionSorter.sort(versions);
+    VersionSorter.parallelSort(versions);
+    assertEquals(3, metrics.bulkOperations());
+    Map<String, Long> operations = new HashMap<>();
+    operations.put("parseAll", 1L);
+    operations.put("sort", 1L);
+    operations.put("parallelSort", 1L);
+    assertEquals(operations, metrics.bulkOperationsByName());
+    assertEquals(3, metrics.bulkVersions("parseAll"));
+    assertEquals(2, metrics.bulkVersions("sort"));
+    assertEquals(0, metrics.bulkVersions("diffAll"));
+    assertTrue(metrics.bulkNanos() >= metrics.bulkNanos("sort"));
+    assertEquals(1 + 2, metrics.parses()); // the cache miss and the valid strings of the bulk parse
+    assertEquals(Collections.singletonMap("expected numeric", 1L), metrics.failuresByReason());
+  }
+
+  @Test
+  void test_unregister() {
+    ParseMetrics metrics = new ParseMetrics();
+    Instrumentation.register(metrics);
+    Instrumentation.unregister();
+    assertNull(Instrumentation.listener());
+    SemanticVersion.parse("1.2.3");
+    assertEquals(0, metrics.parses());
+  }
+}
@@ -8,6 +8,10 @@ package de.eldoria.semvertools;
 
 import org.junit.jupiter.api.Test;
 
+import java.math.BigInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class NumericalIdentifierTest {
@@ -28,4 +32,36 @@ class NumericalIdentifierTest {
     assertTrue(n1.compareTo(n0) > 0);
   }
 
-}
\ No newline at end of file
+  @Test
+  void test_smallNumbersAreShared() {
+    assertSame(Identifier.of(0), Identifier.of(0));
+    assertSame(Identifier.of(255), Identifier.of(255));
+    assertEquals(Identifier.of(256), Identifier.of(256));
+    assertEquals(Identifier.of(-1), Identifier.of(-1));
+  }
+
+  @Test
+  void test_compareBeyondInt() {
+    Identifier intMax = Identifier.of(Integer.MAX_VALUE);
+    Identifier timestamp = Identifier.of(20231015123045L);
+    Identifier longMax = Identifier.of(Long.MAX_VALUE);
+    Identifier large = Identifier.of(BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE));
+    Identifier larger = Identifier.of(new BigInteger("99999999999999999999999"));
+    assertTrue(intMax.compareTo(timestamp) < 0);
+    assertTrue(timestamp.compareTo(longMax) < 0);
+    assertTrue(longMax.compareTo(large) < 0);
+    assertTrue(large.compareTo(longMax) > 0);
+    assertTrue(large.compareTo(larger) < 0);
+    assertTrue(larger.compareTo(Identifier.of("a")) < 0);
+    assertEquals(0, larger.compareTo(Identifier.of(new BigInteger("99999999999999999999999"))));
+  }
+
+  @Test
+  void test_bigIntegerInLongRangeIsLong() {
+    assertSame(Identifier.of(5), Identifier.of(BigInteger.valueOf(5)));
+    assertEquals(Identifier.of(20231015123045L), Identifier.of(BigInteger.valueOf(20231015123045L)));
+    assertEquals(Identifier.of(20231015123045L).hashCode(), Identifier.of(BigInteger.valueOf(20231015123045L)).hashCode());
+    assertEquals("99999999999999999999999", Identifier.of(new BigInteger("99999999999999999999999")).asString());
+  }
+
+}
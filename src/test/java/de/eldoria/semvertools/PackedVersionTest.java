@@ -0,0 +1,68 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Collections;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedVersionTest {
+
+  @ParameterizedTest
+  @ValueSource(strings = {"0.0.0", "1.0.0", "1.20.1", "2097151.2097151.2097151", "0.2097151.0"})
+  void test_roundTrip(String input) {
+    SemanticVersion version = SemanticVersion.parse(input);
+    long packed = version.packedCore();
+    assertTrue(packed >= 0);
+    assertEquals(version, SemanticVersion.of(packed));
+    assertEquals(version.major(), PackedVersion.major(packed));
+    assertEquals(version.minor(), PackedVersion.minor(packed));
+    assertEquals(version.patch(), PackedVersion.patch(packed));
+  }
+
+  @Test
+  void test_orderMatchesCompareTo() {
+    Random random = new Random(42);
+    for (int i = 0; i < 10_000; i++) {
+      SemanticVersion left = randomCore(random);
+      SemanticVersion right = randomCore(random);
+      assertEquals(Integer.signum(left.compareTo(right)),
+          Integer.signum(PackedVersion.compare(left.packedCore(), right.packedCore())));
+    }
+  }
+
+  @Test
+  void test_failOnOverflow() {
+    assertFalse(PackedVersion.isPackable(PackedVersion.MAX_COMPONENT + 1, 0, 0));
+    assertFalse(PackedVersion.isPackable(0, -1, 0));
+    assertThrows(IllegalArgumentException.class, () -> PackedVersion.pack(0, 0, PackedVersion.MAX_COMPONENT + 1));
+    assertThrows(IllegalArgumentException.class, () -> SemanticVersion.of(1, Integer.MAX_VALUE, 0).packedCore());
+    assertThrows(IllegalArgumentException.class, () -> SemanticVersion.of(-1L));
+    assertThrows(IllegalArgumentException.class, () -> PackedVersion.unpack(Long.MIN_VALUE | PackedVersion.pack(1, 2, 3)));
+  }
+
+  @Test
+  void test_onlyReleasesArePackable() {
+    SemanticVersion preRelease = SemanticVersion.parse("1.0.0-rc.1");
+    SemanticVersion withBuild = SemanticVersion.of(1, 0, 0)
+        .withBuild(Build.of(Collections.singletonList(Identifier.of("b1"))));
+    assertFalse(PackedVersion.isPackable(preRelease));
+    assertFalse(PackedVersion.isPackable(withBuild));
+    assertThrows(IllegalArgumentException.class, () -> PackedVersion.pack(preRelease));
+    assertEquals(PackedVersion.pack(1, 0, 0), preRelease.packedCore());
+  }
+
+  private static SemanticVersion randomCore(Random random) {
+    return SemanticVersion.of(random.nextInt(4), random.nextInt(4), random.nextInt(PackedVersion.MAX_COMPONENT + 1));
+  }
+
+}
@@ -8,12 +8,17 @@ package de.eldoria.semvertools;
 
 import org.junit.jupiter.api.Test;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 class SemanticVersionOrderTest {
   private final List<String> versionStringsSorted = Arrays.asList(
@@ -71,4 +76,91 @@ class SemanticVersionOrderTest {
     assertEquals(0, build123.compareTo(build100));
   }
 
-}
\ No newline at end of file
+  @Test
+  void test_numericalPrecedesAlphanumeric() {
+    SemanticVersion numerical = SemanticVersion.parse("1.0.0-2");
+    SemanticVersion alphanumeric = SemanticVersion.parse("1.0.0-10a");
+    assertTrue(numerical.compareTo(alphanumeric) < 0);
+    assertTrue(alphanumeric.compareTo(numerical) > 0);
+  }
+
+  @Test
+  void test_precedenceKeyMatchesIdentifierComparison() {
+    Random random = new Random(7);
+    String[] pool = {"0", "1", "2", "10", "alpha", "beta", "rc", "RC", "SNAPSHOT", "a", "alp", "alphb",
+        "10a", "-x", "x-y", "\u007f", "\u00e4b", "\u00e4a", "zzzz"};
+    List<SemanticVersion> versions = new ArrayList<>();
+    for (int i = 0; i < 400; i++) {
+      SemanticVersion version = SemanticVersion.of(1, random.nextInt(2), 0);
+      int count = random.nextInt(4);
+      if (count > 0) {
+        List<Identifier> identifiers = new ArrayList<>();
+        for (int j = 0; j < count; j++) {
+          String raw = pool[random.nextInt(pool.length)];
+          identifiers.add(raw.chars().allMatch(Character::isDigit) ? Identifier.of(Integer.parseInt(raw)) : Identifier.of(raw));
+        }
+        version = version.withPreRelease(PreRelease.of(identifiers));
+      }
+      versions.add(version);
+    }
+    for (SemanticVersion left : versions) {
+      for (SemanticVersion right : versions) {
+        int expected = Integer.signum(referenceCompare(left, right));
+        assertEquals(expected, Integer.signum(left.compareTo(right)), left + " <> " + right);
+      }
+    }
+  }
+
+  @Test
+  void test_compareDoesNotAllocate() {
+    ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    assumeTrue(bean instanceof com.sun.management.ThreadMXBean, "no per-thread allocation counter on this JVM");
+    com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+    assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled(),
+        "per-thread allocation counter is disabled");
+    List<SemanticVersion> versions = this.versionStringsShuffled.stream().map(SemanticVersion::parse)
+        .collect(Collectors.toList());
+    SemanticVersion[] array = versions.toArray(new SemanticVersion[0]);
+    int sum = compareAll(array);
+    long before = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    for (int i = 0; i < 1000; i++) {
+      sum += compareAll(array);
+    }
+    long allocated = threads.getThreadAllocatedBytes(Thread.currentThread().getId()) - before;
+    assertTrue(allocated < 1024, "allocated " + allocated + " bytes for " + sum);
+  }
+
+  private static int compareAll(SemanticVersion[] versions) {
+    int sum = 0;
+    for (SemanticVersion left : versions) {
+      for (SemanticVersion right : versions) {
+        sum += left.compareTo(right);
+      }
+    }
+    return sum;
+  }
+
+  private static int referenceCompare(SemanticVersion left, SemanticVersion right) {
+    if (left.minor() != right.minor()) return Integer.compare(left.minor(), right.minor());
+    if (!left.preRelease().isPresent() || !right.preRelease().isPresent()) {
+      return Boolean.compare(!left.preRelease().isPresent(), !right.preRelease().isPresent());
+    }
+    List<Identifier> l = left.preRelease().get().identifiers();
+    List<Identifier> r = right.preRelease().get().identifiers();
+    for (int i = 0; i < Math.min(l.size(), r.size()); i++) {
+      boolean lNum = l.get(i) instanceof NumericalIdentifier;
+      boolean rNum = r.get(i) instanceof NumericalIdentifier;
+      int cmp;
+      if (lNum && rNum) {
+        cmp = Integer.compare(Integer.parseInt(l.get(i).asString()), Integer.parseInt(r.get(i).asString()));
+      } else if (lNum != rNum) {
+        cmp = lNum ? -1 : 1;
+      } else {
+        cmp = l.get(i).asString().compareTo(r.get(i).asString());
+      }
+      if (cmp != 0) return cmp;
+    }
+    return Integer.compare(l.size(), r.size());
+  }
+
+}
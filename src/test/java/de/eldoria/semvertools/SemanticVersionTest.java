@@ -7,9 +7,16 @@
 package de.eldoria.semvertools;
 
 import de.eldoria.semvertools.parser.VersionParseException;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class SemanticVersionTest {
@@ -36,7 +43,99 @@ public class SemanticVersionTest {
   })
   void test_failOnInvalid(String invalid) {
     assertThrows(VersionParseException.class, () -> SemanticVersion.parse(invalid));
+    assertThrows(VersionParseException.class, () -> SemanticVersion.parseLazy(invalid));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "0.0.0",
+      "1.20.1",
+      "2.3.0-SNAPSHOT",
+      "1.0.0-alpha.1",
+      "1.0.0+build.42",
+      "1.0.0-alpha-a.b-c-somethinglong+build.1-aef.1-its-okay",
+  })
+  void test_render(String input) throws IOException {
+    SemanticVersion version = SemanticVersion.parse(input);
+    assertEquals(input, version.toString());
+    assertSame(version.toString(), version.toString());
+    assertEquals("v" + input, version.appendTo(new StringBuilder("v")).toString());
+    assertEquals(input, version.appendTo(new StringWriter()).toString());
+    assertEquals(input, version.appendTo(new StringBuffer()).toString());
+  }
+
+  @Test
+  void test_renderToAppendableWithoutString() throws IOException {
+    StringBuilder longBuild = new StringBuilder("1.0.0-rc.1+b");
+    for (int i = 0; i < 300; i++) {
+      longBuild.append(".x").append(i);
+    }
+    StringWriter writer = new StringWriter();
+    StringBuffer buffer = new StringBuffer();
+    for (String input : new String[]{"1.2.3", longBuild.toString(), "2.0.0-beta+exp.sha.5114f85"}) {
+      SemanticVersion version = SemanticVersion.parse(input);
+      version.appendTo(writer).append('\n');
+      version.appendTo(buffer).append('\n');
+      SemanticVersion.parse(input).withPatch(9).appendTo(writer).append('\n');
+    }
+    String expected = "1.2.3\n1.2.9\n" + longBuild + "\n" + longBuild.toString().replace("1.0.0-", "1.0.9-")
+        + "\n2.0.0-beta+exp.sha.5114f85\n2.0.9-beta+exp.sha.5114f85\n";
+    assertEquals(expected, writer.toString());
+    assertEquals("1.2.3\n" + longBuild + "\n2.0.0-beta+exp.sha.5114f85\n", buffer.toString());
   }
 
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "0.0.0",
+      "2147483647.20.1",
+      "2.3.0-SNAPSHOT",
+      "1.0.0-alpha.1",
+      "1.0.0-99999999999999999999999.x",
+      "1.0.0+build.001",
+      "1.0.0-alpha-a.b-c-somethinglong+build.1-aef.1-its-okay",
+  })
+  void test_parseLazy(String input) {
+    SemanticVersion eager = SemanticVersion.parse(input);
+    SemanticVersion lazy = SemanticVersion.parseLazy(input);
+    assertEquals(input, lazy.toString());
+    assertEquals(eager.major(), lazy.major());
+    assertEquals(eager.patch(), lazy.patch());
+    assertEquals(eager, lazy);
+    assertEquals(lazy, eager);
+    assertEquals(lazy, SemanticVersion.parseLazy(input));
+    assertEquals(eager.hashCode(), lazy.hashCode());
+    assertEquals(0, lazy.compareTo(eager));
+    assertEquals(eager.preRelease(), lazy.preRelease());
+    assertEquals(eager.build(), lazy.build());
+    assertEquals(eager.withMajor(7), lazy.withMajor(7));
+    assertEquals(eager.withBuild(null), lazy.withBuild(null));
+  }
+
+  @Test
+  void test_parseLazyOrder() {
+    String[] versions = {"1.0.0-alpha", "1.0.0-alpha.1", "1.0.0-alpha.beta", "1.0.0-beta", "1.0.0-beta.2",
+        "1.0.0-beta.11", "1.0.0-rc.1", "1.0.0-rc.1+b1", "1.0.0", "1.0.1-0", "1.0.1-2147483648"};
+    for (String left : versions) {
+      for (String right : versions) {
+        assertEquals(Integer.signum(SemanticVersion.parse(left).compareTo(SemanticVersion.parse(right))),
+            Integer.signum(SemanticVersion.parseLazy(left).compareTo(SemanticVersion.parseLazy(right))),
+            left + " <> " + right);
+        assertEquals(Integer.signum(SemanticVersion.parse(left).compareTo(SemanticVersion.parse(right))),
+            Integer.signum(SemanticVersion.parseLazy(left).compareTo(SemanticVersion.parse(right))),
+            left + " <> " + right);
+      }
+    }
+  }
+
+  @Test
+  void test_hashCodeMatchesEquals() {
+    SemanticVersion parsed = SemanticVersion.parse("1.2.3-rc.1+b7");
+    SemanticVersion built = SemanticVersion.of(1, 2, 3)
+        .withPreRelease(PreRelease.of(Arrays.asList(Identifier.of("rc"), Identifier.of(1))))
+        .withBuild(Build.of(Arrays.asList(Identifier.of("b7"))));
+    assertEquals(built, parsed);
+    assertEquals(built.hashCode(), parsed.hashCode());
+    assertEquals(SemanticVersion.of(1, 2, 3).hashCode(), SemanticVersion.parse("1.2.3").hashCode());
+  }
 
 }
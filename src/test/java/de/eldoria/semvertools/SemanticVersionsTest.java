@@ -0,0 +1,70 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SemanticVersionsTest {
+
+  @Test
+  void test_parseAllCollectsFailures() {
+    List<String> input = Arrays.asList("1.0.0", "1.0", "2.0.0-rc.1", null, "01.0.0", "3.0.0+build", "1.0.0_1");
+    BulkParseResult result = SemanticVersions.parseAll(input);
+    assertEquals(7, result.size());
+    assertEquals(SemanticVersion.parse("1.0.0"), result.versions()[0]);
+    assertNull(result.versions()[1]);
+    assertEquals(SemanticVersion.parse("2.0.0-rc.1"), result.versions()[2]);
+    assertEquals(SemanticVersion.parse("3.0.0+build"), result.versions()[5]);
+    assertArrayEquals(new int[]{1, 3, 4, 6}, result.failedIndexes());
+    assertEquals("expected '.' at position 3", result.failureReason(0));
+    assertEquals("version string must not be null", result.failureReason(1));
+    assertEquals("no leading zero allowed at position 0", result.failureReason(2));
+    assertEquals("unexpected character '_' at position 5", result.failureReason(3));
+  }
+
+  @Test
+  void test_parseAllInParallel() {
+    List<String> input = new ArrayList<>();
+    for (int i = 0; i < 100_000; i++) {
+      input.add(i % 1000 == 0 ? "invalid." + i : (i % 7) + "." + (i % 100) + "." + i);
+    }
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      BulkParseResult result = SemanticVersions.parseAll(input, pool);
+      assertEquals(100, result.failureCount());
+      for (int n = 0; n < result.failureCount(); n++) {
+        assertEquals(n * 1000, result.failedIndex(n));
+        assertEquals("expected numeric at position 0", result.failureReason(n));
+      }
+      for (int i = 1; i < input.size(); i += 997) {
+        if (i % 1000 != 0) {
+          assertEquals(SemanticVersion.parse(input.get(i)), result.versions()[i]);
+        }
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  void test_parseAllWithoutRandomAccess() {
+    BulkParseResult result = SemanticVersions.parseAll(new LinkedList<>(Arrays.asList("1.2.3", "4.5.6")));
+    assertFalse(result.hasFailures());
+    assertEquals(SemanticVersion.parse("4.5.6"), result.versions()[1]);
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools;
+
+import de.eldoria.semvertools.parser.VersionParseException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VersionCacheTest {
+
+  @Test
+  void test_hitReturnsSameInstance() {
+    VersionCache cache = VersionCache.create(16);
+    SemanticVersion first = cache.parse("1.20.1");
+    SemanticVersion second = cache.parse("1.20.1");
+    assertSame(first, second);
+    assertEquals(SemanticVersion.of(1, 20, 1), first);
+    assertEquals(1, cache.stats().hits());
+    assertEquals(1, cache.stats().misses());
+  }
+
+  @Test
+  void test_evictsOldestWithFifo() {
+    VersionCache cache = VersionCache.builder().maximumSize(2).eviction(VersionCache.Eviction.FIFO).build();
+    SemanticVersion first = cache.parse("1.0.0");
+    cache.parse("2.0.0");
+    cache.parse("1.0.0");
+    cache.parse("3.0.0");
+    assertEquals(2, cache.size());
+    assertEquals(1, cache.stats().evictions());
+    assertNotSame(first, cache.parse("1.0.0"));
+  }
+
+  @Test
+  void test_secondChanceKeepsReferencedEntries() {
+    VersionCache cache = VersionCache.builder().maximumSize(2).eviction(VersionCache.Eviction.SECOND_CHANCE).build();
+    SemanticVersion first = cache.parse("1.0.0");
+    cache.parse("2.0.0");
+    cache.parse("1.0.0");
+    cache.parse("3.0.0");
+    assertEquals(2, cache.size());
+    assertSame(first, cache.parse("1.0.0"));
+  }
+
+  @Test
+  void test_cachesFailures() {
+    VersionCache cache = VersionCache.create(16);
+    VersionParseException first = assertThrows(VersionParseException.class, () -> cache.parse("1.0"));
+    VersionParseException second = assertThrows(VersionParseException.class, () -> cache.parse("1.0"));
+    assertNotSame(first, second);
+    assertEquals(first.getMessage(), second.getMessage());
+    assertEquals(1, cache.stats().hits());
+  }
+
+  @Test
+  void test_failuresNotCachedIfDisabled() {
+    VersionCache cache = VersionCache.builder().cacheFailures(false).build();
+    assertThrows(VersionParseException.class, () -> cache.parse("1.0"));
+    assertThrows(VersionParseException.class, () -> cache.parse("1.0"));
+    assertEquals(0, cache.size());
+    assertEquals(2, cache.stats().misses());
+  }
+
+  @Test
+  void test_clear() {
+    VersionCache cache = VersionCache.create(16);
+    cache.parse("1.0.0");
+    cache.parse("1.0.1");
+    cache.clear();
+    assertEquals(0, cache.size());
+    cache.parse("1.0.0");
+    assertEquals(3, cache.stats().misses());
+  }
+
+  @Test
+  void test_concurrentAccessStaysBounded() throws Exception {
+    VersionCache cache = VersionCache.create(64);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < 4; t++) {
+        int seed = t;
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < 10_000; i++) {
+            int patch = (i * 31 + seed) % 256;
+            assertEquals(patch, cache.parse("1.0." + patch).patch());
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertTrue(cache.size() <= 64);
+    assertEquals(40_000, cache.stats().hits() + cache.stats().misses());
+  }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class VersionCodecTest {
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "0.0.0",
+      "1.2.3",
+      "2147483647.2147483647.2147483647",
+      "1.0.0-alpha",
+      "1.0.0-rc.1",
+      "1.0.0-x-y-z.--",
+      "1.0.0+build.001",
+      "1.0.0-SNAPSHOT+exp.sha.5114f85",
+      "1.0.0-20231015123045.99999999999999999999999+20231015123045",
+      "1.0.0-9223372036854775807",
+  })
+  void test_roundTrip(String input) {
+    SemanticVersion version = SemanticVersion.parse(input);
+    byte[] bytes = VersionCodec.encode(version);
+    assertEquals(VersionCodec.encodedSize(version), bytes.length);
+    SemanticVersion decoded = VersionCodec.decode(bytes);
+    assertEquals(version, decoded);
+    assertEquals(input, decoded.toString());
+  }
+
+  @Test
+  void test_compactSizes() {
+    assertEquals(4, VersionCodec.encode(SemanticVersion.parse("1.2.3")).length);
+    assertEquals(6, VersionCodec.encode(SemanticVersion.parse("1.2.3-rc.1")).length);
+    assertEquals(5, VersionCodec.encode(SemanticVersion.parse("1.2.3-SNAPSHOT")).length);
+  }
+
+  @Test
+  void test_bufferPositions() {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(64);
+    SemanticVersion first = SemanticVersion.parse("1.2.3-beta.2");
+    SemanticVersion second = SemanticVersion.parse("4.5.6+b7");
+    VersionCodec.encode(first, buffer);
+    VersionCodec.encode(second, buffer);
+    buffer.flip();
+    assertEquals(first, VersionCodec.decode(buffer));
+    assertEquals(second, VersionCodec.decode(buffer));
+    assertEquals(0, buffer.remaining());
+  }
+
+  @Test
+  void test_batch() {
+    SemanticVersion[] versions = {
+        SemanticVersion.parse("1.0.0"),
+        SemanticVersion.parse("1.0.0-alpha.1"),
+        SemanticVersion.parse("2.0.0+build")
+    };
+    assertArrayEquals(versions, VersionCodec.decodeAll(VersionCodec.encodeAll(versions)));
+    assertEquals(0, VersionCodec.decodeAll(VersionCodec.encodeAll(new SemanticVersion[0])).length);
+  }
+
+  @Test
+  void test_encodesOtherImplementations() {
+    VersionTable table = new VersionTable();
+    table.append(SemanticVersion.parse("1.2.3-rc.1+b5"));
+    assertEquals(SemanticVersion.parse("1.2.3-rc.1+b5"), VersionCodec.decode(VersionCodec.encode(table.get(0))));
+  }
+
+  @Test
+  void test_rejectNegativeComponents() {
+    assertThrows(IllegalArgumentException.class, () -> VersionCodec.encode(SemanticVersion.of(1, -1, 0)));
+    ByteBuffer buffer = ByteBuffer.allocate(32);
+    assertThrows(IllegalArgumentException.class, () -> VersionCodec.encode(SemanticVersion.of(-1, 0, 0), buffer));
+    assertEquals(0, buffer.position());
+  }
+
+  @Test
+  void test_failOnMalformed() {
+    byte[] bytes = VersionCodec.encode(SemanticVersion.parse("1.2.3-beta.2"));
+    assertThrows(IllegalArgumentException.class, () -> VersionCodec.decode(Arrays.copyOf(bytes, bytes.length - 1)));
+    assertThrows(IllegalArgumentException.class, () -> VersionCodec.decode(Arrays.copyOf(bytes, bytes.length + 1)));
+    assertThrows(IllegalArgumentException.class, () -> VersionCodec.decode(new byte[]{1, 2, 3, 2, (byte) 0xff, 0x7f}));
+    assertThrows(IllegalArgumentException.class, () -> VersionCodec.decodeAll(new byte[]{100, 0, 0, 0, 0}));
+  }
+}
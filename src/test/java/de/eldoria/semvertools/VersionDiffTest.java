@@ -0,0 +1,97 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class VersionDiffTest {
+
+  @ParameterizedTest
+  @CsvSource({
+      "1.2.3, 1.2.3, 0",
+      "1.2.3+b1, 1.2.3+b2, 1",
+      "1.2.3, 1.2.3+b2, 1",
+      "1.2.3-rc.1+b1, 1.2.3-rc.1+b1, 0",
+      "1.2.3-rc.1, 1.2.3, 2",
+      "1.2.3, 1.2.3-rc.1, -2",
+      "1.2.3-rc.1, 1.2.3-rc.2, 2",
+      "1.2.3-beta, 1.2.3-alpha.99999999999999999999, -2",
+      "1.2.3, 1.2.4-SNAPSHOT, 3",
+      "1.2.3, 1.3.0, 4",
+      "1.3.0, 1.2.9, -4",
+      "1.2.3, 2.0.0-rc.1, 5",
+      "2.0.0, 1.9.9, -5",
+  })
+  void test_diff(String from, String to, int expected) {
+    SemanticVersion fromVersion = SemanticVersion.parse(from);
+    SemanticVersion toVersion = SemanticVersion.parse(to);
+    assertEquals(expected, VersionDiff.diff(fromVersion, toVersion));
+    VersionTable fromTable = new VersionTable();
+    fromTable.append(fromVersion);
+    VersionTable toTable = new VersionTable();
+    toTable.append(toVersion);
+    assertEquals(expected, VersionDiff.diff(fromTable, 0, toTable, 0));
+    toTable.append(fromVersion);
+    assertEquals(expected, VersionDiff.diff(toTable, 1, toTable, 0));
+  }
+
+  @Test
+  void test_batchMatchesSinglePairs() {
+    Random random = new Random(7);
+    String[] preReleases = {"", "-alpha", "-rc.1", "-rc.2", "-SNAPSHOT", "-2147483648"};
+    String[] builds = {"", "", "+b1", "+b2"};
+    int size = 50_000;
+    SemanticVersion[] from = new SemanticVersion[size];
+    SemanticVersion[] to = new SemanticVersion[size];
+    VersionTable fromTable = new VersionTable();
+    VersionTable toTable = new VersionTable();
+    byte[] expected = new byte[size];
+    for (int i = 0; i < size; i++) {
+      from[i] = SemanticVersion.parse(random.nextInt(2) + "." + random.nextInt(2) + "." + random.nextInt(2)
+          + preReleases[random.nextInt(preReleases.length)] + builds[random.nextInt(builds.length)]);
+      to[i] = SemanticVersion.parse(random.nextInt(2) + "." + random.nextInt(2) + "." + random.nextInt(2)
+          + preReleases[random.nextInt(preReleases.length)] + builds[random.nextInt(builds.length)]);
+      fromTable.append(from[i]);
+      toTable.append(to[i]);
+      expected[i] = (byte) VersionDiff.diff(from[i], to[i]);
+      assertEquals(Integer.signum(to[i].compareTo(from[i])), expected[i] == VersionDiff.BUILD ? 0 : Integer.signum(expected[i]));
+    }
+    byte[] results = new byte[size];
+    VersionDiff.diffAll(from, to, results);
+    assertArrayEquals(expected, results);
+    results = new byte[size];
+    VersionDiff.diffAll(fromTable, toTable, results);
+    assertArrayEquals(expected, results);
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      results = new byte[size];
+      VersionDiff.parallelDiffAll(from, to, results, pool);
+      assertArrayEquals(expected, results);
+      results = new byte[size];
+      VersionDiff.parallelDiffAll(fromTable, toTable, results, pool);
+      assertArrayEquals(expected, results);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  void test_rejectDifferentLengths() {
+    SemanticVersion[] versions = {SemanticVersion.of(1, 0, 0)};
+    assertThrows(IllegalArgumentException.class, () -> VersionDiff.diffAll(versions, new SemanticVersion[0], new byte[1]));
+    assertThrows(IllegalArgumentException.class, () -> VersionDiff.diffAll(versions, versions, new byte[2]));
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools;
+
+import de.eldoria.semvertools.parser.VersionParseException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class VersionFileScannerTest {
+  @TempDir
+  Path directory;
+
+  @Test
+  void test_scanReportsInvalidLines() throws IOException {
+    Path file = write("1.0.0\r\n\n1.0\n2.0.0-rc.1+build\n3.0.0");
+    List<String> accepted = new ArrayList<>();
+    List<String> invalid = new ArrayList<>();
+    try (VersionFileScanner scanner = VersionFileScanner.open(file)) {
+      scanner.scan(new VersionFileScanner.Listener() {
+        @Override
+        public void accept(long line, SemanticVersion version) {
+          accepted.add(line + ":" + version);
+        }
+
+        @Override
+        public void invalid(long line, String reason) {
+          invalid.add(line + ":" + reason);
+        }
+      });
+    }
+    assertEquals(Arrays.asList("1:1.0.0", "4:2.0.0-rc.1+build", "5:3.0.0"), accepted);
+    assertEquals(Arrays.asList("3:expected '.' at position 3"), invalid);
+  }
+
+  @Test
+  void test_streamThrowsOnInvalidLine() throws IOException {
+    Path file = write("1.0.0\nfoo\n");
+    try (VersionFileScanner scanner = VersionFileScanner.open(file)) {
+      VersionParseException e = assertThrows(VersionParseException.class, () -> scanner.stream(false).count());
+      assertEquals("Invalid version at byte 6: expected numeric at position 0", e.getMessage());
+    }
+  }
+
+  @Test
+  void test_emptyFile() throws IOException {
+    try (VersionFileScanner scanner = VersionFileScanner.open(write(""))) {
+      assertEquals(0, scanner.stream(false).count());
+      assertEquals(0, scanner.size());
+    }
+  }
+
+  @Test
+  void test_parallelStreamMatchesLines() throws IOException {
+    List<String> lines = new ArrayList<>();
+    for (int i = 0; i < 200_000; i++) {
+      lines.add((i % 13) + "." + (i % 101) + "." + i + (i % 5 == 0 ? "-beta." + (i % 3) : ""));
+    }
+    Path file = directory.resolve("versions.txt");
+    Files.write(file, lines, StandardCharsets.US_ASCII);
+    List<SemanticVersion> expected = lines.stream().map(SemanticVersion::parse).collect(Collectors.toList());
+    // small regions, so splitting happens at region boundaries and within regions
+    try (VersionFileScanner scanner = VersionFileScanner.open(file, 1 << 18)) {
+      assertEquals(Files.size(file), scanner.size());
+      assertEquals(expected, scanner.stream(true).collect(Collectors.toList()));
+      List<SemanticVersion> iterated = new ArrayList<>();
+      scanner.iterator().forEachRemaining(iterated::add);
+      assertEquals(expected, iterated);
+    }
+  }
+
+  @Test
+  void test_rejectsTooLongLines() throws IOException {
+    Path file = write("1.0.0-" + repeat('a', 100) + "\n1.0.0");
+    assertThrows(IOException.class, () -> VersionFileScanner.open(file, 64));
+  }
+
+  private Path write(String content) throws IOException {
+    Path file = directory.resolve("versions.txt");
+    Files.write(file, content.getBytes(StandardCharsets.US_ASCII));
+    return file;
+  }
+
+  private static String repeat(char c, int count) {
+    char[] chars = new char[count];
+    Arrays.fill(chars, c);
+    return new String(chars);
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class VersionSorterTest {
+  private static final String[] TAGS = {"alpha", "beta", "rc", "SNAPSHOT", "x-1"};
+
+  @Test
+  void test_sortMatchesArraysSort() {
+    for (int size : new int[]{0, 1, 10, 300, 5000}) {
+      SemanticVersion[] versions = randomVersions(new Random(size), size, 5);
+      SemanticVersion[] expected = versions.clone();
+      Arrays.sort(expected);
+      VersionSorter.sort(versions);
+      assertSameOrder(expected, versions);
+    }
+  }
+
+  @Test
+  void test_sortUsesAllDigits() {
+    SemanticVersion[] versions = randomVersions(new Random(1), 10_000, PackedVersion.MAX_COMPONENT);
+    SemanticVersion[] expected = versions.clone();
+    Arrays.sort(expected);
+    VersionSorter.sort(versions);
+    assertSameOrder(expected, versions);
+  }
+
+  @Test
+  void test_sortFallsBackForLargeComponents() {
+    SemanticVersion[] versions = randomVersions(new Random(2), 1000, 5);
+    versions[500] = SemanticVersion.of(Integer.MAX_VALUE, 0, 0);
+    SemanticVersion[] expected = versions.clone();
+    Arrays.sort(expected);
+    VersionSorter.sort(versions);
+    assertSameOrder(expected, versions);
+  }
+
+  @Test
+  void test_parallelSortMatchesArraysSort() {
+    SemanticVersion[] versions = randomVersions(new Random(3), 300_000, 20);
+    SemanticVersion[] expected = versions.clone();
+    Arrays.sort(expected);
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      VersionSorter.parallelSort(versions, pool);
+    } finally {
+      pool.shutdown();
+    }
+    assertSameOrder(expected, versions);
+  }
+
+  @Test
+  void test_sortList() {
+    List<SemanticVersion> versions = new ArrayList<>(Arrays.asList(randomVersions(new Random(4), 1000, 3)));
+    List<SemanticVersion> expected = new ArrayList<>(versions);
+    Collections.sort(expected);
+    VersionSorter.sort(versions);
+    assertSameOrder(expected.toArray(new SemanticVersion[0]), versions.toArray(new SemanticVersion[0]));
+  }
+
+  // both sorts are stable, so even versions of equal precedence must be at the same place
+  private static void assertSameOrder(SemanticVersion[] expected, SemanticVersion[] actual) {
+    assertEquals(expected.length, actual.length);
+    for (int i = 0; i < expected.length; i++) {
+      assertSame(expected[i], actual[i]);
+    }
+  }
+
+  private static SemanticVersion[] randomVersions(Random random, int size, int bound) {
+    SemanticVersion[] versions = new SemanticVersion[size];
+    for (int i = 0; i < size; i++) {
+      StringBuilder version = new StringBuilder()
+          .append(random.nextInt(bound)).append('.').append(random.nextInt(bound)).append('.').append(random.nextInt(bound));
+      int identifiers = random.nextInt(3);
+      for (int j = 0; j < identifiers; j++) {
+        version.append(j == 0 ? '-' : '.');
+        version.append(random.nextBoolean() ? String.valueOf(random.nextInt(3)) : TAGS[random.nextInt(TAGS.length)]);
+      }
+      if (random.nextInt(4) == 0) {
+        version.append("+build.").append(random.nextInt(3));
+      }
+      versions[i] = SemanticVersion.parse(version.toString());
+    }
+    return versions;
+  }
+}
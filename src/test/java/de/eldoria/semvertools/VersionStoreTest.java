@@ -0,0 +1,103 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VersionStoreTest {
+
+  @Test
+  void test_roundTrip() {
+    List<String> versions = Arrays.asList("1.2.3", "1.0.0-alpha.1", "2.0.0+build.001",
+        "3.1.4-rc.2+exp.sha.5114f85", "0.0.0-0", "1.0.0-20231015123045.99999999999999999999999");
+    try (VersionStore store = VersionStore.create(64)) {
+      long[] handles = new long[versions.size()];
+      for (int i = 0; i < handles.length; i++) {
+        handles[i] = store.add(SemanticVersion.parse(versions.get(i)));
+      }
+      assertEquals(versions.size(), store.size());
+      assertTrue(store.allocatedBytes() > 64); // versions were spread over several segments
+      for (int i = 0; i < handles.length; i++) {
+        SemanticVersion expected = SemanticVersion.parse(versions.get(i));
+        assertEquals(expected, store.get(handles[i]));
+        assertEquals(expected.major(), store.major(handles[i]));
+        assertEquals(expected.minor(), store.minor(handles[i]));
+        assertEquals(expected.patch(), store.patch(handles[i]));
+      }
+      List<Long> visited = new ArrayList<>();
+      store.forEachHandle(visited::add);
+      assertEquals(versions.size(), visited.size());
+      for (int i = 0; i < handles.length; i++) {
+        assertEquals(handles[i], (long) visited.get(i));
+      }
+    }
+  }
+
+  @Test
+  void test_compareMatchesCompareTo() {
+    Random random = new Random(11);
+    String[] tags = {"alpha", "beta", "rc", "x-y", "SNAPSHOT", "betas", "RC1"};
+    String[] numbers = {"0", "1", "3", "2147483648", "99999999999999999999999"};
+    List<SemanticVersion> versions = new ArrayList<>();
+    try (VersionStore store = VersionStore.create(4096)) {
+      List<Long> handles = new ArrayList<>();
+      for (int i = 0; i < 2000; i++) {
+        StringBuilder version = new StringBuilder()
+            .append(random.nextInt(2)).append('.').append(random.nextInt(2)).append('.').append(random.nextInt(2));
+        int identifiers = random.nextInt(4);
+        for (int j = 0; j < identifiers; j++) {
+          version.append(j == 0 ? '-' : '.');
+          version.append(random.nextBoolean()
+              ? numbers[random.nextInt(numbers.length)]
+              : tags[random.nextInt(tags.length)]);
+        }
+        if (random.nextInt(4) == 0) {
+          version.append("+b").append(random.nextInt(3));
+        }
+        SemanticVersion parsed = SemanticVersion.parse(version.toString());
+        versions.add(parsed);
+        handles.add(store.add(parsed));
+      }
+      for (int i = 0; i < 20_000; i++) {
+        int left = random.nextInt(versions.size());
+        int right = random.nextInt(versions.size());
+        assertEquals(Integer.signum(versions.get(left).compareTo(versions.get(right))),
+            Integer.signum(store.compare(handles.get(left), handles.get(right))),
+            versions.get(left) + " <> " + versions.get(right));
+      }
+    }
+  }
+
+  @Test
+  void test_closedStore() {
+    VersionStore store = VersionStore.create();
+    long handle = store.add(SemanticVersion.of(1, 2, 3));
+    assertThrows(IllegalArgumentException.class, () -> store.get(handle + 1000));
+    assertThrows(IllegalArgumentException.class, () -> store.get(1L << 32));
+    assertThrows(IllegalArgumentException.class, () -> store.get(-1L));
+    assertThrows(IllegalArgumentException.class, () -> store.compare(handle, Long.MIN_VALUE));
+    store.close();
+    assertThrows(IllegalStateException.class, () -> store.get(handle));
+    assertThrows(IllegalStateException.class, () -> store.add(SemanticVersion.of(1, 2, 3)));
+  }
+
+  @Test
+  void test_rejectOversizedVersion() {
+    try (VersionStore store = VersionStore.create(20)) {
+      assertThrows(IllegalArgumentException.class, () -> store.add(SemanticVersion.parse("1.0.0-alphanumeric")));
+    }
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VersionTableTest {
+
+  @Test
+  void test_roundTrip() {
+    List<String> versions = Arrays.asList("1.2.3", "1.0.0-alpha.1", "2.0.0+build.001", "3.1.4-rc.2+exp.sha.5114f85", "0.0.0-0",
+        "1.0.0-20231015123045.99999999999999999999999");
+    VersionTable table = new VersionTable(2);
+    for (String version : versions) {
+      table.append(SemanticVersion.parse(version));
+    }
+    assertEquals(versions.size(), table.size());
+    for (int row = 0; row < versions.size(); row++) {
+      SemanticVersion expected = SemanticVersion.parse(versions.get(row));
+      SemanticVersion view = table.get(row);
+      assertEquals(versions.get(row), view.toString());
+      assertEquals(expected, table.toVersion(row));
+      assertEquals(expected.preRelease(), view.preRelease());
+      assertEquals(expected.build(), view.build());
+      assertEquals(0, view.compareTo(expected));
+      assertEquals(0, expected.compareTo(view));
+    }
+    assertEquals(SemanticVersion.parse("3.1.5"), table.get(3).increasePatch().withPreRelease(null).withBuild(null));
+  }
+
+  @Test
+  void test_viewsEqualAcrossTables() {
+    VersionTable first = new VersionTable();
+    VersionTable second = new VersionTable();
+    first.append(SemanticVersion.parse("1.0.0-beta"));
+    second.append(SemanticVersion.parse("1.0.0-gamma"));
+    second.append(SemanticVersion.parse("1.0.0-beta"));
+    assertEquals(first.get(0), second.get(1));
+    assertEquals(first.get(0).hashCode(), second.get(1).hashCode());
+    assertNotEquals(first.get(0), second.get(0));
+    assertFalse(first.get(0).equals(SemanticVersion.parse("1.0.0-beta")));
+    first.append(SemanticVersion.parse("1.0.0-rc.2.99999999999999999999+exp.7"));
+    second.append(SemanticVersion.parse("1.0.0-rc+exp"));
+    second.append(SemanticVersion.parse("1.0.0-rc.2.99999999999999999999+exp.7"));
+    assertEquals(first.get(1), second.get(3));
+    assertEquals(first.get(1).hashCode(), second.get(3).hashCode());
+    assertNotEquals(first.get(1).hashCode(), second.get(2).hashCode());
+  }
+
+  @Test
+  void test_sortedRowsMatchesObjectSort() {
+    Random random = new Random(7);
+    String[] tags = {"alpha", "beta", "rc", "x-y", "SNAPSHOT"};
+    String[] numbers = {"0", "1", "3", "2147483648", "20231015123045", "99999999999999999999999"};
+    VersionTable table = new VersionTable();
+    List<SemanticVersion> versions = new ArrayList<>();
+    for (int i = 0; i < 5000; i++) {
+      StringBuilder version = new StringBuilder()
+          .append(random.nextInt(3)).append('.').append(random.nextInt(3)).append('.').append(random.nextInt(3));
+      int identifiers = random.nextInt(4);
+      for (int j = 0; j < identifiers; j++) {
+        version.append(j == 0 ? '-' : '.');
+        if (random.nextBoolean()) {
+          version.append(numbers[random.nextInt(numbers.length)]);
+        } else {
+          version.append(tags[random.nextInt(tags.length)]);
+        }
+      }
+      SemanticVersion parsed = SemanticVersion.parse(version.toString());
+      versions.add(parsed);
+      table.append(parsed);
+    }
+    int[] rows = table.sortedRows();
+    for (int i = 1; i < rows.length; i++) {
+      assertTrue(versions.get(rows[i - 1]).compareTo(versions.get(rows[i])) <= 0);
+      assertEquals(Integer.signum(versions.get(rows[i - 1]).compareTo(versions.get(rows[i]))),
+          Integer.signum(table.compare(rows[i - 1], rows[i])));
+      assertEquals(Integer.signum(versions.get(rows[i]).compareTo(versions.get(rows[i - 1]))),
+          Integer.signum(table.get(rows[i]).compareTo(table.get(rows[i - 1]))));
+    }
+  }
+
+  @Test
+  void test_dictionaryKeepsKindsApart() {
+    List<SemanticVersion> versions = Arrays.asList(
+        SemanticVersion.of(1, 0, 0, PreRelease.of(Arrays.asList(Identifier.of(-1))), null),
+        SemanticVersion.of(1, 0, 0, PreRelease.of(Arrays.asList(Identifier.of(0))), null),
+        SemanticVersion.of(1, 0, 0, PreRelease.of(Arrays.asList(Identifier.of(Long.MAX_VALUE))), null),
+        SemanticVersion.of(1, 0, 0, PreRelease.of(Arrays.asList(Identifier.of("-1"))), null),
+        SemanticVersion.of(1, 0, 0, PreRelease.of(Arrays.asList(Identifier.of("9223372036854775807"))), null));
+    VersionTable table = new VersionTable();
+    for (int i = versions.size() - 1; i >= 0; i--) {
+      table.append(versions.get(i));
+    }
+    int[] rows = table.sortedRows();
+    for (int i = 0; i < rows.length; i++) {
+      assertEquals(versions.get(i), table.toVersion(rows[i]));
+      for (int j = 0; j < rows.length; j++) {
+        assertEquals(Integer.signum(versions.get(versions.size() - 1 - i).compareTo(versions.get(versions.size() - 1 - j))),
+            Integer.signum(table.compare(i, j)));
+      }
+    }
+    assertNotEquals(table.get(0), table.get(2));
+    assertNotEquals(table.get(1), table.get(4));
+  }
+
+  @Test
+  void test_sharesIdentifiers() {
+    VersionTable table = new VersionTable(1000);
+    long empty = table.estimatedSizeInBytes();
+    for (int i = 0; i < 1000; i++) {
+      table.append(SemanticVersion.parse("1.2." + i + "-beta." + (i % 10)));
+    }
+    // one dictionary entry for beta, two codes per row
+    assertTrue(table.estimatedSizeInBytes() - empty < 1000 * 12);
+  }
+
+  @Test
+  void test_rejectsInvalidRows() {
+    VersionTable table = new VersionTable();
+    table.append(SemanticVersion.of(1, 0, 0));
+    assertThrows(IndexOutOfBoundsException.class, () -> table.get(1));
+    assertThrows(IndexOutOfBoundsException.class, () -> table.major(-1));
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools.parser;
+
+import de.eldoria.semvertools.SemanticVersion;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.EnumSet;
+
+import static de.eldoria.semvertools.parser.LenientSemVerParser.Coercion.EXTRA_COMPONENTS_DROPPED;
+import static de.eldoria.semvertools.parser.LenientSemVerParser.Coercion.EXTRA_COMPONENTS_MOVED_TO_BUILD;
+import static de.eldoria.semvertools.parser.LenientSemVerParser.Coercion.LEADING_ZEROS;
+import static de.eldoria.semvertools.parser.LenientSemVerParser.Coercion.PADDED;
+import static de.eldoria.semvertools.parser.LenientSemVerParser.Coercion.PREFIX;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LenientSemVerParserTest {
+  private final LenientSemVerParser parser = LenientSemVerParser.create();
+
+  @ParameterizedTest
+  @CsvSource({
+      "v1.2, 1.2.0",
+      "V1.2.3, 1.2.3",
+      "1.20, 1.20.0",
+      "1, 1.0.0",
+      "1-SNAPSHOT, 1.0.0-SNAPSHOT",
+      "1.2-rc.1+b5, 1.2.0-rc.1+b5",
+      "1.2.3.4, 1.2.3+4",
+      "1.2.3.4.5-beta+b5, 1.2.3-beta+4.5.b5",
+      "1.02.0, 1.2.0",
+      "1.0.0-rc.01, 1.0.0-rc.1",
+      "v01.2.3.04, 1.2.3+04",
+      "1.2.3.04-rc.01+007, 1.2.3-rc.1+04.007",
+      "1.0.0-SNAPSHOT-b42, 1.0.0-SNAPSHOT-b42",
+  })
+  void test_coerce(String input, String expected) {
+    assertEquals(SemanticVersion.parse(expected), this.parser.parse(input).version());
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "1.0.0",
+      "1.0.0-alpha.1",
+      "1.0.0-beta+exp.sha.5114f85",
+      "1.0.0+001",
+      "1.0.0-alpha+001",
+  })
+  void test_strictVersionsAreUnchanged(String input) {
+    LenientSemVerParser.Result result = this.parser.parse(input);
+    assertEquals(SemanticVersion.parse(input), result.version());
+    assertTrue(result.isStrict());
+  }
+
+  @Test
+  void test_reportCoercions() {
+    assertEquals(EnumSet.of(PREFIX, PADDED), this.parser.parse("v1.2").coercions());
+    assertEquals(EnumSet.of(EXTRA_COMPONENTS_MOVED_TO_BUILD, LEADING_ZEROS), this.parser.parse("1.02.3.4").coercions());
+    assertEquals(EnumSet.of(EXTRA_COMPONENTS_MOVED_TO_BUILD), this.parser.parse("1.2.3.04").coercions());
+    LenientSemVerParser drop = LenientSemVerParser.builder()
+        .extraComponents(LenientSemVerParser.ExtraComponents.DROP)
+        .build();
+    LenientSemVerParser.Result result = drop.parse("1.2.3.4");
+    assertEquals(SemanticVersion.of(1, 2, 3), result.version());
+    assertEquals(EnumSet.of(EXTRA_COMPONENTS_DROPPED), result.coercions());
+  }
+
+  @Test
+  void test_customPrefixes() {
+    LenientSemVerParser parser = LenientSemVerParser.builder().prefixes("version-", "v").build();
+    assertEquals(SemanticVersion.of(1, 2, 0), parser.parse("version-1.2").version());
+    assertEquals(SemanticVersion.of(1, 2, 0), parser.parse("v1.2").version());
+    assertThrows(VersionParseException.class, () -> parser.parse("V1.2"));
+  }
+
+  @Test
+  void test_disabledCoercions() {
+    LenientSemVerParser strict = LenientSemVerParser.builder()
+        .prefixes()
+        .padMissingComponents(false)
+        .extraComponents(LenientSemVerParser.ExtraComponents.REJECT)
+        .leadingZeros(false)
+        .build();
+    for (String input : new String[]{"v1.0.0", "1.2", "1.2.3.4", "1.02.0", "1.0.0-rc.01"}) {
+      assertThrows(VersionParseException.class, () -> strict.parse(input), input);
+    }
+    assertTrue(strict.parse("1.2.3-rc.1").isStrict());
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"", "v", "1.", "1..2", "1.2.3.", "1.2.3.x", "1.2.3-", "x1.2.3", "1.2.3_4"})
+  void test_failOnInvalid(String input) {
+    assertThrows(VersionParseException.class, () -> this.parser.parse(input));
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools.parser;
+
+import de.eldoria.semvertools.SemanticVersion;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RawVersionComparatorTest {
+  private static final String[] IDENTIFIERS = {
+      "0", "1", "2", "10", "11", "2147483647", "2147483648", "99999999999999999999", "100000000000000000000",
+      "a", "A", "Z", "alpha", "alpha-1", "alpha1", "alphaa", "beta", "rc", "RC", "SNAPSHOT", "-", "--", "0a", "00a", "1-"
+  };
+  private final RawVersionComparator comparator = RawVersionComparator.instance();
+
+  @ParameterizedTest
+  @CsvSource({
+      "1.0.0, 2.0.0",
+      "2.0.0, 2.1.0",
+      "2.1.0, 2.1.1",
+      "1.9.0, 1.10.0",
+      "1.0.0-alpha, 1.0.0",
+      "1.0.0-alpha, 1.0.0-alpha.1",
+      "1.0.0-alpha.1, 1.0.0-alpha.beta",
+      "1.0.0-alpha.beta, 1.0.0-beta",
+      "1.0.0-beta, 1.0.0-beta.2",
+      "1.0.0-beta.2, 1.0.0-beta.11",
+      "1.0.0-beta.11, 1.0.0-rc.1",
+      "1.0.0-rc.1, 1.0.0",
+      "1.0.0-rc.1+b2, 1.0.0+b1",
+      "2147483646.0.0, 2147483647.0.0",
+  })
+  void test_specificationOrder(String lower, String higher) {
+    assertEquals(-1, Integer.signum(this.comparator.compare(lower, higher)));
+    assertEquals(1, Integer.signum(this.comparator.compare(higher, lower)));
+  }
+
+  @Test
+  void test_ignoresBuild() {
+    assertEquals(0, this.comparator.compare("1.0.0+b1", "1.0.0+b2"));
+    assertEquals(0, this.comparator.compare("1.0.0-rc.1+b1", "1.0.0-rc.1"));
+  }
+
+  @Test
+  void test_matchesCompareTo() {
+    Random random = new Random(23);
+    List<String> versions = new ArrayList<>();
+    for (int i = 0; i < 3000; i++) {
+      StringBuilder version = new StringBuilder()
+          .append(component(random)).append('.').append(component(random)).append('.').append(component(random));
+      int identifiers = random.nextInt(4);
+      for (int j = 0; j < identifiers; j++) {
+        version.append(j == 0 ? '-' : '.').append(IDENTIFIERS[random.nextInt(IDENTIFIERS.length)]);
+      }
+      if (random.nextInt(5) == 0) {
+        version.append("+b.").append(random.nextInt(3));
+      }
+      versions.add(version.toString());
+    }
+    for (int i = 0; i < 100_000; i++) {
+      String left = versions.get(random.nextInt(versions.size()));
+      String right = versions.get(random.nextInt(versions.size()));
+      int expected = Integer.signum(SemanticVersion.parse(left).compareTo(SemanticVersion.parse(right)));
+      assertEquals(expected, Integer.signum(this.comparator.compare(left, right)), left + " <> " + right);
+    }
+    String[] sorted = versions.toArray(new String[0]);
+    Arrays.sort(sorted, this.comparator);
+    for (int i = 1; i < sorted.length; i++) {
+      assertTrue(SemanticVersion.parse(sorted[i - 1]).compareTo(SemanticVersion.parse(sorted[i])) <= 0);
+    }
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "1.0, 1.0.0",
+      "01.0.0, 1.0.0",
+      "1.0.0-, 1.0.0-rc",
+      "1.0.0-rc..1, 1.0.0-rc.1",
+      "1.0.0-01, 1.0.0-1",
+      "1.0.0x, 1.0.0",
+      "1.0.0-rc_1, 1.0.0-rc",
+      "2147483648.0.0, 1.0.0",
+      "'', 1.0.0",
+  })
+  void test_rejectInvalidPrefix(String invalid, String valid) {
+    assertThrows(VersionParseException.class, () -> this.comparator.compare(invalid, valid));
+    assertThrows(VersionParseException.class, () -> this.comparator.compare(valid, invalid));
+  }
+
+  @Test
+  void test_stopsAtFirstDifference() {
+    // the invalid parts are never read
+    assertEquals(-1, Integer.signum(this.comparator.compare("1.0.0-rc.01", "2.0.0")));
+    assertEquals(1, Integer.signum(this.comparator.compare("1.2.0", "1.1.x")));
+  }
+
+  private static int component(Random random) {
+    int choice = random.nextInt(10);
+    return choice == 0 ? Integer.MAX_VALUE : choice == 1 ? 10 + random.nextInt(3) : random.nextInt(3);
+  }
+}
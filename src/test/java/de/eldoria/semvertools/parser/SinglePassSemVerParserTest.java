@@ -0,0 +1,223 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools.parser;
+
+import de.eldoria.semvertools.Build;
+import de.eldoria.semvertools.Identifier;
+import de.eldoria.semvertools.PreRelease;
+import de.eldoria.semvertools.SemanticVersion;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SinglePassSemVerParserTest {
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "0.0.0",
+      "1.0.0",
+      "10.20.30",
+      "2147483647.0.0",
+      "1.0.0-alpha",
+      "1.0.0-alpha.1",
+      "1.0.0-0.3.7",
+      "1.0.0-x.7.z.92",
+      "1.0.0-x-y-z.--",
+      "1.0.0-alpha+001a",
+      "1.0.0-beta+exp.sha.5114f85",
+      "1.0.0-alpha-a.b-c-somethinglong+build.1-aef.1-its-okay",
+      "1.0.0-2147483648",
+      "1.0.0-20231015123045",
+      "1.0.0-rc.99999999999999999999999",
+  })
+  void test_matchesReferenceParser(String input) {
+    SemanticVersion reference = new SemVerParser(input, new SemVerLexer().lex(input)).parse();
+    assertEquals(reference, new SinglePassSemVerParser(input).parse());
+    assertEquals(reference, new SinglePassSemVerParser(input).tryParse());
+    assertTrue(SemanticVersion.isValid(input));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "",
+      " ",
+      "1",
+      "1.1",
+      "1.",
+      "1.1.",
+      "1..1",
+      ".1.1",
+      "1.1.1.1",
+      "1.a.1",
+      " 1.0.0",
+      "1.0.0 ",
+      "1.0.0-",
+      "1.0.0+",
+      "1.0.0-a.",
+      "1.0.0-a..b",
+      "1.0.0-a_b",
+      "1.0.0++",
+      "1.0.0+a+b",
+      "1.0.0+a-b",
+      "01.1.0",
+      "1.01.0",
+      "0.0.01",
+      "1.0.0-01",
+      "2147483648.0.0",
+  })
+  void test_failOnInvalid(String invalid) {
+    assertThrows(VersionParseException.class, () -> new SinglePassSemVerParser(invalid).parse());
+    assertNull(new SinglePassSemVerParser(invalid).tryParse());
+    assertFalse(SemanticVersion.isValid(invalid));
+    assertFalse(SemanticVersion.tryParse(invalid).isPresent());
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"1.0.0+001", "1.0.0-alpha+001", "1.0.0-a+01", "1.0.0-rc.1+b.007-x"})
+  void test_buildKeepsLeadingZeros(String input) {
+    // valid, but the reference parser drops the leading zeros of the build
+    SemanticVersion version = new SinglePassSemVerParser(input).parse();
+    assertEquals(input, version.toString());
+    assertEquals(version, new SinglePassSemVerParser(input).tryParse());
+    assertEquals(Optional.of(version), SemanticVersion.tryParse(input));
+    assertTrue(SemanticVersion.isValid(input));
+    assertEquals(version.build(), SemanticVersion.parseLazy(input).build());
+  }
+
+  @Test
+  void test_parseLargeNumericIdentifiers() {
+    SemanticVersion timestamp = SemanticVersion.parse("1.0.0-20231015123045");
+    assertEquals(Identifier.of(20231015123045L), timestamp.preRelease().get().identifiers().get(0));
+    SemanticVersion large = SemanticVersion.parse("1.0.0-99999999999999999999999");
+    assertEquals(Identifier.of(new BigInteger("99999999999999999999999")), large.preRelease().get().identifiers().get(0));
+    assertEquals("1.0.0-99999999999999999999999", large.toString());
+    assertTrue(timestamp.precedes(large));
+    assertTrue(large.precedes(SemanticVersion.parse("1.0.0-100000000000000000000000")));
+  }
+
+  @Test
+  void test_tryParseReportsReason() {
+    SinglePassSemVerParser parser = new SinglePassSemVerParser("1.0.0-rc_1");
+    assertNull(parser.tryParse());
+    assertEquals("unexpected character '_'", parser.failureReason());
+    assertEquals(8, parser.failurePosition());
+    parser = new SinglePassSemVerParser("1.0");
+    assertNull(parser.tryParse());
+    assertEquals("expected '.'", parser.failureReason());
+    assertEquals(3, parser.failurePosition());
+    parser = new SinglePassSemVerParser("1.0.0+b-1");
+    assertNull(parser.tryParse());
+    assertEquals("hyphen in build metadata without pre-release", parser.failureReason());
+  }
+
+  @Test
+  void test_isValidMatchesTryParse() {
+    String alphabet = "0000111299..--++aZ_";
+    Random random = new Random(42);
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < 100_000; i++) {
+      builder.setLength(0);
+      builder.append(random.nextInt(3)).append('.').append(random.nextInt(3)).append('.');
+      int length = random.nextInt(12);
+      for (int c = 0; c < length; c++) {
+        builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+      }
+      String input = builder.toString();
+      assertEquals(new SinglePassSemVerParser(input).tryParse() != null, SemanticVersion.isValid(input), input);
+    }
+  }
+
+  @Test
+  void test_isValidSlice() {
+    assertTrue(SinglePassSemVerParser.isValid("[1.0.0-rc.1+b7]", 1, 13));
+    assertFalse(SinglePassSemVerParser.isValid("[1.0.0-rc.1+b7]", 1, 14));
+    assertThrows(IndexOutOfBoundsException.class, () -> SinglePassSemVerParser.isValid("1.0.0", 1, 5));
+  }
+
+  @Test
+  void test_reportsPosition() {
+    VersionParseException exception = assertThrows(VersionParseException.class,
+        () -> new SinglePassSemVerParser("1.0.x").parse());
+    assertTrue(exception.getMessage().contains("at position 4"));
+  }
+
+  @Test
+  void test_buildKeepsRawDigits() {
+    SemanticVersion leadingZero = new SinglePassSemVerParser("1.0.0+001").parse();
+    assertEquals(SemanticVersion.of(1, 0, 0)
+        .withBuild(Build.of(Collections.singletonList(Identifier.of("001")))), leadingZero);
+    SemanticVersion timestamp = new SinglePassSemVerParser("1.0.0+20130313144700").parse();
+    assertEquals(SemanticVersion.of(1, 0, 0)
+        .withBuild(Build.of(Collections.singletonList(Identifier.of(20130313144700L)))), timestamp);
+  }
+
+  @Test
+  void test_parsePreReleaseAndBuild() {
+    SemanticVersion version = new SinglePassSemVerParser("1.2.3-beta.123+hash.a1b2c3").parse();
+    assertEquals(SemanticVersion.of(1, 2, 3)
+        .withPreRelease(PreRelease.of(Arrays.asList(Identifier.of("beta"), Identifier.of(123))))
+        .withBuild(Build.of(Arrays.asList(Identifier.of("hash"), Identifier.of("a1b2c3")))), version);
+  }
+
+  @Test
+  void test_parseCharSequenceSlice() {
+    StringBuilder line = new StringBuilder("version: 1.2.3-rc.1+b7;");
+    SemanticVersion version = SemanticVersion.parse(line, 9, 13);
+    assertEquals(SemanticVersion.parse("1.2.3-rc.1+b7"), version);
+  }
+
+  @Test
+  void test_parseByteArraySlice() {
+    byte[] bytes = "[1.2.3-rc.1+b7]".getBytes(StandardCharsets.US_ASCII);
+    assertEquals(SemanticVersion.parse("1.2.3-rc.1+b7"), SemanticVersion.parse(bytes, 1, 13));
+  }
+
+  @Test
+  void test_parseHeapByteBuffer() {
+    ByteBuffer buffer = ByteBuffer.wrap("xx1.0.0-beta".getBytes(StandardCharsets.US_ASCII));
+    buffer.position(2);
+    assertEquals(SemanticVersion.parse("1.0.0-beta"), SemanticVersion.parse(buffer));
+    assertEquals(2, buffer.position());
+  }
+
+  @Test
+  void test_parseDirectByteBuffer() {
+    byte[] bytes = "1.0.0-beta+exp.sha.5114f85;".getBytes(StandardCharsets.US_ASCII);
+    ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+    buffer.put(bytes).flip();
+    buffer.limit(bytes.length - 1);
+    assertEquals(SemanticVersion.parse("1.0.0-beta+exp.sha.5114f85"), SemanticVersion.parse(buffer));
+    assertEquals(0, buffer.position());
+  }
+
+  @Test
+  void test_failOnNonAsciiBytes() {
+    byte[] bytes = "1.0.0-\u00e4".getBytes(StandardCharsets.UTF_8);
+    assertThrows(VersionParseException.class, () -> SemanticVersion.parse(bytes, 0, bytes.length));
+  }
+
+  @Test
+  void test_failOnInvalidSlice() {
+    assertThrows(IndexOutOfBoundsException.class, () -> SemanticVersion.parse("1.0.0", 1, 5));
+    assertThrows(IndexOutOfBoundsException.class, () -> SemanticVersion.parse(new byte[3], -1, 2));
+  }
+
+}
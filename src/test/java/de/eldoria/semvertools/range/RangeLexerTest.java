@@ -0,0 +1,58 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools.range;
+
+import de.eldoria.semvertools.parser.VersionParseException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RangeLexerTest {
+
+  @Test
+  void test_lexesOperators() {
+    List<RangeToken> tokens = new RangeLexer().lex(">=1.2.0 <2.0.0-rc.1 || ^3.x ~4 =5 <=6 >7");
+    assertEquals(Arrays.asList(
+        RangeToken.of(RangeTokenType.GREATER_EQUAL, ">=", 0),
+        RangeToken.of(RangeTokenType.VERSION, "1.2.0", 0),
+        RangeToken.of(RangeTokenType.LESS, "<", 0),
+        RangeToken.of(RangeTokenType.VERSION, "2.0.0-rc.1", 0),
+        RangeToken.of(RangeTokenType.OR, "||", 0),
+        RangeToken.of(RangeTokenType.CARET, "^", 0),
+        RangeToken.of(RangeTokenType.VERSION, "3.x", 0),
+        RangeToken.of(RangeTokenType.TILDE, "~", 0),
+        RangeToken.of(RangeTokenType.VERSION, "4", 0),
+        RangeToken.of(RangeTokenType.EQUAL, "=", 0),
+        RangeToken.of(RangeTokenType.VERSION, "5", 0),
+        RangeToken.of(RangeTokenType.LESS_EQUAL, "<=", 0),
+        RangeToken.of(RangeTokenType.VERSION, "6", 0),
+        RangeToken.of(RangeTokenType.GREATER, ">", 0),
+        RangeToken.of(RangeTokenType.VERSION, "7", 0)
+    ), tokens);
+  }
+
+  @Test
+  void test_lexesHyphenRange() {
+    List<RangeToken> tokens = new RangeLexer().lex("1.2.3 - 2.3.4-beta");
+    assertEquals(Arrays.asList(
+        RangeToken.of(RangeTokenType.VERSION, "1.2.3", 0),
+        RangeToken.of(RangeTokenType.HYPHEN, "-", 0),
+        RangeToken.of(RangeTokenType.VERSION, "2.3.4-beta", 0)
+    ), tokens);
+    assertEquals(6, tokens.get(1).position());
+  }
+
+  @Test
+  void test_rejectsUnexpectedCharacters() {
+    assertThrows(VersionParseException.class, () -> new RangeLexer().lex("1.0.0 | 2.0.0"));
+    assertThrows(VersionParseException.class, () -> new RangeLexer().lex("1.0.0 && 2.0.0"));
+  }
+}
@@ -0,0 +1,218 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools.range;
+
+import de.eldoria.semvertools.SemanticVersion;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VersionIndexTest {
+  private static final String[] RANGES = {
+      "^1.4.2", "~1.4", "1.x", ">=1.2.0 <2.0.0", "^0.2 || ^3.0", ">2.1.0-beta", "<=0.3", "2.0.0", "*", ">3.0.0 <1.0.0"
+  };
+
+  @Test
+  void test_queries() {
+    VersionIndex<String> index = VersionIndex.<String>builder()
+        .addAll("a", parse("1.0.0", "1.4.2", "1.4.3", "1.9.0", "2.0.0-rc.1", "2.0.0", "0.2.5", "1.4.3"))
+        .build();
+    assertEquals(7, index.size("a"));
+    assertEquals(Optional.of(SemanticVersion.parse("1.9.0")), index.maxSatisfying("a", VersionRange.parse("^1.4.2")));
+    assertEquals(Optional.of(SemanticVersion.parse("1.4.2")), index.minSatisfying("a", VersionRange.parse("^1.4.2")));
+    assertEquals(Optional.of(SemanticVersion.parse("1.9.0")), index.floor("a", SemanticVersion.parse("2.0.0-alpha")));
+    assertEquals(Optional.of(SemanticVersion.parse("2.0.0-rc.1")), index.ceiling("a", SemanticVersion.parse("2.0.0-alpha")));
+    assertEquals(Optional.of(SemanticVersion.parse("2.0.0")), index.latestStable("a"));
+    assertFalse(index.maxSatisfying("a", VersionRange.parse("^3.0.0")).isPresent());
+    assertFalse(index.latest("b").isPresent());
+  }
+
+  @Test
+  void test_latestStableSkipsPreReleases() {
+    VersionIndex<String> index = VersionIndex.create();
+    index.add("a", SemanticVersion.parse("2.0.0-rc.1"));
+    assertFalse(index.latestStable("a").isPresent());
+    index.add("a", SemanticVersion.parse("1.0.0"));
+    index.add("a", SemanticVersion.parse("3.0.0-alpha"));
+    assertEquals(Optional.of(SemanticVersion.parse("1.0.0")), index.latestStable("a"));
+    assertEquals(Optional.of(SemanticVersion.parse("3.0.0-alpha")), index.latest("a"));
+    index.add("a", SemanticVersion.parse("0.9.0"));
+    assertEquals(Optional.of(SemanticVersion.parse("1.0.0")), index.latestStable("a"));
+  }
+
+  @Test
+  void test_addIgnoresDuplicates() {
+    VersionIndex<String> index = VersionIndex.create();
+    assertTrue(index.add("a", SemanticVersion.parse("1.0.0+build.1")));
+    assertTrue(index.add("a", SemanticVersion.parse("1.0.0+build.2")));
+    assertFalse(index.add("a", SemanticVersion.parse("1.0.0+build.1")));
+    assertEquals(2, index.size("a"));
+    assertEquals(2, index.size());
+  }
+
+  @Test
+  void test_negativeComponents() {
+    SemanticVersion negative = SemanticVersion.of(-1, 0, 0);
+    SemanticVersion negativeMinor = SemanticVersion.of(0, -2, 0);
+    VersionIndex<String> index = VersionIndex.<String>builder()
+        .addAll("a", Arrays.asList(SemanticVersion.parse("0.0.0"), negative))
+        .build();
+    assertTrue(index.add("a", negativeMinor));
+    assertTrue(index.add("a", SemanticVersion.parse("1.0.0")));
+    assertEquals(Arrays.asList(negative, negativeMinor, SemanticVersion.parse("0.0.0"), SemanticVersion.parse("1.0.0")),
+        index.versions("a"));
+    assertEquals(Optional.of(negativeMinor), index.floor("a", SemanticVersion.of(0, -1, 0)));
+    assertEquals(Optional.of(SemanticVersion.parse("0.0.0")), index.ceiling("a", SemanticVersion.of(0, -1, 0)));
+  }
+
+  @Test
+  void test_versionsSnapshotIsStable() {
+    VersionIndex<String> index = VersionIndex.create();
+    index.add("a", SemanticVersion.parse("1.0.0"));
+    List<SemanticVersion> snapshot = index.versions("a");
+    index.add("a", SemanticVersion.parse("2.0.0"));
+    index.add("a", SemanticVersion.parse("0.1.0"));
+    assertEquals(parse("1.0.0"), snapshot);
+    assertEquals(parse("0.1.0", "1.0.0", "2.0.0"), index.versions("a"));
+  }
+
+  @Test
+  void test_matchesLinearScan() {
+    Random random = new Random(42);
+    List<SemanticVersion> all = new ArrayList<>();
+    VersionIndex<String> incremental = VersionIndex.create();
+    for (int i = 0; i < 2000; i++) {
+      String version = random.nextInt(4) + "." + random.nextInt(6) + "." + random.nextInt(6);
+      if (random.nextInt(4) == 0) {
+        version += random.nextBoolean() ? "-beta." + random.nextInt(3) : "-rc";
+      }
+      SemanticVersion parsed = SemanticVersion.parse(version);
+      all.add(parsed);
+      incremental.add("k", parsed);
+    }
+    VersionIndex<String> bulk = VersionIndex.<String>builder().addAll("k", all).build();
+    List<SemanticVersion> sorted = all.stream().distinct().sorted().collect(Collectors.toList());
+    assertEquals(sorted, bulk.versions("k"));
+    assertEquals(sorted, incremental.versions("k"));
+    for (String expression : RANGES) {
+      VersionRange range = VersionRange.parse(expression);
+      List<SemanticVersion> matching = sorted.stream().filter(range).collect(Collectors.toList());
+      Optional<SemanticVersion> max = matching.isEmpty() ? Optional.empty() : Optional.of(matching.get(matching.size() - 1));
+      Optional<SemanticVersion> min = matching.isEmpty() ? Optional.empty() : Optional.of(matching.get(0));
+      for (VersionIndex<String> index : Arrays.asList(bulk, incremental)) {
+        assertEquals(max, index.maxSatisfying("k", range), expression);
+        assertEquals(min, index.minSatisfying("k", range), expression);
+      }
+    }
+    for (int i = 0; i < 200; i++) {
+      SemanticVersion probe = SemanticVersion.parse(random.nextInt(5) + "." + random.nextInt(7) + "." + random.nextInt(7));
+      Optional<SemanticVersion> floor = sorted.stream().filter(v -> v.compareTo(probe) <= 0).reduce((a, b) -> b);
+      Optional<SemanticVersion> ceiling = sorted.stream().filter(v -> v.compareTo(probe) >= 0).findFirst();
+      assertEquals(floor, bulk.floor("k", probe));
+      assertEquals(ceiling, bulk.ceiling("k", probe));
+      List<SemanticVersion> newer = sorted.stream().filter(v -> v.compareTo(probe) > 0).collect(Collectors.toList());
+      assertEquals(newer, bulk.newerThan("k", probe));
+      assertEquals(newer, incremental.newerThan("k", probe));
+    }
+    List<SemanticVersion> releases = sorted.stream().filter(v -> !v.preRelease().isPresent()).collect(Collectors.toList());
+    assertEquals(Optional.of(releases.get(releases.size() - 1)), incremental.latestStable("k"));
+    assertEquals(Collections.singleton("k"), incremental.keys());
+  }
+
+  @Test
+  void test_concurrentReadsAndWrites() throws Exception {
+    VersionIndex<String> index = VersionIndex.create();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < 2; t++) {
+        int seed = t;
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < 5_000; i++) {
+            int patch = i * 2 + seed;
+            index.add("a", SemanticVersion.parse("1.0." + patch + (patch % 3 == 0 ? "-rc" : "")));
+          }
+        }));
+        futures.add(executor.submit(() -> {
+          SemanticVersion installed = SemanticVersion.of(1, 0, 5_000);
+          for (int i = 0; i < 5_000; i++) {
+            List<SemanticVersion> newer = index.newerThan("a", installed);
+            for (int j = 1; j < newer.size(); j++) {
+              assertTrue(newer.get(j - 1).compareTo(newer.get(j)) < 0);
+            }
+            index.latestStable("a").ifPresent(v -> assertFalse(v.preRelease().isPresent()));
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertEquals(10_000, index.size("a"));
+    assertEquals(Optional.of(SemanticVersion.parse("1.0.9998")), index.latestStable("a"));
+    assertEquals(Optional.of(SemanticVersion.parse("1.0.9999-rc")), index.latest("a"));
+  }
+
+  @Test
+  void test_newerThanWhileAdding() throws Exception {
+    VersionIndex<String> index = VersionIndex.create();
+    SemanticVersion installed = SemanticVersion.of(1, 0, 100);
+    ExecutorService executor = Executors.newFixedThreadPool(3);
+    try {
+      // appending writes into arrays shared with older snapshots, behind their size
+      Future<?> writer = executor.submit(() -> {
+        for (int patch = 0; patch < 10_000; patch++) {
+          index.add("a", SemanticVersion.of(1, 0, patch));
+        }
+      });
+      List<Future<?>> readers = new ArrayList<>();
+      for (int t = 0; t < 2; t++) {
+        readers.add(executor.submit(() -> {
+          List<SemanticVersion> previous = Collections.emptyList();
+          List<SemanticVersion> previousCopy = Collections.emptyList();
+          while (previous.size() < 10_000 - 101) {
+            List<SemanticVersion> newer = index.newerThan("a", installed);
+            assertTrue(newer.size() >= previous.size());
+            for (int i = 0; i < newer.size(); i++) {
+              assertEquals(SemanticVersion.of(1, 0, 101 + i), newer.get(i));
+            }
+            // an older snapshot doesn't change while versions are added
+            assertEquals(previousCopy, previous);
+            previous = newer;
+            previousCopy = new ArrayList<>(newer);
+          }
+        }));
+      }
+      writer.get();
+      for (Future<?> reader : readers) {
+        reader.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertEquals(10_000 - 101, index.newerThan("a", installed).size());
+  }
+
+  private static List<SemanticVersion> parse(String... versions) {
+    return Arrays.stream(versions).map(SemanticVersion::parse).collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * Copyright (c) 2021 SemVerTools team and contributors
+ */
+
+package de.eldoria.semvertools.range;
+
+import de.eldoria.semvertools.SemanticVersion;
+import de.eldoria.semvertools.parser.VersionParseException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class VersionRangeTest {
+
+  @ParameterizedTest
+  @CsvSource({
+      "1.2.3, =1.2.3",
+      "=1.2.3, =1.2.3",
+      "v1.2.3, =1.2.3",
+      "1.0.0-rc.1, =1.0.0-rc.1",
+      "*, *",
+      "'', *",
+      "1.x, >=1.0.0 <2.0.0-0",
+      "1.2, >=1.2.0 <1.3.0-0",
+      "1.2.*, >=1.2.0 <1.3.0-0",
+      ">1.2.3, >1.2.3",
+      ">1, >=2.0.0-0",
+      ">1.2, >=1.3.0-0",
+      ">=1.2, >=1.2.0",
+      "<1.2.3, <1.2.3",
+      "<1.2, <1.2.0-0",
+      "<=1.2, <1.3.0-0",
+      "<=1.2.3, <=1.2.3",
+      "^1.4.2, >=1.4.2 <2.0.0-0",
+      "^1.4, >=1.4.0 <2.0.0-0",
+      "^0.2.3, >=0.2.3 <0.3.0-0",
+      "^0.0.3, >=0.0.3 <0.0.4-0",
+      "^0.0, >=0.0.0 <0.1.0-0",
+      "^0.x, >=0.0.0 <1.0.0-0",
+      "^1.2.3-beta.2, >=1.2.3-beta.2 <2.0.0-0",
+      "~1.4.2, >=1.4.2 <1.5.0-0",
+      "~1.4, >=1.4.0 <1.5.0-0",
+      "~1, >=1.0.0 <2.0.0-0",
+      "1.2.3 - 2.3.4, >=1.2.3 <=2.3.4",
+      "1.2 - 2.3, >=1.2.0 <2.4.0-0",
+      "1.2.3 - 2, >=1.2.3 <3.0.0-0",
+      ">=1.2.0 <2.0.0, >=1.2.0 <2.0.0",
+      ">=1.2.0 >=1.4.0 <3.0.0 <2.0.0, >=1.4.0 <2.0.0",
+      "^1.2 || ^2.0, >=1.2.0 <2.0.0-0 || >=2.0.0 <3.0.0-0",
+      ">2.0.0 <1.0.0 || 1.x, >=1.0.0 <2.0.0-0",
+      "^2147483647.0.0, >=2147483647.0.0",
+  })
+  void test_normalizes(String expression, String normalized) {
+    assertEquals(normalized, VersionRange.parse(expression).toString());
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "^1.4.2, 1.4.2, true",
+      "^1.4.2, 1.9.0, true",
+      "^1.4.2, 1.4.1, false",
+      "^1.4.2, 2.0.0, false",
+      "^1.4.2, 2.0.0-rc.1, false",
+      "^1.4.2, 1.5.0-beta, true",
+      "^1.4.2, 1.4.2-beta, false",
+      "^1.4.2-beta, 1.4.2-beta.2, true",
+      "~1.4, 1.4.9, true",
+      "~1.4, 1.5.0, false",
+      "1.x, 1.99.99, true",
+      "1.x, 0.9.9, false",
+      "1.x, 1.0.0-rc.1, false",
+      "1.2.3, 1.2.3+build.5, true",
+      "1.2.3, 1.2.4, false",
+      ">=1.2.0 <2.0.0, 2.0.0-alpha, true",
+      ">=1.2.0 <2.0.0, 2.0.0, false",
+      "1.0.0 - 2.0.0, 2.0.0, true",
+      "1.0.0 - 2.0, 2.0.9, true",
+      "^1.0 || ^3.0, 2.0.0, false",
+      "^1.0 || ^3.0, 3.1.0, true",
+      "*, 0.0.0-0, true",
+      ">*, 1.0.0, false",
+      "<*, 1.0.0, false",
+  })
+  void test_matches(String expression, String version, boolean expected) {
+    assertEquals(expected, VersionRange.parse(expression).test(SemanticVersion.parse(version)));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "1.2.3.4",
+      "1.x.3",
+      "1.2-beta",
+      "01.2.3",
+      "1.2.a",
+      ">",
+      "^",
+      ">= || 1.0.0",
+      "1.0.0 -",
+      "- 1.0.0",
+      "1.0.0 |",
+      "1.0.0 & 2.0.0",
+      "1..2",
+      "99999999999.0.0",
+  })
+  void test_rejectsInvalid(String expression) {
+    assertThrows(VersionParseException.class, () -> VersionRange.parse(expression));
+  }
+
+  @Test
+  void test_equalRangesAreEqual() {
+    VersionRange caret = VersionRange.parse("^1.4.2");
+    VersionRange explicit = VersionRange.parse(">=1.4.2 <2.0.0-0");
+    assertEquals(caret, explicit);
+    assertEquals(caret.hashCode(), explicit.hashCode());
+    assertEquals("^1.4.2", caret.expression());
+  }
+
+  @Test
+  void test_emptyRangeMatchesNothing() {
+    VersionRange range = VersionRange.parse(">2.0.0 <1.0.0");
+    assertFalse(range.test(SemanticVersion.parse("1.5.0")));
+    assertEquals("<0.0.0-0", range.toString());
+    assertFalse(VersionRange.parse("<0.0.0-0").test(SemanticVersion.parse("0.0.0-0")));
+  }
+}